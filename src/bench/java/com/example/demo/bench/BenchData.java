@@ -0,0 +1,50 @@
+package com.example.demo.bench;
+
+import com.example.demo.entity.DemoSession;
+import com.example.demo.entity.UserManagement;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+/**
+ * Deterministic sample entities shared by the benchmarks
+ */
+final class BenchData {
+
+    private BenchData() {
+    }
+
+    static UserManagement user(int index) {
+        UserManagement user = new UserManagement();
+        user.setId(String.format("00000000-0000-0000-0000-%012d", index));
+        user.setName("User " + index);
+        user.setEmail("user" + index + "@example.com");
+        user.setRole(UserManagement.UserRole.employee);
+        user.setStatus(UserManagement.UserStatus.active);
+        user.setJoinDate(LocalDate.of(2024, 1, 1));
+        user.setLastLogin(LocalDateTime.of(2024, 1, 1, 9, 0));
+        user.setDepartment("Engineering");
+        user.setSkillLevel(UserManagement.SkillLevel.Intermediate);
+        return user;
+    }
+
+    static DemoSession session(UserManagement createdBy) {
+        DemoSession session = new DemoSession();
+        session.setId("11111111-1111-1111-1111-111111111111");
+        session.setTitle("Building Reactive Services with Spring");
+        session.setTechnology("Spring Boot");
+        session.setDate(LocalDate.of(2026, 11, 3));
+        session.setTime(LocalTime.of(14, 30));
+        session.setDescription("A hands-on walkthrough of backpressure, schedulers and testing strategies. ".repeat(8));
+        session.setCreatedBy(createdBy);
+        session.setMaxAttendees(500);
+        session.setStatus(DemoSession.SessionStatus.upcoming);
+        session.setLocation("Main Auditorium");
+        session.setDifficulty(DemoSession.DifficultyLevel.Intermediate);
+        session.setDuration(90);
+        session.setType(DemoSession.SessionType.PRODUCT_BASED);
+        session.setRole(DemoSession.ParticipantRole.HOST);
+        return session;
+    }
+}
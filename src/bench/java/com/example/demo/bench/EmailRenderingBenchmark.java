@@ -0,0 +1,222 @@
+package com.example.demo.bench;
+
+import com.example.demo.entity.DemoSession;
+import com.example.demo.entity.UserManagement;
+import com.example.demo.service.EmailTemplateService;
+import com.example.demo.template.SessionFanOut;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-message cost of rendering a 500-recipient session notification fan-out.
+ * Run with {@code -prof gc} (the default in the benchmark profile) to compare
+ * {@code gc.alloc.rate.norm} between the legacy String.format rendering and the
+ * compiled templates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmailRenderingBenchmark {
+
+    static final int RECIPIENTS = 500;
+
+    DemoSession session;
+    UserManagement createdBy;
+    List<UserManagement> recipients;
+    EmailTemplateService templates;
+
+    @Setup
+    public void setUp() {
+        createdBy = BenchData.user(0);
+        session = BenchData.session(createdBy);
+        recipients = new ArrayList<>(RECIPIENTS);
+        for (int i = 1; i <= RECIPIENTS; i++) {
+            recipients.add(BenchData.user(i));
+        }
+        templates = new EmailTemplateService();
+
+        // Compare like with like: the compiled templates must produce the legacy output byte for byte
+        UserManagement recipient = recipients.get(0);
+        if (!legacyText(session, createdBy, recipient).equals(templates.createSessionCreationTextEmail(session, createdBy, recipient))
+                || !legacyHtml(session, createdBy, recipient).equals(templates.createSessionCreationHtmlEmail(session, createdBy, recipient))) {
+            throw new IllegalStateException("Compiled template output differs from legacy rendering");
+        }
+        SessionFanOut fanOut = templates.prepareSessionCreationFanOut(session, createdBy);
+        if (!fanOut.text(recipient).equals(templates.createSessionCreationTextEmail(session, createdBy, recipient))
+                || !fanOut.html(recipient).equals(templates.createSessionCreationHtmlEmail(session, createdBy, recipient))) {
+            throw new IllegalStateException("Prepared fan-out output differs from full rendering");
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECIPIENTS)
+    public void legacyStringFormatText(Blackhole blackhole) {
+        for (UserManagement recipient : recipients) {
+            blackhole.consume(legacyText(session, createdBy, recipient));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECIPIENTS)
+    public void compiledTemplateText(Blackhole blackhole) {
+        for (UserManagement recipient : recipients) {
+            blackhole.consume(templates.createSessionCreationTextEmail(session, createdBy, recipient));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECIPIENTS)
+    public void legacyStringFormatHtml(Blackhole blackhole) {
+        for (UserManagement recipient : recipients) {
+            blackhole.consume(legacyHtml(session, createdBy, recipient));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECIPIENTS)
+    public void compiledTemplateHtml(Blackhole blackhole) {
+        for (UserManagement recipient : recipients) {
+            blackhole.consume(templates.createSessionCreationHtmlEmail(session, createdBy, recipient));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECIPIENTS)
+    public void perRecipientTextAndHtml(Blackhole blackhole) {
+        for (UserManagement recipient : recipients) {
+            blackhole.consume(templates.createSessionCreationTextEmail(session, createdBy, recipient));
+            blackhole.consume(templates.createSessionCreationHtmlEmail(session, createdBy, recipient));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECIPIENTS)
+    public void renderOnceTextAndHtml(Blackhole blackhole) {
+        SessionFanOut fanOut = templates.prepareSessionCreationFanOut(session, createdBy);
+        for (UserManagement recipient : recipients) {
+            blackhole.consume(fanOut.text(recipient));
+            blackhole.consume(fanOut.html(recipient));
+        }
+    }
+
+    /**
+     * The plain-text rendering EmailService used before templates were compiled
+     */
+    static String legacyText(DemoSession session, UserManagement createdByUser, UserManagement recipient) {
+        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("EEEE, MMMM dd, yyyy");
+        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
+
+        return String.format(
+            "Hello %s,\n\n" +
+            "A new demo session has been created and you are invited to attend!\n\n" +
+            "Session Details:\n" +
+            "• Title: %s\n" +
+            "• Technology: %s\n" +
+            "• Date: %s\n" +
+            "• Time: %s\n" +
+            "• Location: %s\n" +
+            "• Difficulty: %s\n" +
+            "• Duration: %d minutes\n" +
+            "• Created by: %s\n\n" +
+            "Description:\n%s\n\n" +
+            "Please mark your calendar and prepare for this session.\n\n" +
+            "Best regards,\n" +
+            "Demo Session Management System",
+
+            recipient.getName(),
+            session.getTitle(),
+            session.getTechnology(),
+            session.getDate().format(dateFormatter),
+            session.getTime().format(timeFormatter),
+            session.getLocation(),
+            session.getDifficulty(),
+            session.getDuration(),
+            createdByUser.getName(),
+            session.getDescription()
+        );
+    }
+
+    /**
+     * The HTML rendering EmailTemplateService used before templates were compiled
+     */
+    static String legacyHtml(DemoSession session, UserManagement createdByUser, UserManagement recipient) {
+        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("EEEE, MMMM dd, yyyy");
+        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
+
+        return String.format("""
+            <!DOCTYPE html>
+            <html>
+            <head>
+                <meta charset="UTF-8">
+                <title>New Demo Session Invitation</title>
+                <style>
+                    body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
+                    .container { max-width: 600px; margin: 0 auto; padding: 20px; }
+                    .header { background-color: #007bff; color: white; padding: 20px; text-align: center; border-radius: 5px 5px 0 0; }
+                    .content { background-color: #f8f9fa; padding: 20px; border-radius: 0 0 5px 5px; }
+                    .session-details { background-color: white; padding: 15px; margin: 15px 0; border-radius: 5px; border-left: 4px solid #007bff; }
+                    .footer { text-align: center; margin-top: 20px; color: #666; font-size: 12px; }
+                    .highlight { color: #007bff; font-weight: bold; }
+                </style>
+            </head>
+            <body>
+                <div class="container">
+                    <div class="header">
+                        <h1>🎯 New Demo Session Invitation</h1>
+                    </div>
+                    <div class="content">
+                        <p>Hello <span class="highlight">%s</span>,</p>
+
+                        <p>A new demo session has been created and you are invited to attend!</p>
+
+                        <div class="session-details">
+                            <h3>📋 Session Details</h3>
+                            <p><strong>Title:</strong> %s</p>
+                            <p><strong>Technology:</strong> %s</p>
+                            <p><strong>Date:</strong> %s</p>
+                            <p><strong>Time:</strong> %s</p>
+                            <p><strong>Location:</strong> %s</p>
+                            <p><strong>Difficulty:</strong> %s</p>
+                            <p><strong>Duration:</strong> %d minutes</p>
+                            <p><strong>Created by:</strong> %s</p>
+                        </div>
+
+                        <div class="session-details">
+                            <h3>📝 Description</h3>
+                            <p>%s</p>
+                        </div>
+
+                        <p>Please mark your calendar and prepare for this session.</p>
+
+                        <p>Best regards,<br>
+                        <strong>Demo Session Management System</strong></p>
+                    </div>
+                    <div class="footer">
+                        <p>This is an automated notification. Please do not reply to this email.</p>
+                    </div>
+                </div>
+            </body>
+            </html>
+            """,
+
+            recipient.getName(),
+            session.getTitle(),
+            session.getTechnology(),
+            session.getDate().format(dateFormatter),
+            session.getTime().format(timeFormatter),
+            session.getLocation(),
+            session.getDifficulty(),
+            session.getDuration(),
+            createdByUser.getName(),
+            session.getDescription()
+        );
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.demo.bench;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.dto.DemoSessionDTO;
+import com.example.demo.entity.DemoSession;
+import com.example.demo.entity.UserManagement;
+import com.example.demo.repository.UserManagementRepository;
+import com.example.demo.service.DemoSessionService;
+import com.example.demo.support.FakeSmtpServer;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end email path: {@code DemoSessionService.createSession} with N invitees, through
+ * the outbox, dispatcher, rate limiter and SMTP, until the last of the N + 1 messages is
+ * accepted by an in-process {@link FakeSmtpServer}. Runs the full application on the test
+ * profile (H2, fake SMTP).
+ * <ul>
+ *   <li>SampleTime reports the p50/p90/p99 latency of one session's fan-out</li>
+ *   <li>Throughput reports sessions/s, and the {@code messages} counter messages/s</li>
+ * </ul>
+ * SMTP latency and transient (451) failure rate are parameters. Permanent failures are
+ * left out on purpose: a rejected message is never accepted, so the operation would not finish.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.SampleTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class EmailThroughputBenchmark {
+
+    @Param({"10", "100"})
+    int invitees;
+
+    @Param({"0", "20"})
+    int smtpLatencyMillis;
+
+    @Param({"0", "0.05"})
+    double transientFailureRate;
+
+    @Param({"PLATFORM", "VIRTUAL"})
+    String blockingIoMode;
+
+    FakeSmtpServer smtp;
+    ConfigurableApplicationContext context;
+    DemoSessionService sessionService;
+    List<String> inviteeIds;
+    String creatorId;
+    long expectedMessages;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Counters {
+        public long messages;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        smtp = new FakeSmtpServer()
+                .withLatency(Duration.ofMillis(smtpLatencyMillis))
+                .withTransientFailureRate(transientFailureRate);
+
+        context = new SpringApplicationBuilder(DemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                // Arguments, not builder properties: those are defaults the test profile would override
+                .run("--spring.mail.port=" + smtp.getPort(),
+                        "--app.mail.outbox.dispatcher.enabled=true",
+                        "--app.mail.outbox.poll-interval=PT0.01S",
+                        "--app.mail.outbox.initial-backoff=PT0.05S",
+                        "--app.blocking-io.mode=" + blockingIoMode,
+                        "--logging.level.com.example.demo=WARN");
+        sessionService = context.getBean(DemoSessionService.class);
+
+        UserManagementRepository users = context.getBean(UserManagementRepository.class);
+        List<UserManagement> saved = new ArrayList<>();
+        for (int i = 0; i <= invitees; i++) {
+            saved.add(BenchData.user(i));
+        }
+        users.saveAll(saved);
+        creatorId = saved.get(0).getId();
+        inviteeIds = saved.subList(1, saved.size()).stream().map(UserManagement::getId).toList();
+        expectedMessages = 0;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+        smtp.close();
+    }
+
+    @Benchmark
+    public void createSessionAndDeliver(Counters counters) throws InterruptedException {
+        sessionService.createSession(sessionDto());
+        expectedMessages += invitees + 1;
+        if (!smtp.awaitAccepted(expectedMessages, Duration.ofMinutes(1))) {
+            throw new IllegalStateException("Only " + smtp.getAccepted() + " of " + expectedMessages + " messages delivered");
+        }
+        counters.messages += invitees + 1;
+    }
+
+    DemoSessionDTO sessionDto() {
+        DemoSessionDTO dto = new DemoSessionDTO();
+        dto.setTitle("Building Reactive Services with Spring");
+        dto.setTechnology("Spring Boot");
+        dto.setDate(LocalDate.now().plusDays(7));
+        dto.setTime(LocalTime.of(14, 30));
+        dto.setDescription("A hands-on walkthrough of backpressure, schedulers and testing strategies.");
+        dto.setCreatedBy(creatorId);
+        dto.setMaxAttendees(invitees + 1);
+        dto.setStatus(DemoSession.SessionStatus.upcoming);
+        dto.setLocation("Main Auditorium");
+        dto.setDifficulty(DemoSession.DifficultyLevel.Intermediate);
+        dto.setDuration(90);
+        dto.setType(DemoSession.SessionType.PRODUCT_BASED);
+        dto.setUserIds(inviteeIds);
+        dto.setRole(DemoSessionDTO.ParticipantRole.HOST);
+        return dto;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.demo.bench;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.entity.DemoSession;
+import com.example.demo.entity.UserManagement;
+import com.example.demo.repository.DemoSessionRepository;
+import com.example.demo.repository.UserManagementRepository;
+import com.example.demo.service.DemoSessionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Seat registrations per second with 64 threads racing on one session, through
+ * {@code DemoSessionService.registerSeat} on the test profile (H2). With {@code seats} free
+ * seats the first registrations succeed and the rest are rejected as full; every iteration
+ * starts from an empty session and fails if it ends overbooked.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Threads(64)
+@Fork(1)
+public class SeatRegistrationBenchmark {
+
+    @Param({"100", "1000000000"})
+    int seats;
+
+    @Param({"16"})
+    int poolSize;
+
+    ConfigurableApplicationContext context;
+    DemoSessionService sessionService;
+    DemoSessionRepository sessionRepository;
+    String sessionId;
+
+    @AuxCounters(AuxCounters.Type.OPERATIONS)
+    @State(Scope.Thread)
+    public static class Counters {
+        public long registered;
+        public long full;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(DemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--spring.datasource.hikari.maximum-pool-size=" + poolSize,
+                        "--logging.level.com.example.demo=WARN");
+        sessionService = context.getBean(DemoSessionService.class);
+        sessionRepository = context.getBean(DemoSessionRepository.class);
+
+        UserManagement host = context.getBean(UserManagementRepository.class).save(BenchData.user(0));
+        DemoSession session = BenchData.session(host);
+        session.setMaxAttendees(seats);
+        sessionId = sessionRepository.save(session).getId();
+    }
+
+    @Setup(Level.Iteration)
+    public void emptySession() {
+        DemoSession session = sessionRepository.findById(sessionId).orElseThrow();
+        session.setAttendees(0);
+        sessionRepository.save(session);
+    }
+
+    @TearDown(Level.Iteration)
+    public void checkNotOverbooked() {
+        int attendees = sessionRepository.findById(sessionId).orElseThrow().getAttendees();
+        if (attendees > seats) {
+            throw new IllegalStateException("Overbooked: " + attendees + " attendees for " + seats + " seats");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public void register(Counters counters) {
+        try {
+            sessionService.registerSeat(sessionId);
+            counters.registered++;
+        } catch (IllegalStateException e) {
+            counters.full++;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.demo.bench;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.dto.SessionImportResult;
+import com.example.demo.entity.UserManagement;
+import com.example.demo.repository.UserManagementRepository;
+import com.example.demo.service.SessionImportService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wall time of one NDJSON import of 10k sessions with 3 users each through
+ * {@link SessionImportService}, on the test profile (H2). Each invocation imports new rows
+ * into the same database, so later invocations also pay for the growing indexes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class SessionImportBenchmark {
+
+    static final int SESSIONS = 10_000;
+    static final int USERS = 200;
+
+    @Param({"500", "1000", "5000"})
+    int chunkSize;
+
+    ConfigurableApplicationContext context;
+    SessionImportService importService;
+    byte[] ndjson;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(DemoApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--app.sessions.import.chunk-size=" + chunkSize,
+                        "--logging.level.com.example.demo=WARN");
+        importService = context.getBean(SessionImportService.class);
+
+        List<UserManagement> users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(BenchData.user(i));
+        }
+        context.getBean(UserManagementRepository.class).saveAll(users);
+
+        StringBuilder text = new StringBuilder();
+        LocalDate start = LocalDate.of(2030, 1, 1);
+        for (int i = 0; i < SESSIONS; i++) {
+            text.append("{\"title\": \"Imported session ").append(i)
+                    .append("\", \"technology\": \"Spring Boot\", \"date\": \"").append(start.plusDays(i % 365))
+                    .append("\", \"time\": \"14:30\", \"description\": \"A hands-on walkthrough of backpressure and schedulers.\"")
+                    .append(", \"createdBy\": \"").append(users.get(i % USERS).getId())
+                    .append("\", \"maxAttendees\": 50, \"status\": \"upcoming\", \"location\": \"Main Auditorium\"")
+                    .append(", \"difficulty\": \"Intermediate\", \"duration\": 60, \"type\": \"PRODUCT_BASED\", \"role\": \"HOST\"")
+                    .append(", \"userIds\": [");
+            for (int u = 1; u <= 3; u++) {
+                text.append(u > 1 ? ", " : "").append('"').append(users.get((i + u) % USERS).getId()).append('"');
+            }
+            text.append("]}\n");
+        }
+        ndjson = text.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public SessionImportResult importTenThousand() {
+        SessionImportResult result = importService.importNdjson(new ByteArrayInputStream(ndjson), StandardCharsets.UTF_8);
+        if (result.getImported() != SESSIONS) {
+            throw new IllegalStateException("Imported " + result.getImported() + " of " + SESSIONS + ": " + result.getErrors());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,77 @@
+package com.example.demo.bench;
+
+import com.example.demo.dto.SessionSearchDocument;
+import com.example.demo.service.SessionSearchIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Search latency of {@link SessionSearchIndex} over 1M generated sessions: 5-word titles,
+ * 40-word descriptions and 10-word prerequisites drawn from a 20k-word Zipf-like vocabulary,
+ * and one of 30 technologies. Queries range from a rare word to a prefix shared by many
+ * terms and a two-word query on common words.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx6g")
+public class SessionSearchBenchmark {
+
+    static final int SESSIONS = 1_000_000;
+    static final int VOCABULARY = 20_000;
+
+    static final String[] TECHNOLOGIES = {
+        "Spring Boot", "Kubernetes", "Kafka", "React", "Angular", "Vue", "Go", "Rust", "Python", "Django",
+        "PostgreSQL", "MySQL", "Redis", "Elasticsearch", "Terraform", "AWS", "Azure", "GCP", "Docker", "GraphQL",
+        "gRPC", "Node.js", "TypeScript", "C++", "C#", "Swift", "Kotlin", "Flutter", "Spark", "Airflow"
+    };
+
+    @Param({"spring", "kube", "word17 word230", "word19999", "wor"})
+    String query;
+
+    SessionSearchIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String[] words = new String[VOCABULARY];
+        for (int i = 0; i < VOCABULARY; i++) {
+            words[i] = "word" + i;
+        }
+        index = new SessionSearchIndex(null, null, null);
+        index.rebuild(IntStream.range(0, SESSIONS).mapToObj(i -> {
+            SplittableRandom random = new SplittableRandom(i);
+            return new SessionSearchDocument("session-" + i,
+                    text(random, words, 5),
+                    TECHNOLOGIES[random.nextInt(TECHNOLOGIES.length)],
+                    text(random, words, 40),
+                    text(random, words, 10));
+        }));
+    }
+
+    @Benchmark
+    public SessionSearchIndex.Hits firstPage() {
+        return index.search(query, 0, 20);
+    }
+
+    @Benchmark
+    public SessionSearchIndex.Hits deepPage() {
+        return index.search(query, 1000, 20);
+    }
+
+    /**
+     * Words with a roughly Zipfian frequency: word i is about 1/(i+1) as likely as word0
+     */
+    static String text(SplittableRandom random, String[] words, int length) {
+        StringBuilder text = new StringBuilder();
+        for (int w = 0; w < length; w++) {
+            int rank = (int) Math.floor(Math.pow(words.length + 1, random.nextDouble())) - 1;
+            text.append(words[Math.min(rank, words.length - 1)]).append(' ');
+        }
+        return text.toString();
+    }
+}
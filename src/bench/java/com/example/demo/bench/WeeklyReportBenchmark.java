@@ -0,0 +1,122 @@
+package com.example.demo.bench;
+
+import com.example.demo.dto.WeeklyAttendanceRow;
+import com.example.demo.dto.WeeklyReport;
+import com.example.demo.service.WeeklyReportAggregator;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Weekly report aggregation over a generated week of 1M sessions with 4 attendees each
+ * (4M attendance rows for 20k users), fed in the same user order as the report query.
+ * {@code streamingAggregation} is what the report job does; {@code loadThenGroup} is the
+ * list-and-groupingBy approach it replaces. With {@code -prof gc}, compare
+ * {@code gc.alloc.rate.norm} and the GC counts: the streaming run only allocates the
+ * rows themselves and one report per user, none of which outlive the user.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class WeeklyReportBenchmark {
+
+    static final int SESSIONS = 1_000_000;
+    static final int ATTENDEES_PER_SESSION = 4;
+    static final int USERS = 20_000;
+    static final int SESSIONS_PER_USER = SESSIONS * ATTENDEES_PER_SESSION / USERS;
+
+    static final LocalDate WEEK_START = LocalDate.of(2026, 10, 5);
+    static final LocalDate WEEK_END = WEEK_START.plusWeeks(1);
+
+    String[] userIds;
+    String[] userNames;
+    String[] userEmails;
+    String[] sessionIds;
+
+    @Setup
+    public void setUp() {
+        userIds = new String[USERS];
+        userNames = new String[USERS];
+        userEmails = new String[USERS];
+        for (int i = 0; i < USERS; i++) {
+            userIds[i] = String.format("00000000-0000-0000-0000-%012d", i);
+            userNames[i] = "User " + i;
+            userEmails[i] = "user" + i + "@example.com";
+        }
+        sessionIds = new String[SESSIONS];
+        for (int i = 0; i < SESSIONS; i++) {
+            sessionIds[i] = String.format("11111111-1111-1111-1111-%012d", i);
+        }
+
+        // Every user gets exactly one report covering all of their rows
+        long[] streamed = new long[1];
+        WeeklyReportAggregator aggregator = new WeeklyReportAggregator(WEEK_START, WEEK_END,
+                report -> streamed[0] += report.getSessionsAttended());
+        rows().forEach(aggregator);
+        long reports = aggregator.finish();
+        if (reports != USERS || streamed[0] != (long) SESSIONS * ATTENDEES_PER_SESSION) {
+            throw new IllegalStateException("Unexpected aggregation: " + reports + " reports, " + streamed[0] + " attendances");
+        }
+    }
+
+    @Benchmark
+    public long streamingAggregation(Blackhole blackhole) {
+        WeeklyReportAggregator aggregator = new WeeklyReportAggregator(WEEK_START, WEEK_END, blackhole::consume);
+        rows().forEach(aggregator);
+        return aggregator.finish();
+    }
+
+    @Benchmark
+    public long loadThenGroup(Blackhole blackhole) {
+        List<WeeklyAttendanceRow> all = rows().toList();
+        Map<String, List<WeeklyAttendanceRow>> byUser = all.stream()
+                .collect(Collectors.groupingBy(WeeklyAttendanceRow::getUserId, LinkedHashMap::new, Collectors.toList()));
+        for (List<WeeklyAttendanceRow> userRows : byUser.values()) {
+            WeeklyReport report = new WeeklyReport();
+            WeeklyAttendanceRow first = userRows.get(0);
+            report.setUserId(first.getUserId());
+            report.setUserName(first.getUserName());
+            report.setUserEmail(first.getUserEmail());
+            report.setWeekStart(WEEK_START);
+            report.setWeekEnd(WEEK_END);
+            report.setSessionsAttended(userRows.size());
+            for (WeeklyAttendanceRow row : userRows) {
+                if (row.getDuration() != null) {
+                    report.setTotalMinutes(report.getTotalMinutes() + row.getDuration());
+                }
+                if (row.getRating() != null) {
+                    report.setRatedSessions(report.getRatedSessions() + 1);
+                    report.setRatingSum(report.getRatingSum() + row.getRating());
+                }
+            }
+            blackhole.consume(report);
+        }
+        return byUser.size();
+    }
+
+    /**
+     * Attendance rows ordered by user, generated lazily like a cursor would deliver them.
+     * User u attends sessions u, u + USERS, u + 2 * USERS, ... (mod SESSIONS), which gives
+     * every session exactly ATTENDEES_PER_SESSION attendees.
+     */
+    Stream<WeeklyAttendanceRow> rows() {
+        return IntStream.range(0, USERS * SESSIONS_PER_USER).mapToObj(i -> {
+            int user = i / SESSIONS_PER_USER;
+            int session = (int) ((user + (long) (i % SESSIONS_PER_USER) * USERS) % SESSIONS);
+            return new WeeklyAttendanceRow(userIds[user], userNames[user], userEmails[user], sessionIds[session],
+                    30 + (session % 4) * 15,
+                    session % 3 == 0 ? null : 1 + session % 5);
+        });
+    }
+}
@@ -0,0 +1,54 @@
+package com.example.demo.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Configuration
+public class BlockingIoConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(BlockingIoConfig.class);
+
+    public enum Mode {
+        PLATFORM,  // Fixed pool of app.blocking-io.platform-threads threads
+        VIRTUAL    // One virtual thread per task (Java 21+); falls back to PLATFORM on older runtimes
+    }
+
+    /**
+     * Executor for blocking side tasks (SMTP sends, independent repository lookups).
+     * Concurrency towards each downstream resource is capped separately by
+     * {@code BlockingIo}, so in VIRTUAL mode the number of threads is not the limit.
+     */
+    @Bean(name = "blockingIoExecutor", destroyMethod = "shutdown")
+    public ExecutorService blockingIoExecutor(
+            @Value("${app.blocking-io.mode:PLATFORM}") Mode mode,
+            @Value("${app.blocking-io.platform-threads:32}") int platformThreads) {
+        if (mode == Mode.VIRTUAL) {
+            try {
+                // Looked up reflectively so the application still builds and runs on Java 17
+                ExecutorService executor = (ExecutorService) Executors.class
+                        .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+                logger.info("Running blocking I/O tasks on virtual threads");
+                return executor;
+            } catch (ReflectiveOperationException e) {
+                logger.warn("Virtual threads need Java 21 or later (running {}), using {} platform threads",
+                        Runtime.version(), platformThreads);
+            }
+        }
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadFactory threadFactory = runnable -> {
+            Thread thread = new Thread(runnable, "blocking-io-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        return Executors.newFixedThreadPool(platformThreads, threadFactory);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.demo.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String SESSIONS = "sessions";              // Session details by ID
+    public static final String USERS = "users";                    // Users by ID
+    public static final String USERS_BY_EMAIL = "usersByEmail";    // Users by email
+
+    /**
+     * Bounded in-process caches for the hottest lookups, each holding at most
+     * {@code app.cache.maximum-size} entries for {@code app.cache.expire-after-write}.
+     * <ul>
+     *   <li>Loads are single-flight ({@code @Cacheable(sync = true)}): concurrent misses on one
+     *       key wait for a single query</li>
+     *   <li>Evictions wait for the commit, so a reader cannot cache the row again before the
+     *       change is visible</li>
+     *   <li>Hit, miss and eviction counts are recorded and published as {@code cache.*} metrics</li>
+     * </ul>
+     */
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${app.cache.maximum-size:10000}") long maximumSize,
+            @Value("${app.cache.expire-after-write:PT5M}") Duration expireAfterWrite) {
+        CaffeineCacheManager caches = new CaffeineCacheManager();
+        caches.setCaffeine(Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats());
+        caches.setAllowNullValues(false);  // Misses throw, so there is nothing to cache
+        caches.setCacheNames(List.of(SESSIONS, USERS, USERS_BY_EMAIL));  // Fixed set, bound to metrics at startup
+        return new TransactionAwareCacheManagerProxy(caches);
+    }
+}
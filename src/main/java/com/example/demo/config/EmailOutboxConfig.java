@@ -0,0 +1,13 @@
+package com.example.demo.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the scheduled outbox dispatcher. Deliveries run on the executor defined in
+ * {@link BlockingIoConfig}.
+ */
+@Configuration
+@EnableScheduling
+public class EmailOutboxConfig {
+}
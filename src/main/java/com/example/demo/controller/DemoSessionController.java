@@ -2,22 +2,48 @@ package com.example.demo.controller;
 
 import com.example.demo.entity.DemoSession;
 import com.example.demo.dto.DemoSessionDTO;
+import com.example.demo.dto.DemoSessionFilter;
+import com.example.demo.dto.DemoSessionPatchDTO;
 import com.example.demo.dto.DemoSessionResponseDTO;
+import com.example.demo.dto.DemoSessionSummaryDTO;
 import com.example.demo.dto.PaginatedResponse;
+import com.example.demo.dto.SessionCursor;
+import com.example.demo.dto.SessionFacetsDTO;
+import com.example.demo.dto.SessionImportResult;
+import com.example.demo.dto.SessionSeatsDTO;
+import com.example.demo.dto.VersionStamp;
+import com.example.demo.service.CollectionVersions;
 import com.example.demo.service.DemoSessionService;
+import com.example.demo.service.ExportService;
+import com.example.demo.service.SessionImportService;
+import com.example.demo.service.UpcomingSessionWindow;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.Valid;
+import org.springdoc.core.annotations.ParameterObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/sessions")
@@ -25,10 +51,20 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Demo Sessions", description = "Demo Sessions management APIs")
 public class DemoSessionController {
     private final DemoSessionService service;
+    private final SessionImportService importService;
+    private final ExportService exportService;
+    private final CollectionVersions collectionVersions;
     private static final Logger logger = LoggerFactory.getLogger(DemoSessionController.class);
 
-    public DemoSessionController(DemoSessionService service) {
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final int MAX_CURSOR_LIMIT = 1000;  // A cursor page is read whole, plus one row
+
+    public DemoSessionController(DemoSessionService service, SessionImportService importService,
+                                 ExportService exportService, CollectionVersions collectionVersions) {
         this.service = service;
+        this.importService = importService;
+        this.exportService = exportService;
+        this.collectionVersions = collectionVersions;
     }
 
     @PostMapping
@@ -56,17 +92,112 @@ public class DemoSessionController {
         }
     }
 
+    @PostMapping(value = "/import", consumes = {"application/x-ndjson", "text/csv"})
+    @Operation(
+        summary = "Bulk import demo sessions",
+        description = "Imports sessions streamed as NDJSON (one session per line) or CSV (header of session properties, userIds separated by ';'). "
+            + "Rows are committed in chunks; invalid rows are skipped and reported."
+    )
+    @ApiResponse(responseCode = "200", description = "Import finished; see the result for rejected rows")
+    public ResponseEntity<SessionImportResult> importSessions(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) MediaType contentType,
+            InputStream body) {
+        Charset charset = contentType.getCharset() != null ? contentType.getCharset() : StandardCharsets.UTF_8;
+        try {
+            SessionImportResult result = contentType.isCompatibleWith(NDJSON)
+                    ? importService.importNdjson(body, charset)
+                    : importService.importCsv(body, charset);
+            logger.info("Imported {} sessions in {} chunks, {} rows rejected",
+                    result.getImported(), result.getChunks(), result.getFailed());
+            return ResponseEntity.ok(result);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+    }
+
+    @GetMapping("/export")
+    @Operation(
+        summary = "Export all demo sessions",
+        description = "Streams every session with its user IDs as NDJSON or CSV, in the format the import endpoint accepts"
+    )
+    @ApiResponse(responseCode = "200", description = "Sessions streamed")
+    public ResponseEntity<StreamingResponseBody> exportSessions(
+            @Parameter(description = "Output format")
+            @RequestParam(defaultValue = "NDJSON") ExportService.Format format) {
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("sessions." + format.getExtension()).build().toString())
+                .body(output -> exportService.exportSessions(format, output));
+    }
+
     @PutMapping("/{id}")
     @Operation(
         summary = "Update an existing demo session",
-        description = "Updates the demo session with the specified ID"
+        description = "Updates the demo session with the specified ID; attendees are left untouched, "
+                + "seats change through register and unregister"
     )
     @ApiResponse(responseCode = "200", description = "Session updated successfully")
+    @ApiResponse(responseCode = "412", description = "Session changed since the If-Match version")
     public ResponseEntity<DemoSession> updateSession(
             @Parameter(description = "Session ID", required = true)
             @PathVariable String id,
+            @Parameter(description = "ETag of the version being replaced; omit to overwrite any version")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @Valid @RequestBody DemoSessionDTO dto) {
-        return ResponseEntity.ok(service.updateSession(id, dto));
+        try {
+            DemoSession session = service.updateSession(id, dto, parseIfMatch(ifMatch));
+            return ResponseEntity.ok().eTag(String.valueOf(session.getVersion())).body(session);
+        } catch (OptimisticLockingFailureException e) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, e.getMessage());
+        }
+    }
+
+    @PatchMapping("/{id}")
+    @Operation(
+        summary = "Change some fields of a demo session",
+        description = "Applies only the fields given; users and attendees are left untouched. Send the session's ETag "
+                + "in If-Match to fail instead of overwriting someone else's change."
+    )
+    @ApiResponse(responseCode = "200", description = "Session updated; the new version is in the ETag")
+    @ApiResponse(responseCode = "404", description = "Session not found")
+    @ApiResponse(responseCode = "412", description = "Session changed since the If-Match version")
+    public ResponseEntity<DemoSessionSummaryDTO> patchSession(
+            @Parameter(description = "Session ID", required = true)
+            @PathVariable String id,
+            @Parameter(description = "ETag of the version being changed; omit to change any version")
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @Valid @RequestBody DemoSessionPatchDTO patch) {
+        try {
+            DemoSession session = service.patchSession(id, patch, parseIfMatch(ifMatch));
+            return ResponseEntity.ok().eTag(String.valueOf(session.getVersion())).body(DemoSessionSummaryDTO.of(session));
+        } catch (EntityNotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (OptimisticLockingFailureException e) {
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, e.getMessage());
+        }
+    }
+
+    /**
+     * Session version named by an If-Match header: {@code null} when absent or {@code *}. A tag
+     * from GET also carries the users' versions after a dot; only the session's own is checked.
+     */
+    private static Long parseIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            tag = tag.substring(2);
+        }
+        try {
+            tag = tag.replace("\"", "");
+            int dot = tag.indexOf('.');
+            return Long.valueOf(dot < 0 ? tag : tag.substring(0, dot));
+        } catch (NumberFormatException e) {
+            // Cannot be the ETag of any version
+            throw new ResponseStatusException(HttpStatus.PRECONDITION_FAILED, "Unknown ETag: " + ifMatch);
+        }
     }
 
     @GetMapping("/{id}")
@@ -75,38 +206,215 @@ public class DemoSessionController {
         description = "Retrieves the demo session with the specified ID"
     )
     @ApiResponse(responseCode = "200", description = "Session found")
+    @ApiResponse(responseCode = "304", description = "Session unchanged since If-None-Match or If-Modified-Since")
     @ApiResponse(responseCode = "404", description = "Session not found")
     public ResponseEntity<DemoSessionResponseDTO> getSession(
             @Parameter(description = "Session ID", required = true)
-            @PathVariable String id) {
+            @PathVariable String id,
+            WebRequest request) {
+        // A poll carrying validators is answered from the versions alone, without loading the session.
+        // The body embeds the creator and members, so their versions are part of the validators.
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null) {
+            VersionStamp stamp = service.getSessionVersion(id);
+            if (request.checkNotModified(stamp.getETag(), stamp.getLastModified())) {
+                return null;
+            }
+        }
         DemoSession session = service.getSession(id);
         DemoSessionResponseDTO responseDTO = DemoSessionResponseDTO.fromEntity(session);
-        return ResponseEntity.ok(responseDTO);
+        VersionStamp stamp = service.versionOf(session);
+        return ResponseEntity.ok()
+                .eTag(stamp.getETag())
+                .lastModified(stamp.getLastModified())
+                .body(responseDTO);
     }
 
     @GetMapping
     @Operation(
         summary = "Get all demo sessions with pagination",
-        description = "Retrieves all demo sessions"
+        description = "Retrieves all demo sessions. Pass cursor (empty for the first page) to page by cursor instead of page number; "
+                + "cursor pages cost the same at any depth but carry no totals."
     )
     @ApiResponse(responseCode = "200", description = "List of all sessions")
-    public ResponseEntity<PaginatedResponse<DemoSessionResponseDTO>> getAllSessions(
+    @ApiResponse(responseCode = "400", description = "Invalid cursor, or a cursor page limit outside 1.." + MAX_CURSOR_LIMIT)
+    public ResponseEntity<PaginatedResponse<DemoSessionSummaryDTO>> getAllSessions(
             @Parameter(description = "Page number (1-based)")
             @RequestParam(defaultValue = "1") int page,
             @Parameter(description = "Items per page")
-            @RequestParam(defaultValue = "10") int limit) {
+            @RequestParam(defaultValue = "10") int limit,
+            @Parameter(description = "EXACT counts on every request, ESTIMATED uses a cached count, NONE only reports hasNext")
+            @RequestParam(defaultValue = "EXACT") PaginatedResponse.Totals totals,
+            @Parameter(description = "Cursor from the previous page, or empty for the first page")
+            @RequestParam(required = false) String cursor,
+            WebRequest request) {
+        if (cursor != null && (limit < 1 || limit > MAX_CURSOR_LIMIT)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "limit must be between 1 and " + MAX_CURSOR_LIMIT + " with a cursor");
+        }
+        if (request.checkNotModified(collectionVersions.etag(CollectionVersions.SESSIONS))) {
+            return null;
+        }
+        if (cursor != null) {
+            SessionCursor after = cursor.isEmpty() ? null : decodeCursor(cursor);
+            return ResponseEntity.ok(PaginatedResponse.fromCursor(service.getSessionsAfter(after, limit), limit,
+                    after != null, session -> SessionCursor.of(session).encode()));
+        }
         Pageable pageable = PageRequest.of(page - 1, limit, Sort.by("date").descending());
-        var pageResult = service.getAllSessions(pageable);
-        
-        // Convert entities to response DTOs
-        var responseDTOs = pageResult.getContent().stream()
-                .map(DemoSessionResponseDTO::fromEntity)
-                .toList();
-        
-        PaginatedResponse<DemoSessionResponseDTO> response = PaginatedResponse.from(pageResult);
-        response.setContent(responseDTOs);
-        
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(PaginatedResponse.from(service.getAllSessions(pageable, totals), totals));
+    }
+
+    private static SessionCursor decodeCursor(String cursor) {
+        try {
+            return SessionCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+
+    @GetMapping("/filter")
+    @Operation(
+        summary = "Filter demo sessions by any combination of criteria",
+        description = "Returns sessions matching every criterion given, newest first. Technology and sprint name "
+                + "match exactly; use /search for word matching."
+    )
+    @ApiResponse(responseCode = "200", description = "Matching sessions")
+    public ResponseEntity<PaginatedResponse<DemoSessionSummaryDTO>> filterSessions(
+            @ParameterObject DemoSessionFilter filter,
+            @Parameter(description = "Page number (1-based)")
+            @RequestParam(defaultValue = "1") int page,
+            @Parameter(description = "Items per page")
+            @RequestParam(defaultValue = "10") int limit,
+            @Parameter(description = "EXACT counts on every request, ESTIMATED uses a cached count, NONE only reports hasNext")
+            @RequestParam(defaultValue = "EXACT") PaginatedResponse.Totals totals,
+            WebRequest request) {
+        if (request.checkNotModified(collectionVersions.etag(CollectionVersions.SESSIONS))) {
+            return null;
+        }
+        // Same order as the (column, date) indexes the criteria use
+        Pageable pageable = PageRequest.of(page - 1, limit, Sort.by("date", "time", "id").descending());
+        return ResponseEntity.ok(PaginatedResponse.from(service.filterSessions(filter, pageable, totals), totals));
+    }
+
+    @GetMapping("/facets")
+    @Operation(
+        summary = "Count demo sessions per facet",
+        description = "Number of sessions per difficulty, status, type, technology and month, served from in-memory counters"
+    )
+    @ApiResponse(responseCode = "200", description = "Session counts per facet value")
+    @ApiResponse(responseCode = "503", description = "Counts are still loading")
+    public ResponseEntity<SessionFacetsDTO> getSessionFacets() {
+        try {
+            return ResponseEntity.ok(service.getSessionFacets());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+
+    @GetMapping("/search")
+    @Operation(
+        summary = "Search demo sessions",
+        description = "Ranked search over title, technology, description and prerequisites. Every word must match, "
+                + "as a whole word or a prefix of one; title and technology matches rank highest. A word that prefixes "
+                + "very many words only searches the most common of them, and totalsEstimated is set."
+    )
+    @ApiResponse(responseCode = "200", description = "Matching sessions, best first")
+    @ApiResponse(responseCode = "503", description = "Search index is still loading")
+    public ResponseEntity<PaginatedResponse<DemoSessionSummaryDTO>> searchSessions(
+            @Parameter(description = "Search words", required = true)
+            @RequestParam String q,
+            @Parameter(description = "Page number (1-based)")
+            @RequestParam(defaultValue = "1") int page,
+            @Parameter(description = "Items per page")
+            @RequestParam(defaultValue = "10") int limit,
+            WebRequest request) {
+        if (request.checkNotModified(collectionVersions.etag(CollectionVersions.SESSIONS))) {
+            return null;
+        }
+        try {
+            return ResponseEntity.ok(service.searchSessions(q, PageRequest.of(page - 1, limit)));
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+
+    @PostMapping("/{id}/register")
+    @Operation(
+        summary = "Register for a seat",
+        description = "Takes one seat in the session if any is free; concurrent registrations never overbook"
+    )
+    @ApiResponse(responseCode = "200", description = "Seat taken")
+    @ApiResponse(responseCode = "404", description = "Session not found")
+    @ApiResponse(responseCode = "409", description = "Session is full")
+    public ResponseEntity<SessionSeatsDTO> registerSeat(
+            @Parameter(description = "Session ID", required = true)
+            @PathVariable String id) {
+        try {
+            return ResponseEntity.ok(service.registerSeat(id));
+        } catch (EntityNotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+
+    @PostMapping("/{id}/unregister")
+    @Operation(
+        summary = "Give back a seat",
+        description = "Releases one taken seat in the session"
+    )
+    @ApiResponse(responseCode = "200", description = "Seat released")
+    @ApiResponse(responseCode = "404", description = "Session not found")
+    @ApiResponse(responseCode = "409", description = "No seats are taken")
+    public ResponseEntity<SessionSeatsDTO> unregisterSeat(
+            @Parameter(description = "Session ID", required = true)
+            @PathVariable String id) {
+        try {
+            return ResponseEntity.ok(service.unregisterSeat(id));
+        } catch (EntityNotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (IllegalStateException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
+        }
+    }
+
+    @PutMapping("/{id}/users/{userId}")
+    @Operation(
+        summary = "Add a user to a demo session",
+        description = "Adds one member without rewriting the others; adding a member again changes nothing"
+    )
+    @ApiResponse(responseCode = "200", description = "User is a member; the session's version is in the ETag")
+    @ApiResponse(responseCode = "404", description = "Session or user not found")
+    public ResponseEntity<DemoSessionSummaryDTO> addUser(
+            @Parameter(description = "Session ID", required = true)
+            @PathVariable String id,
+            @Parameter(description = "User ID", required = true)
+            @PathVariable String userId) {
+        try {
+            DemoSession session = service.addUser(id, userId);
+            return ResponseEntity.ok().eTag(String.valueOf(session.getVersion())).body(DemoSessionSummaryDTO.of(session));
+        } catch (EntityNotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+    }
+
+    @DeleteMapping("/{id}/users/{userId}")
+    @Operation(
+        summary = "Remove a user from a demo session",
+        description = "Removes one member without rewriting the others; removing a non-member changes nothing"
+    )
+    @ApiResponse(responseCode = "200", description = "User is not a member; the session's version is in the ETag")
+    @ApiResponse(responseCode = "404", description = "Session not found")
+    public ResponseEntity<DemoSessionSummaryDTO> removeUser(
+            @Parameter(description = "Session ID", required = true)
+            @PathVariable String id,
+            @Parameter(description = "User ID", required = true)
+            @PathVariable String userId) {
+        try {
+            DemoSession session = service.removeUser(id, userId);
+            return ResponseEntity.ok().eTag(String.valueOf(session.getVersion())).body(DemoSessionSummaryDTO.of(session));
+        } catch (EntityNotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
     }
 
     @DeleteMapping("/{id}")
@@ -128,13 +436,19 @@ public class DemoSessionController {
         description = "Retrieves all upcoming demo sessions from today onwards"
     )
     @ApiResponse(responseCode = "200", description = "List of upcoming sessions")
-    public ResponseEntity<PaginatedResponse<DemoSession>> getUpcomingSessions(
+    public ResponseEntity<PaginatedResponse<DemoSessionSummaryDTO>> getUpcomingSessions(
             @Parameter(description = "Page number (1-based)")
             @RequestParam(defaultValue = "1") int page,
             @Parameter(description = "Items per page")
-            @RequestParam(defaultValue = "10") int limit) {
-        Pageable pageable = PageRequest.of(page - 1, limit, Sort.by("date").ascending());
-        return ResponseEntity.ok(PaginatedResponse.from(service.getUpcomingSessions(pageable)));
+            @RequestParam(defaultValue = "10") int limit,
+            @Parameter(description = "EXACT counts on every request, ESTIMATED uses a cached count, NONE only reports hasNext")
+            @RequestParam(defaultValue = "EXACT") PaginatedResponse.Totals totals,
+            WebRequest request) {
+        if (request.checkNotModified(collectionVersions.etag(CollectionVersions.SESSIONS) + "-" + LocalDate.now())) {
+            return null;
+        }
+        Pageable pageable = PageRequest.of(page - 1, limit, UpcomingSessionWindow.ORDER);
+        return ResponseEntity.ok(PaginatedResponse.from(service.getUpcomingSessions(pageable, totals), totals));
     }
 
     @GetMapping("/technology/{technology}")
@@ -143,15 +457,21 @@ public class DemoSessionController {
         description = "Retrieves all demo sessions for a specific technology"
     )
     @ApiResponse(responseCode = "200", description = "List of sessions for the specified technology")
-    public ResponseEntity<PaginatedResponse<DemoSession>> getSessionsByTechnology(
+    public ResponseEntity<PaginatedResponse<DemoSessionSummaryDTO>> getSessionsByTechnology(
             @Parameter(description = "Technology name", required = true)
             @PathVariable String technology,
             @Parameter(description = "Page number (1-based)")
             @RequestParam(defaultValue = "1") int page,
             @Parameter(description = "Items per page")
-            @RequestParam(defaultValue = "10") int limit) {
+            @RequestParam(defaultValue = "10") int limit,
+            @Parameter(description = "EXACT counts on every request, ESTIMATED uses a cached count, NONE only reports hasNext")
+            @RequestParam(defaultValue = "EXACT") PaginatedResponse.Totals totals,
+            WebRequest request) {
+        if (request.checkNotModified(collectionVersions.etag(CollectionVersions.SESSIONS))) {
+            return null;
+        }
         Pageable pageable = PageRequest.of(page - 1, limit, Sort.by("date").descending());
-        return ResponseEntity.ok(PaginatedResponse.from(service.getSessionsByTechnology(technology, pageable)));
+        return ResponseEntity.ok(PaginatedResponse.from(service.getSessionsByTechnology(technology, pageable, totals), totals));
     }
 
     @GetMapping("/difficulty/{difficulty}")
@@ -160,14 +480,20 @@ public class DemoSessionController {
         description = "Retrieves all demo sessions for a specific difficulty level"
     )
     @ApiResponse(responseCode = "200", description = "List of sessions for the specified difficulty")
-    public ResponseEntity<PaginatedResponse<DemoSession>> getSessionsByDifficulty(
+    public ResponseEntity<PaginatedResponse<DemoSessionSummaryDTO>> getSessionsByDifficulty(
             @Parameter(description = "Difficulty level", required = true)
             @PathVariable DemoSession.DifficultyLevel difficulty,
             @Parameter(description = "Page number (1-based)")
             @RequestParam(defaultValue = "1") int page,
             @Parameter(description = "Items per page")
-            @RequestParam(defaultValue = "10") int limit) {
+            @RequestParam(defaultValue = "10") int limit,
+            @Parameter(description = "EXACT counts on every request, ESTIMATED uses a cached count, NONE only reports hasNext")
+            @RequestParam(defaultValue = "EXACT") PaginatedResponse.Totals totals,
+            WebRequest request) {
+        if (request.checkNotModified(collectionVersions.etag(CollectionVersions.SESSIONS))) {
+            return null;
+        }
         Pageable pageable = PageRequest.of(page - 1, limit, Sort.by("date").descending());
-        return ResponseEntity.ok(PaginatedResponse.from(service.getSessionsByDifficulty(difficulty, pageable)));
+        return ResponseEntity.ok(PaginatedResponse.from(service.getSessionsByDifficulty(difficulty, pageable, totals), totals));
     }
 }
@@ -3,6 +3,9 @@ package com.example.demo.controller;
 import com.example.demo.entity.UserManagement;
 import com.example.demo.dto.UserManagementDTO;
 import com.example.demo.dto.PaginatedResponse;
+import com.example.demo.dto.VersionStamp;
+import com.example.demo.service.CollectionVersions;
+import com.example.demo.service.ExportService;
 import com.example.demo.service.UserManagementService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -13,10 +16,14 @@ import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -26,9 +33,30 @@ import java.util.List;
 @Tag(name = "User Management", description = "User management APIs")
 public class UserManagementController {
     private final UserManagementService service;
+    private final ExportService exportService;
+    private final CollectionVersions collectionVersions;
 
-    public UserManagementController(UserManagementService service) {
+    public UserManagementController(UserManagementService service, ExportService exportService,
+                                    CollectionVersions collectionVersions) {
         this.service = service;
+        this.exportService = exportService;
+        this.collectionVersions = collectionVersions;
+    }
+
+    @GetMapping("/export")
+    @Operation(
+        summary = "Export all users",
+        description = "Streams every user as NDJSON or CSV"
+    )
+    @ApiResponse(responseCode = "200", description = "Users streamed")
+    public ResponseEntity<StreamingResponseBody> exportUsers(
+            @Parameter(description = "Output format")
+            @RequestParam(defaultValue = "NDJSON") ExportService.Format format) {
+        return ResponseEntity.ok()
+                .contentType(format.getMediaType())
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename("users." + format.getExtension()).build().toString())
+                .body(output -> exportService.exportUsers(format, output));
     }
 
     @PostMapping
@@ -68,11 +96,24 @@ public class UserManagementController {
         description = "Retrieves the user with the specified ID"
     )
     @ApiResponse(responseCode = "200", description = "User found")
+    @ApiResponse(responseCode = "304", description = "User unchanged since If-None-Match or If-Modified-Since")
     @ApiResponse(responseCode = "404", description = "User not found")
     public ResponseEntity<UserManagement> getUser(
             @Parameter(description = "User ID", required = true)
-            @PathVariable String id) {
-        return ResponseEntity.ok(service.getUser(id));
+            @PathVariable String id,
+            WebRequest request) {
+        // A poll carrying validators is answered from the version alone, without loading the user
+        if (request.getHeader(HttpHeaders.IF_NONE_MATCH) != null || request.getHeader(HttpHeaders.IF_MODIFIED_SINCE) != null) {
+            VersionStamp stamp = service.getUserVersion(id);
+            if (request.checkNotModified(String.valueOf(stamp.getVersion()), stamp.getLastModified())) {
+                return null;
+            }
+        }
+        UserManagement user = service.getUser(id);
+        return ResponseEntity.ok()
+                .eTag(String.valueOf(user.getVersion()))
+                .lastModified(new VersionStamp(user.getVersion(), user.getUpdatedAt()).getLastModified())
+                .body(user);
     }
 
     @GetMapping("/email/{email}")
@@ -98,9 +139,15 @@ public class UserManagementController {
             @Parameter(description = "Page number (1-based)")
             @RequestParam(defaultValue = "1") int page,
             @Parameter(description = "Items per page")
-            @RequestParam(defaultValue = "10") int limit) {
+            @RequestParam(defaultValue = "10") int limit,
+            @Parameter(description = "EXACT counts on every request, ESTIMATED uses a cached count, NONE only reports hasNext")
+            @RequestParam(defaultValue = "EXACT") PaginatedResponse.Totals totals,
+            WebRequest request) {
+        if (request.checkNotModified(collectionVersions.etag(CollectionVersions.USERS))) {
+            return null;
+        }
         Pageable pageable = PageRequest.of(page - 1, limit, Sort.by("name").ascending());
-        return ResponseEntity.ok(PaginatedResponse.from(service.getAllUsers(pageable)));
+        return ResponseEntity.ok(PaginatedResponse.from(service.getAllUsers(pageable, totals), totals));
     }
 
     @DeleteMapping("/{id}")
@@ -129,9 +176,15 @@ public class UserManagementController {
             @Parameter(description = "Page number (1-based)")
             @RequestParam(defaultValue = "1") int page,
             @Parameter(description = "Items per page")
-            @RequestParam(defaultValue = "10") int limit) {
+            @RequestParam(defaultValue = "10") int limit,
+            @Parameter(description = "EXACT counts on every request, ESTIMATED uses a cached count, NONE only reports hasNext")
+            @RequestParam(defaultValue = "EXACT") PaginatedResponse.Totals totals,
+            WebRequest request) {
+        if (request.checkNotModified(collectionVersions.etag(CollectionVersions.USERS))) {
+            return null;
+        }
         Pageable pageable = PageRequest.of(page - 1, limit, Sort.by("name").ascending());
-        return ResponseEntity.ok(PaginatedResponse.from(service.getUsersByDepartment(department, pageable)));
+        return ResponseEntity.ok(PaginatedResponse.from(service.getUsersByDepartment(department, pageable, totals), totals));
     }
 
     @GetMapping("/role/{role}")
@@ -146,9 +199,15 @@ public class UserManagementController {
             @Parameter(description = "Page number (1-based)")
             @RequestParam(defaultValue = "1") int page,
             @Parameter(description = "Items per page")
-            @RequestParam(defaultValue = "10") int limit) {
+            @RequestParam(defaultValue = "10") int limit,
+            @Parameter(description = "EXACT counts on every request, ESTIMATED uses a cached count, NONE only reports hasNext")
+            @RequestParam(defaultValue = "EXACT") PaginatedResponse.Totals totals,
+            WebRequest request) {
+        if (request.checkNotModified(collectionVersions.etag(CollectionVersions.USERS))) {
+            return null;
+        }
         Pageable pageable = PageRequest.of(page - 1, limit, Sort.by("name").ascending());
-        return ResponseEntity.ok(PaginatedResponse.from(service.getUsersByRole(role, pageable)));
+        return ResponseEntity.ok(PaginatedResponse.from(service.getUsersByRole(role, pageable, totals), totals));
     }
 
     @GetMapping("/status/{status}")
@@ -163,9 +222,15 @@ public class UserManagementController {
             @Parameter(description = "Page number (1-based)")
             @RequestParam(defaultValue = "1") int page,
             @Parameter(description = "Items per page")
-            @RequestParam(defaultValue = "10") int limit) {
+            @RequestParam(defaultValue = "10") int limit,
+            @Parameter(description = "EXACT counts on every request, ESTIMATED uses a cached count, NONE only reports hasNext")
+            @RequestParam(defaultValue = "EXACT") PaginatedResponse.Totals totals,
+            WebRequest request) {
+        if (request.checkNotModified(collectionVersions.etag(CollectionVersions.USERS))) {
+            return null;
+        }
         Pageable pageable = PageRequest.of(page - 1, limit, Sort.by("name").ascending());
-        return ResponseEntity.ok(PaginatedResponse.from(service.getUsersByStatus(status, pageable)));
+        return ResponseEntity.ok(PaginatedResponse.from(service.getUsersByStatus(status, pageable, totals), totals));
     }
 
     @GetMapping("/skill-level/{skillLevel}")
@@ -180,8 +245,14 @@ public class UserManagementController {
             @Parameter(description = "Page number (1-based)")
             @RequestParam(defaultValue = "1") int page,
             @Parameter(description = "Items per page")
-            @RequestParam(defaultValue = "10") int limit) {
+            @RequestParam(defaultValue = "10") int limit,
+            @Parameter(description = "EXACT counts on every request, ESTIMATED uses a cached count, NONE only reports hasNext")
+            @RequestParam(defaultValue = "EXACT") PaginatedResponse.Totals totals,
+            WebRequest request) {
+        if (request.checkNotModified(collectionVersions.etag(CollectionVersions.USERS))) {
+            return null;
+        }
         Pageable pageable = PageRequest.of(page - 1, limit, Sort.by("name").ascending());
-        return ResponseEntity.ok(PaginatedResponse.from(service.getUsersBySkillLevel(skillLevel, pageable)));
+        return ResponseEntity.ok(PaginatedResponse.from(service.getUsersBySkillLevel(skillLevel, pageable, totals), totals));
     }
 } 
\ No newline at end of file
@@ -30,7 +30,7 @@ public class DemoSessionDTO {
     @Size(max = 100, message = "Created by must not exceed 100 characters")
     private String createdBy;
 
-    private Integer attendees = 0;
+    private Integer attendees = 0;  // Read on create only; seats then change through register/unregister
 
     @Min(value = 1, message = "Maximum attendees must be at least 1")
     private Integer maxAttendees;
@@ -0,0 +1,39 @@
+package com.example.demo.dto;
+
+import com.example.demo.entity.DemoSession;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDate;
+
+/**
+ * Criteria of the combined session filter. Every criterion is optional; those given must all match.
+ */
+@Data
+public class DemoSessionFilter {
+    @Schema(description = "Earliest session date (inclusive)")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dateFrom;
+
+    @Schema(description = "Latest session date (inclusive)")
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+    private LocalDate dateTo;
+
+    @Schema(description = "Technology, exact match")
+    private String technology;
+
+    private DemoSession.DifficultyLevel difficulty;
+
+    private DemoSession.SessionStatus status;
+
+    private DemoSession.SessionType type;
+
+    private DemoSession.CurrentStatus currentStatus;
+
+    @Schema(description = "Sprint name, exact match")
+    private String sprintName;
+
+    @Schema(description = "ID of the user who created the session")
+    private String createdBy;
+}
@@ -0,0 +1,71 @@
+package com.example.demo.dto;
+
+import com.example.demo.entity.DemoSession.CurrentStatus;
+import com.example.demo.entity.DemoSession.DifficultyLevel;
+import com.example.demo.entity.DemoSession.ParticipantRole;
+import com.example.demo.entity.DemoSession.SessionStatus;
+import com.example.demo.entity.DemoSession.SessionType;
+import jakarta.validation.constraints.*;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Partial update of a session: only non-null fields are applied. The creator, users and
+ * attendee count are not part of it; use PUT and the seat endpoints for those.
+ */
+@Data
+public class DemoSessionPatchDTO {
+    @Size(max = 255, message = "Title must not exceed 255 characters")
+    private String title;
+
+    @Size(max = 100, message = "Technology must not exceed 100 characters")
+    private String technology;
+
+    private LocalDate date;
+
+    private LocalTime time;
+
+    private String description;
+
+    @Min(value = 1, message = "Maximum attendees must be at least 1")
+    private Integer maxAttendees;
+
+    private SessionStatus status;
+
+    @Size(max = 255, message = "Location must not exceed 255 characters")
+    private String location;
+
+    private DifficultyLevel difficulty;
+
+    private String prerequisites;
+
+    @Min(value = 1, message = "Duration must be at least 1 minute")
+    private Integer duration;
+
+    private SessionType type;
+
+    @Size(max = 1000, message = "Feedback must not exceed 1000 characters")
+    private String feedback;
+
+    @Size(max = 100, message = "Sprint name must not exceed 100 characters")
+    private String sprintName;
+
+    @Min(value = 0, message = "Story points must be non-negative")
+    private Integer storyPoints;
+
+    @Min(value = 0, message = "Number of tasks must be non-negative")
+    private Integer numberOfTasks;
+
+    @Min(value = 0, message = "Number of bugs must be non-negative")
+    private Integer numberOfBugs;
+
+    private CurrentStatus currentStatus;
+
+    @Min(value = 1, message = "Rating must be at least 1")
+    @Max(value = 5, message = "Rating must not exceed 5")
+    private Integer rating;
+
+    private ParticipantRole role;
+}
@@ -36,6 +36,7 @@ public class DemoSessionResponseDTO {
     private Integer rating;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
     private List<String> userIds; // Only user IDs, not full user objects
     private DemoSession.ParticipantRole role;
 
@@ -65,6 +66,7 @@ public class DemoSessionResponseDTO {
         dto.setRating(session.getRating());
         dto.setCreatedAt(session.getCreatedAt());
         dto.setUpdatedAt(session.getUpdatedAt());
+        dto.setVersion(session.getVersion());
         dto.setRole(session.getRole());
         
         // Extract user IDs from the users list
@@ -0,0 +1,48 @@
+package com.example.demo.dto;
+
+import com.example.demo.entity.DemoSession;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+
+/**
+ * Listing view of a session: the columns list pages show plus the creator's id and name.
+ * Filled by constructor queries, so the TEXT columns (description, prerequisites, feedback)
+ * and the full creator are never read. {@link DemoSessionResponseDTO} has the full session.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DemoSessionSummaryDTO {
+    private String id;
+    private String title;
+    private String technology;
+    private LocalDate date;
+    private LocalTime time;
+    private Integer attendees;
+    private Integer maxAttendees;
+    private DemoSession.SessionStatus status;
+    private String location;
+    private DemoSession.DifficultyLevel difficulty;
+    private Integer duration;
+    private DemoSession.SessionType type;
+    private DemoSession.CurrentStatus currentStatus;
+    private Integer rating;
+    private DemoSession.ParticipantRole role;
+    private String createdById;
+    private String createdByName;
+
+    /**
+     * Summary of a loaded session; reads the creator but not the users
+     */
+    public static DemoSessionSummaryDTO of(DemoSession session) {
+        return new DemoSessionSummaryDTO(session.getId(), session.getTitle(), session.getTechnology(), session.getDate(),
+                session.getTime(), session.getAttendees(), session.getMaxAttendees(), session.getStatus(),
+                session.getLocation(), session.getDifficulty(), session.getDuration(), session.getType(),
+                session.getCurrentStatus(), session.getRating(), session.getRole(), session.getCreatedBy().getId(),
+                session.getCreatedBy().getName());
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class EmailBatchResult {
+    private List<ChunkResult> chunks = new ArrayList<>();
+    private List<RecipientResult> recipients = new ArrayList<>();
+
+    public long getSentCount() {
+        return recipients.stream().filter(RecipientResult::isSent).count();
+    }
+
+    public long getFailedCount() {
+        return recipients.size() - getSentCount();
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class ChunkResult {
+        private int index;
+        private int size;
+        private int sent;
+        private int failed;
+        private long elapsedMillis;
+    }
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RecipientResult {
+        private String key;
+        private String to;
+        private boolean sent;
+        private String error;  // Null when sent
+    }
+}
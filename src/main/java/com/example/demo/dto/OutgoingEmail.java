@@ -0,0 +1,16 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutgoingEmail {
+    private String key;       // Caller-defined identifier used to report the outcome (e.g. outbox entry ID)
+    private String to;
+    private String subject;
+    private String text;
+    private String html;      // Optional HTML alternative; plain text only when null
+}
@@ -2,20 +2,33 @@ package com.example.demo.dto;
 
 import lombok.Data;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
+import java.util.function.Function;
 
 @Data
 public class PaginatedResponse<T> {
     private List<T> data;
-    private long totalItems;
-    private int totalPages;
-    private int currentPage;
+    private Long totalItems;     // Offset pages with totals only
+    private Integer totalPages;  // Offset pages with totals only
+    private Integer currentPage; // Offset pages only
     private int pageSize;
     private boolean hasNext;
     private boolean hasPrevious;
     private Integer nextPage;
     private Integer previousPage;
+    private String cursor;       // Cursor pages only: token for the next page, null on the last page
+    private Boolean totalsEstimated; // Set when totals are not a fresh exact count: cached, or a capped search
+
+    /**
+     * How an offset page reports its totals
+     */
+    public enum Totals {
+        EXACT,      // Count on every request
+        ESTIMATED,  // Cached count per filter, refreshed in the background
+        NONE        // No count; only hasNext
+    }
 
     public static <T> PaginatedResponse<T> from(Page<T> page) {
         PaginatedResponse<T> response = new PaginatedResponse<>();
@@ -30,4 +43,48 @@ public class PaginatedResponse<T> {
         response.setPreviousPage(page.hasPrevious() ? page.getNumber() : null); // Convert to 1-based indexing
         return response;
     }
+
+    /**
+     * Offset page with the totals requested. A {@link Page} carries totals; a bare
+     * {@link Slice} only knows whether another page follows.
+     */
+    public static <T> PaginatedResponse<T> from(Slice<T> slice, Totals totals) {
+        if (slice instanceof Page<T> page) {
+            PaginatedResponse<T> response = from(page);
+            if (totals == Totals.ESTIMATED) {
+                response.setTotalsEstimated(true);
+            }
+            return response;
+        }
+        PaginatedResponse<T> response = new PaginatedResponse<>();
+        response.setData(slice.getContent());
+        response.setCurrentPage(slice.getNumber() + 1);
+        response.setPageSize(slice.getSize());
+        response.setHasNext(slice.hasNext());
+        response.setHasPrevious(slice.hasPrevious());
+        response.setNextPage(slice.hasNext() ? slice.getNumber() + 2 : null);
+        response.setPreviousPage(slice.hasPrevious() ? slice.getNumber() : null);
+        return response;
+    }
+
+    /**
+     * Cursor page. Totals are left out: counting would cost as much as the offset scan this avoids.
+     *
+     * @param rows Up to {@code limit + 1} rows; the extra row only signals that more follow
+     * @param limit Page size
+     * @param hasPrevious Whether the page was requested with a cursor
+     * @param cursorOf Encodes the position of a row
+     */
+    public static <T> PaginatedResponse<T> fromCursor(List<T> rows, int limit, boolean hasPrevious, Function<T, String> cursorOf) {
+        boolean hasNext = rows.size() > limit;
+        List<T> data = hasNext ? rows.subList(0, limit) : rows;
+
+        PaginatedResponse<T> response = new PaginatedResponse<>();
+        response.setData(data);
+        response.setPageSize(limit);
+        response.setHasNext(hasNext);
+        response.setHasPrevious(hasPrevious);
+        response.setCursor(hasNext ? cursorOf.apply(data.get(data.size() - 1)) : null);
+        return response;
+    }
 } 
\ No newline at end of file
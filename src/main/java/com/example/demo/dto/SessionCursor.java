@@ -0,0 +1,42 @@
+package com.example.demo.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in the session list, which is ordered by date, time and ID (all descending).
+ * Clients get it as an opaque token and send it back to continue after that session.
+ *
+ * @param date Date of the last session returned
+ * @param time Time of the last session returned
+ * @param id ID of the last session returned, the tie-breaker for equal date and time
+ */
+public record SessionCursor(LocalDate date, LocalTime time, String id) {
+
+    public static SessionCursor of(DemoSessionSummaryDTO session) {
+        return new SessionCursor(session.getDate(), session.getTime(), session.getId());
+    }
+
+    public String encode() {
+        String raw = date + "|" + time + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @throws IllegalArgumentException If the token was not produced by {@link #encode()}
+     */
+    public static SessionCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split("\\|", 3);
+            if (parts.length != 3 || parts[2].isEmpty()) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new SessionCursor(LocalDate.parse(parts[0]), LocalTime.parse(parts[1]), parts[2]);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.demo.dto;
+
+import com.example.demo.entity.DemoSession;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.YearMonth;
+
+/**
+ * The values one session contributes to each facet counted by {@code SessionFacetCounter}
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionFacetKey {
+    private DemoSession.DifficultyLevel difficulty;
+    private DemoSession.SessionStatus status;
+    private DemoSession.SessionType type;
+    private String technology;
+    private YearMonth month;
+
+    public static SessionFacetKey of(DemoSession session) {
+        return new SessionFacetKey(session.getDifficulty(), session.getStatus(), session.getType(),
+                session.getTechnology(), session.getDate() == null ? null : YearMonth.from(session.getDate()));
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.demo.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Number of sessions per value of each facet; values without sessions are left out
+ */
+@Data
+public class SessionFacetsDTO {
+    private long total;
+    private Map<String, Long> difficulty;
+    private Map<String, Long> status;
+    private Map<String, Long> type;
+    private Map<String, Long> technology;
+    private Map<String, Long> month;  // Keyed by yyyy-MM
+    private LocalDateTime reconciledAt;  // Last time the counts were recomputed from the database
+}
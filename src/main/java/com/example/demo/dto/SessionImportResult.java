@@ -0,0 +1,37 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Outcome of a bulk session import. Valid rows are imported even when others fail;
+ * only the first {@link #MAX_ERRORS} failures are listed.
+ */
+@Data
+public class SessionImportResult {
+    public static final int MAX_ERRORS = 100;
+
+    private long imported;
+    private long failed;
+    private int chunks;  // Committed transactions
+    private List<RowError> errors = new ArrayList<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private long line;  // 1-based line of the input; for CSV, the header is line 1
+        private String message;
+    }
+
+    public void addError(long line, String message) {
+        failed++;
+        if (errors.size() < MAX_ERRORS) {
+            errors.add(new RowError(line, message));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.demo.dto;
+
+import com.example.demo.entity.DemoSession;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The searchable text of one session, as indexed by {@code SessionSearchIndex}
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionSearchDocument {
+    private String id;
+    private String title;
+    private String technology;
+    private String description;
+    private String prerequisites;  // May be null
+
+    public static SessionSearchDocument of(DemoSession session) {
+        return new SessionSearchDocument(session.getId(), session.getTitle(), session.getTechnology(),
+                session.getDescription(), session.getPrerequisites());
+    }
+}
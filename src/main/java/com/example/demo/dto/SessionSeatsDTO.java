@@ -0,0 +1,22 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Seat occupancy of one session
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SessionSeatsDTO {
+    private String sessionId;
+    private Integer attendees;
+    private Integer maxAttendees;
+    private Long version;  // Session version after the change
+
+    public int getAvailable() {
+        return Math.max(0, maxAttendees - attendees);
+    }
+}
@@ -0,0 +1,60 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
+
+/**
+ * Version and last change of one row, read without the row itself to answer conditional GETs
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class VersionStamp {
+    private Long version;
+    private LocalDateTime updatedAt;
+    private Long embeddedVersions;  // Sum of the versions of the rows served with this one, or null if none
+
+    public VersionStamp(Long version, LocalDateTime updatedAt) {
+        this(version, updatedAt, null);
+    }
+
+    /**
+     * Stamp of a row served together with other rows, such as a session with its creator and
+     * members. Any change to the set of embedded rows must advance the owner's version; the
+     * embedded versions only grow, so at one owner version their sum changes with every write.
+     *
+     * @param owner    Stamp of the row itself
+     * @param embedded Stamps of the rows served with it
+     * @return A stamp whose ETag and last change cover all of them
+     */
+    public static VersionStamp embedding(VersionStamp owner, Collection<VersionStamp> embedded) {
+        long versions = 0;
+        LocalDateTime updatedAt = owner.getUpdatedAt();
+        for (VersionStamp stamp : embedded) {
+            versions += stamp.getVersion() == null ? 0 : stamp.getVersion();
+            if (updatedAt == null || (stamp.getUpdatedAt() != null && stamp.getUpdatedAt().isAfter(updatedAt))) {
+                updatedAt = stamp.getUpdatedAt();
+            }
+        }
+        return new VersionStamp(owner.getVersion(), updatedAt, versions);
+    }
+
+    /**
+     * @return Unquoted entity tag: the version, followed by the embedded versions if any
+     */
+    public String getETag() {
+        return embeddedVersions == null ? String.valueOf(version) : version + "." + embeddedVersions;
+    }
+
+    /**
+     * @return {@code updatedAt} as epoch milliseconds for Last-Modified, or -1 if unknown
+     */
+    public long getLastModified() {
+        return updatedAt == null ? -1 : updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
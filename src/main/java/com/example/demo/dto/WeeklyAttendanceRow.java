@@ -0,0 +1,21 @@
+package com.example.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One (attendee, session) pair of the weekly report query. A constructor projection,
+ * so streamed rows are never attached to the persistence context.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WeeklyAttendanceRow {
+    private String userId;
+    private String userName;
+    private String userEmail;
+    private String sessionId;
+    private Integer duration;  // Minutes, may be null
+    private Integer rating;    // May be null
+}
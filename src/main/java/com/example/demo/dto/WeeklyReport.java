@@ -0,0 +1,31 @@
+package com.example.demo.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+public class WeeklyReport {
+    private String userId;
+    private String userName;
+    private String userEmail;
+    private LocalDate weekStart;
+    private LocalDate weekEnd;       // Exclusive
+    private int sessionsAttended;
+    private long totalMinutes;
+    private int ratedSessions;
+    private long ratingSum;
+
+    public double getHours() {
+        return totalMinutes / 60.0;
+    }
+
+    /**
+     * Average rating of the rated sessions attended, or null when none was rated
+     */
+    public Double getAverageRating() {
+        return ratedSessions == 0 ? null : (double) ratingSum / ratedSessions;
+    }
+}
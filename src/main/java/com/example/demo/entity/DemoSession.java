@@ -4,19 +4,42 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.Min;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.DynamicUpdate;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.LocalDateTime;
-import java.util.List;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 @Entity
-@Table(name = "demo_sessions")
+@Table(name = "demo_sessions", indexes = {
+    @Index(name = "idx_demo_sessions_date_time_id", columnList = "date, time, id"),  // Keyset pagination, date ranges
+    // Combined filter: one equality criterion, then the date range and order
+    @Index(name = "idx_demo_sessions_technology_date", columnList = "technology, date"),
+    @Index(name = "idx_demo_sessions_difficulty_date", columnList = "difficulty, date"),
+    @Index(name = "idx_demo_sessions_status_date", columnList = "status, date"),
+    @Index(name = "idx_demo_sessions_type_date", columnList = "type, date"),
+    @Index(name = "idx_demo_sessions_current_status_date", columnList = "current_status, date"),
+    @Index(name = "idx_demo_sessions_sprint_name_date", columnList = "sprint_name, date"),
+    @Index(name = "idx_demo_sessions_created_by_date", columnList = "created_by, date")
+})
+@NamedEntityGraph(
+    name = DemoSession.DETAIL_GRAPH,  // Single session with creator and users in one query
+    attributeNodes = {@NamedAttributeNode("createdBy"), @NamedAttributeNode("users")}
+)
+@DynamicUpdate  // Updates write only the changed columns, so small edits stay small
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class DemoSession {
+    public static final String DETAIL_GRAPH = "DemoSession.detail";
+
     @Id
     @Column(length = 36)
     private String id;
@@ -96,6 +119,14 @@ public class DemoSession {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;  // Optimistic lock; also the session's ETag, followed by its users' versions on GET
+
+    @Column(name = "reminder_sent_at")
+    @JsonIgnore
+    private LocalDateTime reminderSentAt;  // Set once the session reminder has been queued
+
     @ManyToMany
     @JoinTable(
         name = "demo_session_users", // Join table name
@@ -103,7 +134,10 @@ public class DemoSession {
         inverseJoinColumns = @JoinColumn(name = "user_id") // Foreign key for UserManagement
     )
     @JsonIgnoreProperties("demoSessions")
-    private List<UserManagement> users; // Multiple users can be part of each session
+    @BatchSize(size = 100)  // Initialise the users of up to 100 loaded sessions in one query
+    @EqualsAndHashCode.Exclude
+    @ToString.Exclude
+    private Set<UserManagement> users = new LinkedHashSet<>(); // A set, so membership changes write only the changed rows
 
     @Enumerated(EnumType.STRING)
     @Column(nullable = false)
@@ -3,7 +3,9 @@ package com.example.demo.entity;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -12,11 +14,13 @@ import java.util.List;
 @Entity
 @Table(name = "user_management")
 @Data
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)  // By id, so users can be kept in sets of session members
 @NoArgsConstructor
 @AllArgsConstructor
 public class UserManagement {
     @Id
     @Column(length = 36)
+    @EqualsAndHashCode.Include
     private String id;
 
     @Column(nullable = false)
@@ -61,6 +65,7 @@ public class UserManagement {
 
     @ManyToMany(mappedBy = "users")  // Inverse side of the many-to-many relationship
     @JsonIgnore
+    @ToString.Exclude
     private List<DemoSession> demoSessions;  // List of sessions the user is part of
 
     @Column(name = "created_at", updatable = false)
@@ -69,6 +74,10 @@ public class UserManagement {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;  // Optimistic lock; also the user's ETag
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -0,0 +1,36 @@
+package com.example.demo.event;
+
+import com.example.demo.dto.SessionFacetKey;
+import com.example.demo.entity.DemoSession;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * Published by {@code DemoSessionService} whenever a session is created, updated or
+ * deleted. Listeners that maintain in-memory views of sessions should use
+ * {@code @TransactionalEventListener} so they only see committed changes.
+ */
+@Data
+@AllArgsConstructor
+public class DemoSessionChangedEvent {
+    private ChangeType type;
+    private String sessionId;
+    private DemoSession session;  // State after the change; null when deleted
+    private SessionFacetKey previous;  // Facet values before the change; null when created
+
+    public static DemoSessionChangedEvent created(DemoSession session) {
+        return new DemoSessionChangedEvent(ChangeType.CREATED, session.getId(), session, null);
+    }
+
+    public static DemoSessionChangedEvent updated(DemoSession session, SessionFacetKey previous) {
+        return new DemoSessionChangedEvent(ChangeType.UPDATED, session.getId(), session, previous);
+    }
+
+    public static DemoSessionChangedEvent deleted(String sessionId, SessionFacetKey previous) {
+        return new DemoSessionChangedEvent(ChangeType.DELETED, sessionId, null, previous);
+    }
+
+    public enum ChangeType {
+        CREATED, UPDATED, DELETED
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.DemoSessionSummaryDTO;
+import com.example.demo.entity.DemoSession;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Specification queries that return list summaries instead of entities
+ */
+public interface DemoSessionFilterRepository {
+
+    /**
+     * Sessions matching a specification, as summaries
+     *
+     * @param spec Criteria to match
+     * @param pageable Page and sort; sort properties are {@code DemoSession} attributes
+     * @return One page of summaries, without a count
+     */
+    Slice<DemoSessionSummaryDTO> findSummariesMatching(Specification<DemoSession> spec, Pageable pageable);
+}
@@ -0,0 +1,56 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.DemoSessionSummaryDTO;
+import com.example.demo.entity.DemoSession;
+import com.example.demo.entity.UserManagement;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+
+import java.util.List;
+
+/**
+ * Criteria counterpart of {@code DemoSessionRepository.SUMMARY_SELECT}: the same columns,
+ * selected with a constructor expression under a specification's predicate.
+ */
+class DemoSessionFilterRepositoryImpl implements DemoSessionFilterRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Slice<DemoSessionSummaryDTO> findSummariesMatching(Specification<DemoSession> spec, Pageable pageable) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<DemoSessionSummaryDTO> query = cb.createQuery(DemoSessionSummaryDTO.class);
+        Root<DemoSession> s = query.from(DemoSession.class);
+        Join<DemoSession, UserManagement> c = s.join("createdBy");
+
+        query.select(cb.construct(DemoSessionSummaryDTO.class,
+                s.get("id"), s.get("title"), s.get("technology"), s.get("date"), s.get("time"),
+                s.get("attendees"), s.get("maxAttendees"), s.get("status"), s.get("location"),
+                s.get("difficulty"), s.get("duration"), s.get("type"), s.get("currentStatus"),
+                s.get("rating"), s.get("role"), c.get("id"), c.get("name")));
+        Predicate predicate = spec.toPredicate(s, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(pageable.getSort(), s, cb));
+
+        // One row past the page tells whether another page follows
+        List<DemoSessionSummaryDTO> rows = entityManager.createQuery(query)
+                .setFirstResult((int) pageable.getOffset())
+                .setMaxResults(pageable.getPageSize() + 1)
+                .getResultList();
+        boolean hasNext = rows.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? rows.subList(0, pageable.getPageSize()) : rows, pageable, hasNext);
+    }
+}
@@ -1,18 +1,200 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.DemoSessionSummaryDTO;
+import com.example.demo.dto.SessionSearchDocument;
+import com.example.demo.dto.SessionSeatsDTO;
+import com.example.demo.dto.VersionStamp;
+import com.example.demo.dto.WeeklyAttendanceRow;
 import com.example.demo.entity.DemoSession;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface DemoSessionRepository extends JpaRepository<DemoSession, String>, PagingAndSortingRepository<DemoSession, String> {
-    Page<DemoSession> findByDateGreaterThanEqual(LocalDate date, Pageable pageable);
-    Page<DemoSession> findByTechnologyContainingIgnoreCase(String technology, Pageable pageable);
-    Page<DemoSession> findByDifficulty(DemoSession.DifficultyLevel difficulty, Pageable pageable);
+public interface DemoSessionRepository extends JpaRepository<DemoSession, String>, PagingAndSortingRepository<DemoSession, String>,
+        JpaSpecificationExecutor<DemoSession>, DemoSessionFilterRepository {
+    String SUMMARY_CONSTRUCTOR = "new com.example.demo.dto.DemoSessionSummaryDTO(" +
+            "s.id, s.title, s.technology, s.date, s.time, s.attendees, s.maxAttendees, s.status, s.location, " +
+            "s.difficulty, s.duration, s.type, s.currentStatus, s.rating, s.role, c.id, c.name)";
+    String SUMMARY_SELECT = "select " + SUMMARY_CONSTRUCTOR + " from DemoSession s join s.createdBy c ";
+
+    // Summary lists are slices (one extra row instead of a count); the counts below are taken separately
+
+    @Query(SUMMARY_SELECT)
+    Slice<DemoSessionSummaryDTO> findSummaries(Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "where s.date >= :date")
+    Slice<DemoSessionSummaryDTO> findSummariesFrom(@Param("date") LocalDate date, Pageable pageable);
+
+    /**
+     * Summaries of the sessions dated in [from, to), each followed by the session's version
+     */
+    @Query("select " + SUMMARY_CONSTRUCTOR + ", s.version from DemoSession s join s.createdBy c " +
+           "where s.date >= :from and s.date < :to")
+    List<Object[]> findVersionedSummariesBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    /**
+     * ID, date and version of every session dated on or after a day, without the rest of the row
+     */
+    @Query("select s.id, s.date, s.version from DemoSession s where s.date >= :date")
+    List<Object[]> findDatesFrom(@Param("date") LocalDate date);
+
+    @Query(SUMMARY_SELECT + "where lower(s.technology) like lower(concat('%', :technology, '%'))")
+    Slice<DemoSessionSummaryDTO> findSummariesByTechnology(@Param("technology") String technology, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "where s.difficulty = :difficulty")
+    Slice<DemoSessionSummaryDTO> findSummariesByDifficulty(@Param("difficulty") DemoSession.DifficultyLevel difficulty, Pageable pageable);
+
+    @Query(SUMMARY_SELECT + "where s.id in :ids")
+    List<DemoSessionSummaryDTO> findSummariesByIds(@Param("ids") Collection<String> ids);
+
+    /**
+     * Searchable text of every session, for rebuilding the search index
+     */
+    @Query("select new com.example.demo.dto.SessionSearchDocument(s.id, s.title, s.technology, s.description, s.prerequisites) " +
+           "from DemoSession s")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<SessionSearchDocument> streamSearchDocuments();
+
+    /**
+     * Columns of {@code DemoSessionDTO} (without user IDs) for every session, in ID order.
+     * Projected rows are not managed, so the persistence context stays empty however many
+     * are read; fetched through a forward-only cursor in blocks of the fetch size.
+     */
+    @Query("select s.id, s.title, s.technology, s.date, s.time, s.description, s.createdBy.id, s.attendees, " +
+           "s.maxAttendees, s.status, s.location, s.difficulty, s.prerequisites, s.duration, s.type, s.feedback, " +
+           "s.sprintName, s.storyPoints, s.numberOfTasks, s.numberOfBugs, s.currentStatus, s.rating, s.role " +
+           "from DemoSession s order by s.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<Object[]> streamExportRows();
+
+    /**
+     * Session ID / user ID pairs of the given sessions
+     */
+    @Query("select s.id, u.id from DemoSession s join s.users u where s.id in :ids")
+    List<Object[]> findUserIdPairs(@Param("ids") Collection<String> ids);
+
+    /**
+     * Number of sessions per combination of difficulty, status, type, technology, year and
+     * month, for seeding the facet counters in one pass over the table
+     */
+    @Query("select s.difficulty, s.status, s.type, s.technology, year(s.date), month(s.date), count(s) " +
+           "from DemoSession s group by s.difficulty, s.status, s.type, s.technology, year(s.date), month(s.date)")
+    List<Object[]> countByFacets();
+
+    /**
+     * Take a seat if one is free. Check and increment are a single statement, so concurrent
+     * registrations queue on the row lock and can never overbook.
+     *
+     * @return 1 if a seat was taken, 0 if the session is full or does not exist
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update DemoSession s set s.attendees = s.attendees + 1, s.version = s.version + 1, s.updatedAt = :now " +
+           "where s.id = :id and s.attendees < s.maxAttendees")
+    int reserveSeat(@Param("id") String id, @Param("now") LocalDateTime now);
+
+    /**
+     * Give back a seat if any is taken
+     *
+     * @return 1 if a seat was released, 0 if none is taken or the session does not exist
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update DemoSession s set s.attendees = s.attendees - 1, s.version = s.version + 1, s.updatedAt = :now " +
+           "where s.id = :id and s.attendees > 0")
+    int releaseSeat(@Param("id") String id, @Param("now") LocalDateTime now);
+
+    @Query("select new com.example.demo.dto.SessionSeatsDTO(s.id, s.attendees, s.maxAttendees, s.version) " +
+           "from DemoSession s where s.id = :id")
+    Optional<SessionSeatsDTO> findSeatsById(@Param("id") String id);
+
+    /**
+     * Versions and last changes of a session and of each user it is served with (the creator
+     * and the members, each once): one row per user of s.version, s.updatedAt, u.version, u.updatedAt
+     */
+    @Query("select s.version, s.updatedAt, u.version, u.updatedAt from DemoSession s, UserManagement u " +
+           "where s.id = :id and (u = s.createdBy or u member of s.users)")
+    List<Object[]> findVersionStampsWithUsersById(@Param("id") String id);
+
+    long countByDateGreaterThanEqual(LocalDate date);
+
+    long countByTechnologyContainingIgnoreCase(String technology);
+
+    long countByDifficulty(DemoSession.DifficultyLevel difficulty);
+
+    String KEYSET_ORDER = "order by s.date desc, s.time desc, s.id desc";
+
+    /**
+     * First page of the keyset-paginated list
+     */
+    @Query(SUMMARY_SELECT + KEYSET_ORDER)
+    List<DemoSessionSummaryDTO> findFirstSummaries(Pageable limit);
+
+    /**
+     * Page of the keyset-paginated list that follows the given position. Seeks on the
+     * (date, time, id) index instead of skipping rows, so every page costs the same.
+     */
+    @Query(SUMMARY_SELECT +
+           "where s.date <= :date and (s.date < :date or s.time < :time or (s.time = :time and s.id < :id)) " +
+           KEYSET_ORDER)
+    List<DemoSessionSummaryDTO> findSummariesAfter(@Param("date") LocalDate date, @Param("time") LocalTime time,
+                                                   @Param("id") String id, Pageable limit);
+
+    /**
+     * A session with its creator and users, for the detail view
+     */
+    @EntityGraph(DemoSession.DETAIL_GRAPH)
+    Optional<DemoSession> findDetailById(String id);
+
+    /**
+     * ID, date and time of sessions still waiting for a reminder that start in [from, to)
+     */
+    @Query("select s.id, s.date, s.time from DemoSession s " +
+           "where s.reminderSentAt is null and s.status = :status " +
+           "and (s.date > :fromDate or (s.date = :fromDate and s.time >= :fromTime)) " +
+           "and (s.date < :toDate or (s.date = :toDate and s.time < :toTime))")
+    List<Object[]> findReminderCandidates(@Param("status") DemoSession.SessionStatus status,
+                                          @Param("fromDate") LocalDate fromDate, @Param("fromTime") LocalTime fromTime,
+                                          @Param("toDate") LocalDate toDate, @Param("toTime") LocalTime toTime);
+
+    /**
+     * Attendee/session pairs of sessions in [from, to), ordered by attendee so rows can be
+     * aggregated per user in one pass. Must be consumed inside a transaction and closed;
+     * rows are fetched through a forward-only cursor in blocks of the fetch size
+     * (MySQL needs {@code useCursorFetch=true} on the connection URL for this).
+     */
+    @Query("select new com.example.demo.dto.WeeklyAttendanceRow(u.id, u.name, u.email, s.id, s.duration, s.rating) " +
+           "from DemoSession s join s.users u " +
+           "where s.date >= :from and s.date < :to and s.status <> :excludedStatus " +
+           "order by u.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<WeeklyAttendanceRow> streamWeeklyAttendance(@Param("from") LocalDate from, @Param("to") LocalDate to,
+                                                       @Param("excludedStatus") DemoSession.SessionStatus excludedStatus);
 } 
\ No newline at end of file
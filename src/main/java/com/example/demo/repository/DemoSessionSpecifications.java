@@ -0,0 +1,72 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.DemoSessionFilter;
+import com.example.demo.entity.DemoSession;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Building blocks of the combined session filter. Each criterion is an equality or a date
+ * range, so it can use one of the (column, date) indexes declared on {@code demo_sessions};
+ * substring matching is left to the search index.
+ */
+public final class DemoSessionSpecifications {
+
+    private DemoSessionSpecifications() {
+    }
+
+    /**
+     * All criteria set on the filter, combined with AND
+     */
+    public static Specification<DemoSession> matching(DemoSessionFilter filter) {
+        List<Specification<DemoSession>> criteria = new ArrayList<>();
+        if (filter.getDateFrom() != null) {
+            criteria.add(onOrAfter(filter.getDateFrom()));
+        }
+        if (filter.getDateTo() != null) {
+            criteria.add(onOrBefore(filter.getDateTo()));
+        }
+        if (filter.getTechnology() != null) {
+            criteria.add(equal("technology", filter.getTechnology()));
+        }
+        if (filter.getDifficulty() != null) {
+            criteria.add(equal("difficulty", filter.getDifficulty()));
+        }
+        if (filter.getStatus() != null) {
+            criteria.add(equal("status", filter.getStatus()));
+        }
+        if (filter.getType() != null) {
+            criteria.add(equal("type", filter.getType()));
+        }
+        if (filter.getCurrentStatus() != null) {
+            criteria.add(equal("currentStatus", filter.getCurrentStatus()));
+        }
+        if (filter.getSprintName() != null) {
+            criteria.add(equal("sprintName", filter.getSprintName()));
+        }
+        if (filter.getCreatedBy() != null) {
+            criteria.add(createdBy(filter.getCreatedBy()));
+        }
+        return Specification.allOf(criteria);
+    }
+
+    public static Specification<DemoSession> onOrAfter(LocalDate date) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("date"), date);
+    }
+
+    public static Specification<DemoSession> onOrBefore(LocalDate date) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("date"), date);
+    }
+
+    public static Specification<DemoSession> createdBy(String userId) {
+        // Compares the foreign key column; no join to the user table
+        return (root, query, cb) -> cb.equal(root.get("createdBy").get("id"), userId);
+    }
+
+    private static Specification<DemoSession> equal(String attribute, Object value) {
+        return (root, query, cb) -> cb.equal(root.get(attribute), value);
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.EmailOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxRepository extends JpaRepository<EmailOutbox, String> {
+
+    @Query("select o.id from EmailOutbox o where o.status = :status and o.nextAttemptAt <= :now order by o.nextAttemptAt")
+    List<String> findDueIds(@Param("status") EmailOutbox.OutboxStatus status, @Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update EmailOutbox o set o.status = :to, o.claimToken = :token, o.updatedAt = :now " +
+           "where o.id in :ids and o.status = :from")
+    int claim(@Param("ids") Collection<String> ids,
+              @Param("from") EmailOutbox.OutboxStatus from,
+              @Param("to") EmailOutbox.OutboxStatus to,
+              @Param("token") String token,
+              @Param("now") LocalDateTime now);
+
+    List<EmailOutbox> findByClaimToken(String claimToken);
+
+    /**
+     * Earliest pending delivery time per recipient, i.e. the close of each recipient's open digest window
+     */
+    @Query("select o.recipientId, min(o.nextAttemptAt) from EmailOutbox o " +
+           "where o.type = :type and o.status = :status and o.recipientId in :recipientIds " +
+           "group by o.recipientId")
+    List<Object[]> findPendingWindows(@Param("type") EmailOutbox.EmailType type,
+                                      @Param("status") EmailOutbox.OutboxStatus status,
+                                      @Param("recipientIds") Collection<String> recipientIds);
+
+    /**
+     * Release entries whose delivery lease expired and that have made between {@code minAttempts}
+     * and {@code maxAttempts} attempts. The lost delivery counts as an attempt.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update EmailOutbox o set o.status = :to, o.claimToken = null, o.attempts = o.attempts + 1, " +
+           "o.lastError = :error, o.updatedAt = :now " +
+           "where o.status = :from and o.updatedAt < :cutoff and o.attempts between :minAttempts and :maxAttempts")
+    int releaseStale(@Param("from") EmailOutbox.OutboxStatus from,
+                     @Param("to") EmailOutbox.OutboxStatus to,
+                     @Param("minAttempts") int minAttempts,
+                     @Param("maxAttempts") int maxAttempts,
+                     @Param("error") String error,
+                     @Param("cutoff") LocalDateTime cutoff,
+                     @Param("now") LocalDateTime now);
+}
@@ -4,6 +4,9 @@ import com.example.demo.entity.NotificationSettings;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface NotificationSettingsRepository extends JpaRepository<NotificationSettings, String> {
+    Optional<NotificationSettings> findFirstByOrderByIdAsc();
 } 
\ No newline at end of file
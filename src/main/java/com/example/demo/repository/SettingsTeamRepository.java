@@ -4,6 +4,9 @@ import com.example.demo.entity.SettingsTeam;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Optional;
+
 @Repository
 public interface SettingsTeamRepository extends JpaRepository<SettingsTeam, String> {
+    Optional<SettingsTeam> findFirstByOrderByIdAsc();
 } 
\ No newline at end of file
@@ -1,22 +1,55 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.VersionStamp;
 import com.example.demo.entity.UserManagement;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface UserManagementRepository extends JpaRepository<UserManagement, String>, PagingAndSortingRepository<UserManagement, String> {
     Optional<UserManagement> findByEmail(String email);
-    Page<UserManagement> findByDepartment(String department, Pageable pageable);
-    Page<UserManagement> findByRole(UserManagement.UserRole role, Pageable pageable);
-    Page<UserManagement> findByStatus(UserManagement.UserStatus status, Pageable pageable);
-    Page<UserManagement> findBySkillLevel(UserManagement.SkillLevel skillLevel, Pageable pageable);
+    Slice<UserManagement> findAllBy(Pageable pageable);
+    Slice<UserManagement> findByDepartment(String department, Pageable pageable);
+    Slice<UserManagement> findByRole(UserManagement.UserRole role, Pageable pageable);
+    Slice<UserManagement> findByStatus(UserManagement.UserStatus status, Pageable pageable);
+    Slice<UserManagement> findBySkillLevel(UserManagement.SkillLevel skillLevel, Pageable pageable);
+    long countByDepartment(String department);
+    long countByRole(UserManagement.UserRole role);
+    long countByStatus(UserManagement.UserStatus status);
+    long countBySkillLevel(UserManagement.SkillLevel skillLevel);
     boolean existsByEmail(String email);
 
+    @Query("select new com.example.demo.dto.VersionStamp(u.version, u.updatedAt) from UserManagement u where u.id = :id")
+    Optional<VersionStamp> findVersionStampById(@Param("id") String id);
+
+    /**
+     * Which of the given IDs exist, in one statement; used to check references in bulk
+     */
+    @Query("select u.id from UserManagement u where u.id in :ids")
+    List<String> findExistingIds(@Param("ids") Collection<String> ids);
+
+    /**
+     * Every user in ID order through a forward-only cursor; callers should clear the
+     * persistence context as they go, since the users read stay managed
+     */
+    @Query("select u from UserManagement u order by u.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<UserManagement> streamAllByOrderById();
+
 } 
\ No newline at end of file
@@ -0,0 +1,179 @@
+package com.example.demo.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs blocking side tasks on the {@code blockingIoExecutor} (platform or virtual threads,
+ * see {@code app.blocking-io.mode}) with a separate concurrency cap per downstream resource.
+ * Tasks are forked inside a {@link Scope}: the scope owner joins all of them, the first
+ * failure cancels the siblings, and closing the scope cancels anything still running, so
+ * no task outlives the code that started it.
+ */
+@Component
+public class BlockingIo {
+
+    public enum Resource {
+        SMTP,      // app.blocking-io.limits.smtp
+        DATABASE   // app.blocking-io.limits.database
+    }
+
+    private final ExecutorService executor;
+    private final Map<Resource, Semaphore> limits = new EnumMap<>(Resource.class);
+
+    public BlockingIo(@Qualifier("blockingIoExecutor") ExecutorService executor,
+                      MeterRegistry meterRegistry,
+                      @Value("${app.blocking-io.limits.smtp:4}") int smtpLimit,
+                      @Value("${app.blocking-io.limits.database:10}") int databaseLimit) {
+        this.executor = executor;
+        limits.put(Resource.SMTP, new Semaphore(smtpLimit, true));
+        limits.put(Resource.DATABASE, new Semaphore(databaseLimit, true));
+
+        limits.forEach((resource, semaphore) -> {
+            int limit = semaphore.availablePermits();
+            Gauge.builder("blocking.io.in.use", semaphore, s -> limit - s.availablePermits())
+                    .tag("resource", resource.name().toLowerCase())
+                    .description("Blocking tasks currently using the resource")
+                    .register(meterRegistry);
+        });
+    }
+
+    /**
+     * Open a scope for forking tasks; use with try-with-resources
+     */
+    public Scope open() {
+        return new Scope();
+    }
+
+    /**
+     * Result of a forked task, available once the scope has been joined
+     */
+    public interface Fork<T> {
+        T get();
+    }
+
+    public final class Scope implements AutoCloseable {
+
+        private final List<ForkTask<?>> forks = new ArrayList<>();
+        private final BlockingQueue<ForkTask<?>> completed = new LinkedBlockingQueue<>();
+
+        private Scope() {
+        }
+
+        /**
+         * Start a task that holds one permit of {@code resource} while it runs
+         */
+        public <T> Fork<T> fork(Resource resource, Callable<T> task) {
+            Semaphore semaphore = limits.get(resource);
+            ForkTask<T> fork = new ForkTask<>(() -> {
+                semaphore.acquire();
+                try {
+                    return task.call();
+                } finally {
+                    semaphore.release();
+                }
+            });
+            forks.add(fork);
+            executor.execute(fork);
+            return fork;
+        }
+
+        /**
+         * Wait for every forked task. The first failure cancels the remaining tasks and is rethrown.
+         *
+         * @throws ExecutionException wrapping the first task failure
+         * @throws InterruptedException if the caller is interrupted; remaining tasks are cancelled
+         */
+        public void join() throws ExecutionException, InterruptedException {
+            try {
+                join(Long.MAX_VALUE);
+            } catch (TimeoutException e) {
+                throw new IllegalStateException(e);  // Unreachable without a deadline
+            }
+        }
+
+        /**
+         * Like {@link #join()}, cancelling the remaining tasks if they have not finished within {@code timeout}
+         */
+        public void join(Duration timeout) throws ExecutionException, InterruptedException, TimeoutException {
+            join(timeout.toNanos());
+        }
+
+        private void join(long timeoutNanos) throws ExecutionException, InterruptedException, TimeoutException {
+            long deadline = System.nanoTime() + timeoutNanos;
+            try {
+                for (int done = 0; done < forks.size(); done++) {
+                    long remaining = timeoutNanos == Long.MAX_VALUE ? Long.MAX_VALUE : deadline - System.nanoTime();
+                    ForkTask<?> fork = completed.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (fork == null) {
+                        throw new TimeoutException("Blocking tasks did not finish within the deadline");
+                    }
+                    if (!fork.isCancelled()) {
+                        fork.outcome();  // Throws ExecutionException for a failed task
+                    }
+                }
+            } catch (ExecutionException | InterruptedException | TimeoutException | RuntimeException e) {
+                cancelAll();
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() {
+            cancelAll();
+        }
+
+        private void cancelAll() {
+            forks.forEach(fork -> fork.cancel(true));
+        }
+
+        private final class ForkTask<T> extends FutureTask<T> implements Fork<T> {
+
+            ForkTask(Callable<T> callable) {
+                super(callable);
+            }
+
+            @Override
+            protected void done() {
+                completed.add(this);
+            }
+
+            T outcome() throws ExecutionException, InterruptedException {
+                return super.get();
+            }
+
+            @Override
+            public T get() {
+                if (!isDone()) {
+                    throw new IllegalStateException("Task has not completed; join the scope first");
+                }
+                try {
+                    return super.get();
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("Task failed", e.getCause());
+                } catch (InterruptedException | CancellationException e) {
+                    throw new IllegalStateException("Task was cancelled", e);
+                }
+            }
+        }
+    }
+}
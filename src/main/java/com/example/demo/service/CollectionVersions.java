@@ -0,0 +1,66 @@
+package com.example.demo.service;
+
+import com.example.demo.event.DemoSessionChangedEvent;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A version per collection, advanced after every committed write that can change what its
+ * list endpoints show, so those endpoints can answer polls with 304 Not Modified without a query.
+ * <ul>
+ *   <li>{@link #SESSIONS}: session writes (through {@link DemoSessionChangedEvent}), seat changes,
+ *       and user changes, since session lists show the creator's name</li>
+ *   <li>{@link #USERS}: user writes</li>
+ * </ul>
+ * Versions live in memory and start over with each run; the ETag carries the start time so
+ * tags from an earlier run never match. Writes that bypass the services, or go through
+ * another instance, are not seen.
+ */
+@Component
+public class CollectionVersions {
+
+    public static final String SESSIONS = "sessions";
+    public static final String USERS = "users";
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    /**
+     * Entity tag of a collection's current version, unquoted
+     */
+    public String etag(String namespace) {
+        return namespace + "-" + epoch + "-" + version(namespace).get();
+    }
+
+    /**
+     * Advance a collection's version. Inside a transaction this waits for the commit, so a
+     * tag is never handed out with data older than it.
+     */
+    public void advance(String namespace) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    version(namespace).incrementAndGet();
+                }
+            });
+        } else {
+            version(namespace).incrementAndGet();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onSessionChanged(DemoSessionChangedEvent event) {
+        version(SESSIONS).incrementAndGet();  // Already after the commit
+    }
+
+    private AtomicLong version(String namespace) {
+        return versions.computeIfAbsent(namespace, n -> new AtomicLong());
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.PaginatedResponse;
+import com.example.demo.event.DemoSessionChangedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Row counts of paginated lists, per filter, for {@link PaginatedResponse.Totals#ESTIMATED}.
+ * A count is taken synchronously the first time a filter is seen. After that, readers always
+ * get the cached value; once it is older than {@code app.pagination.count-cache.ttl}, or a
+ * write to the namespace invalidated it, the first reader starts one background recount on
+ * the {@code blockingIoExecutor} and keeps serving the old value until it lands.
+ */
+@Component
+public class CountCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CountCache.class);
+
+    public static final String SESSIONS = "sessions";
+    public static final String USERS = "users";
+
+    private record Entry(long value, long countedAt, long generation) {
+    }
+
+    private final ExecutorService executor;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> generations = new ConcurrentHashMap<>();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    @Value("${app.pagination.count-cache.ttl:PT1M}")
+    private Duration ttl;
+
+    @Value("${app.pagination.count-cache.max-entries:1000}")
+    private int maxEntries;
+
+    public CountCache(@Qualifier("blockingIoExecutor") ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Add the requested kind of total to a slice
+     *
+     * @param slice The page content, fetched without a count
+     * @param totals Which total the client asked for
+     * @param namespace {@link #SESSIONS} or {@link #USERS}, the unit of invalidation
+     * @param filter Identifies the filter within the namespace, e.g. {@code "difficulty:Beginner"}
+     * @param counter Counts the rows matching the filter
+     * @return The slice itself for NONE, otherwise a page with an exact or cached total
+     */
+    public <T> Slice<T> withTotals(Slice<T> slice, PaginatedResponse.Totals totals,
+                                   String namespace, String filter, LongSupplier counter) {
+        return switch (totals) {
+            case NONE -> slice;
+            // Skips the count when this page already shows where the list ends
+            case EXACT -> PageableExecutionUtils.getPage(slice.getContent(), slice.getPageable(), counter);
+            case ESTIMATED -> {
+                // A stale estimate must still agree with what this page shows
+                long seen = slice.getPageable().getOffset() + slice.getNumberOfElements() + (slice.hasNext() ? 1 : 0);
+                long estimate = Math.max(get(namespace, filter, counter), seen);
+                yield new PageImpl<>(slice.getContent(), slice.getPageable(), estimate);
+            }
+        };
+    }
+
+    /**
+     * Cached count for a filter, counting synchronously only if there is none yet
+     */
+    public long get(String namespace, String filter, LongSupplier counter) {
+        String key = namespace + ":" + filter;
+        long generation = generation(namespace).get();
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return count(key, generation, counter);
+        }
+        boolean stale = entry.generation() != generation || System.nanoTime() - entry.countedAt() > ttl.toNanos();
+        if (stale && refreshing.add(key)) {
+            try {
+                executor.execute(() -> {
+                    try {
+                        count(key, generation(namespace).get(), counter);
+                    } catch (RuntimeException e) {
+                        logger.warn("Failed to refresh count {}", key, e);
+                    } finally {
+                        refreshing.remove(key);
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                refreshing.remove(key);  // Shutting down, keep the old value
+            }
+        }
+        return entry.value();
+    }
+
+    /**
+     * Mark every count of a namespace stale. Inside a transaction this waits for the commit,
+     * so the recount sees the change.
+     */
+    public void invalidate(String namespace) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    generation(namespace).incrementAndGet();
+                }
+            });
+        } else {
+            generation(namespace).incrementAndGet();
+        }
+    }
+
+    @TransactionalEventListener
+    public void onSessionChanged(DemoSessionChangedEvent event) {
+        generation(SESSIONS).incrementAndGet();  // Already after the commit
+    }
+
+    private long count(String key, long generation, LongSupplier counter) {
+        long value = counter.getAsLong();
+        // Per-filter keys come from request input, so stop caching new ones past the cap
+        if (entries.size() < maxEntries || entries.containsKey(key)) {
+            entries.put(key, new Entry(value, System.nanoTime(), generation));
+        }
+        return value;
+    }
+
+    private AtomicLong generation(String namespace) {
+        return generations.computeIfAbsent(namespace, n -> new AtomicLong());
+    }
+}
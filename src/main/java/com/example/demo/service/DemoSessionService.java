@@ -1,32 +1,79 @@
 package com.example.demo.service;
 
+import com.example.demo.config.CacheConfig;
 import com.example.demo.entity.DemoSession;
 import com.example.demo.dto.DemoSessionDTO;
+import com.example.demo.dto.DemoSessionFilter;
+import com.example.demo.dto.DemoSessionPatchDTO;
+import com.example.demo.dto.DemoSessionSummaryDTO;
+import com.example.demo.dto.PaginatedResponse;
+import com.example.demo.dto.SessionCursor;
+import com.example.demo.dto.SessionFacetKey;
+import com.example.demo.dto.SessionFacetsDTO;
+import com.example.demo.dto.SessionSeatsDTO;
+import com.example.demo.dto.VersionStamp;
 import com.example.demo.entity.UserManagement;
+import com.example.demo.event.DemoSessionChangedEvent;
 import com.example.demo.repository.DemoSessionRepository;
+import com.example.demo.repository.DemoSessionSpecifications;
 import com.example.demo.repository.UserManagementRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.BeanUtils;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @Transactional
 public class DemoSessionService {
     private final DemoSessionRepository repository;
     private final UserManagementRepository userManagementRepository;
-    private final EmailService emailService;
+    private final EmailOutboxService emailOutboxService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final CountCache countCache;
+    private final SessionSearchIndex searchIndex;
+    private final SessionFacetCounter facetCounter;
+    private final CollectionVersions collectionVersions;
+    private final UpcomingSessionWindow upcomingWindow;
 
-    public DemoSessionService(DemoSessionRepository repository, UserManagementRepository userManagementRepository, EmailService emailService) {
+    public DemoSessionService(DemoSessionRepository repository, UserManagementRepository userManagementRepository,
+                              EmailOutboxService emailOutboxService, ApplicationEventPublisher eventPublisher,
+                              CountCache countCache, SessionSearchIndex searchIndex, SessionFacetCounter facetCounter,
+                              CollectionVersions collectionVersions, UpcomingSessionWindow upcomingWindow) {
         this.repository = repository;
         this.userManagementRepository = userManagementRepository;
-        this.emailService = emailService;
+        this.emailOutboxService = emailOutboxService;
+        this.eventPublisher = eventPublisher;
+        this.countCache = countCache;
+        this.searchIndex = searchIndex;
+        this.facetCounter = facetCounter;
+        this.collectionVersions = collectionVersions;
+        this.upcomingWindow = upcomingWindow;
     }
 
     /**
@@ -36,17 +83,25 @@ public class DemoSessionService {
      * @return The created DemoSession
      */
     public DemoSession createSession(DemoSessionDTO dto) {
-        // Validate and fetch the users by their IDs
-        List<UserManagement> users = userManagementRepository.findAllById(dto.getUserIds());
+        // Fetch the participants and the creator in a single query
+        Set<String> lookupIds = new HashSet<>(dto.getUserIds());
+        lookupIds.add(dto.getCreatedBy());
+        Map<String, UserManagement> found = userManagementRepository.findAllById(lookupIds).stream()
+                .collect(Collectors.toMap(UserManagement::getId, Function.identity()));
 
         // If some user IDs are invalid, throw an exception
+        List<UserManagement> users = dto.getUserIds().stream()
+                .map(found::get)
+                .filter(Objects::nonNull)
+                .toList();
         if (users.size() != dto.getUserIds().size()) {
             throw new EntityNotFoundException("One or more users not found");
         }
 
-        // Fetch the createdBy user
-        UserManagement createdByUser = userManagementRepository.findById(dto.getCreatedBy())
-                .orElseThrow(() -> new EntityNotFoundException("Created by user not found with id: " + dto.getCreatedBy()));
+        UserManagement createdByUser = found.get(dto.getCreatedBy());
+        if (createdByUser == null) {
+            throw new EntityNotFoundException("Created by user not found with id: " + dto.getCreatedBy());
+        }
 
         // Create a new DemoSession object
         DemoSession session = new DemoSession();
@@ -76,7 +131,7 @@ public class DemoSessionService {
 
         // Set the generated session ID and users associated with the session
         session.setId(UUID.randomUUID().toString());
-        session.setUsers(users);  // Set the list of users
+        session.setUsers(new LinkedHashSet<>(users));  // Set the users
 
         // Ensure role is correctly set as enum
         session.setRole(DemoSession.ParticipantRole.valueOf(dto.getRole().name()));
@@ -84,23 +139,12 @@ public class DemoSessionService {
         // Save the demo session to the repository
         DemoSession savedSession = repository.save(session);
 
-        // Send email notifications
-        try {
-            // Send confirmation email to the creator
-            emailService.sendSessionCreationConfirmation(savedSession, createdByUser);
-            
-            // Send notification emails to all participants (excluding the creator)
-            List<UserManagement> participants = users.stream()
-                    .filter(user -> !user.getId().equals(createdByUser.getId()))
-                    .toList();
-            
-            if (!participants.isEmpty()) {
-                emailService.sendSessionCreationNotification(savedSession, createdByUser, participants);
-            }
-        } catch (Exception e) {
-            // Log the error but don't fail the session creation
-            System.err.println("Failed to send email notifications: " + e.getMessage());
-        }
+        // Queue email notifications in the same transaction; the outbox dispatcher delivers them
+        List<UserManagement> participants = users.stream()
+                .filter(user -> !user.getId().equals(createdByUser.getId()))
+                .toList();
+        emailOutboxService.enqueueSessionCreated(savedSession, createdByUser, participants);
+        eventPublisher.publishEvent(DemoSessionChangedEvent.created(savedSession));
 
         return savedSession;
     }
@@ -112,10 +156,26 @@ public class DemoSessionService {
      * @param dto The DTO containing the updated session details
      * @return The updated DemoSession
      */
+    @CacheEvict(cacheNames = CacheConfig.SESSIONS, key = "#id")
     public DemoSession updateSession(String id, DemoSessionDTO dto) {
+        return updateSession(id, dto, null);
+    }
+
+    /**
+     * Update an existing demo session if it is still at the given version. The attendee count
+     * is left alone: seats are taken and given back only through {@link #registerSeat(String)}
+     * and {@link #unregisterSeat(String)}, so an update cannot overwrite concurrent registrations.
+     *
+     * @param id              The ID of the session to update
+     * @param dto             The DTO containing the updated session details
+     * @param expectedVersion The version the caller last read, or {@code null} to update any version
+     * @return The updated DemoSession, with its new version
+     * @throws OptimisticLockingFailureException If the session has changed since that version
+     */
+    @CacheEvict(cacheNames = CacheConfig.SESSIONS, key = "#id")
+    public DemoSession updateSession(String id, DemoSessionDTO dto, Long expectedVersion) {
         // Retrieve the existing session from the repository
-        DemoSession session = repository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("Session not found with id: " + id));
+        DemoSession session = findAtVersion(id, expectedVersion);
 
         // Retrieve the list of users by their IDs from the UserManagement table
         List<UserManagement> users = userManagementRepository.findAllById(dto.getUserIds());
@@ -132,8 +192,15 @@ public class DemoSessionService {
                     .orElseThrow(() -> new EntityNotFoundException("Created by user not found with id: " + dto.getCreatedBy()));
         }
 
-        // Update the session fields with the new data from the DTO
-        session.setUsers(users);  // Update the list of users
+        SessionFacetKey previousFacets = SessionFacetKey.of(session);
+        LocalDate previousDate = session.getDate();
+        LocalTime previousTime = session.getTime();
+
+        // Update the session fields with the new data from the DTO. The users are changed in place,
+        // so only the join rows of added and removed users are written
+        Set<UserManagement> members = new HashSet<>(users);
+        session.getUsers().retainAll(members);
+        session.getUsers().addAll(members);
         session.setRole(DemoSession.ParticipantRole.valueOf(dto.getRole().name()));  // Update the role with correct enum type
 
         // Manually update properties to avoid BeanUtils issues
@@ -141,9 +208,11 @@ public class DemoSessionService {
         if (dto.getTechnology() != null) session.setTechnology(dto.getTechnology());
         if (dto.getDate() != null) session.setDate(dto.getDate());
         if (dto.getTime() != null) session.setTime(dto.getTime());
+        if (!session.getDate().equals(previousDate) || !session.getTime().equals(previousTime)) {
+            session.setReminderSentAt(null);  // Rescheduled sessions get a new reminder
+        }
         if (dto.getDescription() != null) session.setDescription(dto.getDescription());
         if (createdByUser != null) session.setCreatedBy(createdByUser);
-        if (dto.getAttendees() != null) session.setAttendees(dto.getAttendees());
         if (dto.getMaxAttendees() != null) session.setMaxAttendees(dto.getMaxAttendees());
         if (dto.getStatus() != null) session.setStatus(dto.getStatus());
         if (dto.getLocation() != null) session.setLocation(dto.getLocation());
@@ -159,29 +228,293 @@ public class DemoSessionService {
         if (dto.getCurrentStatus() != null) session.setCurrentStatus(dto.getCurrentStatus());
         if (dto.getRating() != null) session.setRating(dto.getRating());
 
-        // Save the updated session to the repository
-        return repository.save(session);
+        // Save the updated session to the repository; flushing bumps the version before it is returned
+        DemoSession savedSession = repository.saveAndFlush(session);
+        eventPublisher.publishEvent(DemoSessionChangedEvent.updated(savedSession, previousFacets));
+        return savedSession;
+    }
+
+    /**
+     * Change only the given fields of a demo session. The users are neither loaded nor rewritten,
+     * so a small edit is a single-row UPDATE of the changed columns.
+     *
+     * @param id              The ID of the session to update
+     * @param patch           The fields to change; null fields are left as they are
+     * @param expectedVersion The version the caller last read, or {@code null} to update any version
+     * @return The updated DemoSession, with its new version
+     * @throws EntityNotFoundException If the session does not exist
+     * @throws OptimisticLockingFailureException If the session has changed since that version
+     */
+    @CacheEvict(cacheNames = CacheConfig.SESSIONS, key = "#id")
+    public DemoSession patchSession(String id, DemoSessionPatchDTO patch, Long expectedVersion) {
+        DemoSession session = findAtVersion(id, expectedVersion);
+
+        SessionFacetKey previousFacets = SessionFacetKey.of(session);
+        LocalDate previousDate = session.getDate();
+        LocalTime previousTime = session.getTime();
+
+        if (patch.getTitle() != null) session.setTitle(patch.getTitle());
+        if (patch.getTechnology() != null) session.setTechnology(patch.getTechnology());
+        if (patch.getDate() != null) session.setDate(patch.getDate());
+        if (patch.getTime() != null) session.setTime(patch.getTime());
+        if (!session.getDate().equals(previousDate) || !session.getTime().equals(previousTime)) {
+            session.setReminderSentAt(null);  // Rescheduled sessions get a new reminder
+        }
+        if (patch.getDescription() != null) session.setDescription(patch.getDescription());
+        if (patch.getMaxAttendees() != null) session.setMaxAttendees(patch.getMaxAttendees());
+        if (patch.getStatus() != null) session.setStatus(patch.getStatus());
+        if (patch.getLocation() != null) session.setLocation(patch.getLocation());
+        if (patch.getDifficulty() != null) session.setDifficulty(patch.getDifficulty());
+        if (patch.getPrerequisites() != null) session.setPrerequisites(patch.getPrerequisites());
+        if (patch.getDuration() != null) session.setDuration(patch.getDuration());
+        if (patch.getType() != null) session.setType(patch.getType());
+        if (patch.getFeedback() != null) session.setFeedback(patch.getFeedback());
+        if (patch.getSprintName() != null) session.setSprintName(patch.getSprintName());
+        if (patch.getStoryPoints() != null) session.setStoryPoints(patch.getStoryPoints());
+        if (patch.getNumberOfTasks() != null) session.setNumberOfTasks(patch.getNumberOfTasks());
+        if (patch.getNumberOfBugs() != null) session.setNumberOfBugs(patch.getNumberOfBugs());
+        if (patch.getCurrentStatus() != null) session.setCurrentStatus(patch.getCurrentStatus());
+        if (patch.getRating() != null) session.setRating(patch.getRating());
+        if (patch.getRole() != null) session.setRole(patch.getRole());
+
+        DemoSession savedSession = repository.saveAndFlush(session);
+        eventPublisher.publishEvent(DemoSessionChangedEvent.updated(savedSession, previousFacets));
+        return savedSession;
+    }
+
+    /**
+     * Add a user to a demo session; adding a member again changes nothing
+     *
+     * @param id     The ID of the session
+     * @param userId The ID of the user to add
+     * @return The session with its users
+     * @throws EntityNotFoundException If the session or the user does not exist
+     */
+    @CacheEvict(cacheNames = CacheConfig.SESSIONS, key = "#id")
+    public DemoSession addUser(String id, String userId) {
+        DemoSession session = repository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Session not found with id: " + id));
+        UserManagement user = userManagementRepository.findById(userId)
+                .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
+        SessionFacetKey previousFacets = SessionFacetKey.of(session);
+        if (session.getUsers().add(user)) {
+            // Inserts the one join row and bumps the session's version
+            DemoSession savedSession = repository.saveAndFlush(session);
+            eventPublisher.publishEvent(DemoSessionChangedEvent.updated(savedSession, previousFacets));
+            return savedSession;
+        }
+        return session;
     }
 
     /**
-     * Retrieve a demo session by ID
+     * Remove a user from a demo session; removing a non-member changes nothing
+     *
+     * @param id     The ID of the session
+     * @param userId The ID of the user to remove
+     * @return The session with its users
+     * @throws EntityNotFoundException If the session does not exist
+     */
+    @CacheEvict(cacheNames = CacheConfig.SESSIONS, key = "#id")
+    public DemoSession removeUser(String id, String userId) {
+        DemoSession session = repository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Session not found with id: " + id));
+        SessionFacetKey previousFacets = SessionFacetKey.of(session);
+        if (session.getUsers().removeIf(user -> user.getId().equals(userId))) {
+            // Deletes the one join row and bumps the session's version
+            DemoSession savedSession = repository.saveAndFlush(session);
+            eventPublisher.publishEvent(DemoSessionChangedEvent.updated(savedSession, previousFacets));
+            return savedSession;
+        }
+        return session;
+    }
+
+    /**
+     * Load a session for an update, failing fast if it is no longer at the caller's version.
+     * A change committed after this check still fails the update's versioned UPDATE.
+     */
+    private DemoSession findAtVersion(String id, Long expectedVersion) {
+        DemoSession session = repository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Session not found with id: " + id));
+        if (expectedVersion != null && !expectedVersion.equals(session.getVersion())) {
+            throw new OptimisticLockingFailureException("Session " + id + " is at version " + session.getVersion()
+                    + ", not " + expectedVersion);
+        }
+        return session;
+    }
+
+    /**
+     * Retrieve a demo session by ID, with its creator and users. Served from the sessions cache;
+     * the returned session is shared and must not be modified.
      * 
      * @param id The ID of the session to retrieve
      * @return The DemoSession
      */
+    @Cacheable(cacheNames = CacheConfig.SESSIONS, key = "#id", sync = true)
+    @Transactional(readOnly = true)
     public DemoSession getSession(String id) {
-        return repository.findById(id)
+        return repository.findDetailById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Session not found with id: " + id));
     }
 
+    /**
+     * Version and last change of a demo session together with its creator and members, in one
+     * query and without loading them
+     *
+     * @param id The ID of the session
+     * @return The session's version stamp, embedding its users' versions
+     * @throws EntityNotFoundException If the session does not exist
+     */
+    @Transactional(readOnly = true)
+    public VersionStamp getSessionVersion(String id) {
+        List<Object[]> rows = repository.findVersionStampsWithUsersById(id);
+        if (rows.isEmpty()) {  // Every session has a creator, so an existing one has a row
+            throw new EntityNotFoundException("Session not found with id: " + id);
+        }
+        VersionStamp session = new VersionStamp((Long) rows.get(0)[0], (LocalDateTime) rows.get(0)[1]);
+        return VersionStamp.embedding(session, rows.stream()
+                .map(row -> new VersionStamp((Long) row[2], (LocalDateTime) row[3]))
+                .toList());
+    }
+
+    /**
+     * Version and last change of a loaded demo session together with its creator and members,
+     * matching {@link #getSessionVersion(String)}
+     *
+     * @param session The session, with its users
+     * @return The session's version stamp, embedding its users' versions
+     */
+    public VersionStamp versionOf(DemoSession session) {
+        return VersionStamp.embedding(new VersionStamp(session.getVersion(), session.getUpdatedAt()),
+                Stream.concat(Stream.of(session.getCreatedBy()), session.getUsers().stream())
+                        .distinct()
+                        .map(user -> new VersionStamp(user.getVersion(), user.getUpdatedAt()))
+                        .toList());
+    }
+
     /**
      * Retrieve all demo sessions with pagination
      * 
      * @param pageable Pageable object to support pagination
-     * @return A page of DemoSession
+     * @param totals   Which total to add to the page
+     * @return A page of sessions, or a bare slice when no total was requested
+     */
+    @Transactional(readOnly = true)
+    public Slice<DemoSessionSummaryDTO> getAllSessions(Pageable pageable, PaginatedResponse.Totals totals) {
+        return countCache.withTotals(repository.findSummaries(pageable), totals,
+                CountCache.SESSIONS, "all", repository::count);
+    }
+
+    /**
+     * Retrieve demo sessions in keyset order (newest date and time first), continuing after a cursor.
+     * Fetches one row more than requested, so callers can tell whether another page follows.
+     *
+     * @param after Position of the last session already seen, or {@code null} for the first page
+     * @param limit Number of sessions per page
+     * @return Up to {@code limit + 1} sessions
      */
-    public Page<DemoSession> getAllSessions(Pageable pageable) {
-        return repository.findAll(pageable);
+    @Transactional(readOnly = true)
+    public List<DemoSessionSummaryDTO> getSessionsAfter(SessionCursor after, int limit) {
+        Pageable window = PageRequest.of(0, limit + 1);
+        return after == null
+                ? repository.findFirstSummaries(window)
+                : repository.findSummariesAfter(after.date(), after.time(), after.id(), window);
+    }
+
+    /**
+     * Retrieve demo sessions matching any combination of filter criteria
+     *
+     * @param filter   Criteria to match; unset criteria are ignored
+     * @param pageable Pageable object to support pagination
+     * @param totals   Which total to add to the page
+     * @return A page of matching sessions, or a bare slice when no total was requested
+     */
+    @Transactional(readOnly = true)
+    public Slice<DemoSessionSummaryDTO> filterSessions(DemoSessionFilter filter, Pageable pageable,
+                                                      PaginatedResponse.Totals totals) {
+        Specification<DemoSession> spec = DemoSessionSpecifications.matching(filter);
+        return countCache.withTotals(repository.findSummariesMatching(spec, pageable), totals,
+                CountCache.SESSIONS, "filter:" + filter, () -> repository.count(spec));
+    }
+
+    /**
+     * Search demo sessions by title, technology, description and prerequisites, best match first
+     *
+     * @param query    Words to find; each must match a word or word prefix
+     * @param pageable Pageable object to support pagination
+     * @return A page of matching sessions with the total number of matches, its totals flagged as
+     *         estimated when a word prefixed too many terms for all of them to be searched
+     * @throws IllegalStateException While the search index is first being loaded
+     */
+    @Transactional(readOnly = true)
+    public PaginatedResponse<DemoSessionSummaryDTO> searchSessions(String query, Pageable pageable) {
+        SessionSearchIndex.Hits hits = searchIndex.search(query, (int) pageable.getOffset(), pageable.getPageSize());
+        List<DemoSessionSummaryDTO> ranked = List.of();
+        if (!hits.sessionIds().isEmpty()) {
+            Map<String, DemoSessionSummaryDTO> byId = repository.findSummariesByIds(hits.sessionIds()).stream()
+                    .collect(Collectors.toMap(DemoSessionSummaryDTO::getId, Function.identity()));
+            // Keep the index's ranking; a session deleted since the search just drops out
+            ranked = hits.sessionIds().stream()
+                    .map(byId::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+        }
+        PaginatedResponse<DemoSessionSummaryDTO> response = PaginatedResponse.from(new PageImpl<>(ranked, pageable, hits.total()));
+        if (hits.approximate()) {
+            response.setTotalsEstimated(true);
+        }
+        return response;
+    }
+
+    /**
+     * Session counts per difficulty, status, type, technology and month, served from memory
+     *
+     * @throws IllegalStateException While the counts are first being loaded
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)  // Never needs a connection
+    public SessionFacetsDTO getSessionFacets() {
+        return facetCounter.facets();
+    }
+
+    /**
+     * Register for a seat in a session
+     *
+     * @param id The ID of the session
+     * @return The session's seats after the registration
+     * @throws EntityNotFoundException If the session does not exist
+     * @throws IllegalStateException If the session is full
+     */
+    @CacheEvict(cacheNames = CacheConfig.SESSIONS, key = "#id")
+    public SessionSeatsDTO registerSeat(String id) {
+        boolean reserved = repository.reserveSeat(id, LocalDateTime.now()) == 1;
+        SessionSeatsDTO seats = repository.findSeatsById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Session not found with id: " + id));
+        if (!reserved) {
+            throw new IllegalStateException("Session is full: " + id);
+        }
+        collectionVersions.advance(CollectionVersions.SESSIONS);  // Lists show the attendees
+        upcomingWindow.seatsChanged(seats);
+        return seats;
+    }
+
+    /**
+     * Give back a seat in a session
+     *
+     * @param id The ID of the session
+     * @return The session's seats after the seat was released
+     * @throws EntityNotFoundException If the session does not exist
+     * @throws IllegalStateException If no seat is taken
+     */
+    @CacheEvict(cacheNames = CacheConfig.SESSIONS, key = "#id")
+    public SessionSeatsDTO unregisterSeat(String id) {
+        boolean released = repository.releaseSeat(id, LocalDateTime.now()) == 1;
+        SessionSeatsDTO seats = repository.findSeatsById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Session not found with id: " + id));
+        if (!released) {
+            throw new IllegalStateException("No seats are taken in session: " + id);
+        }
+        collectionVersions.advance(CollectionVersions.SESSIONS);
+        upcomingWindow.seatsChanged(seats);
+        return seats;
     }
 
     /**
@@ -189,21 +522,34 @@ public class DemoSessionService {
      * 
      * @param id The ID of the session to delete
      */
+    @CacheEvict(cacheNames = CacheConfig.SESSIONS, key = "#id")
     public void deleteSession(String id) {
-        if (!repository.existsById(id)) {
-            throw new EntityNotFoundException("Session not found with id: " + id);
-        }
-        repository.deleteById(id);
+        DemoSession session = repository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Session not found with id: " + id));
+        SessionFacetKey facets = SessionFacetKey.of(session);
+        repository.delete(session);
+        eventPublisher.publishEvent(DemoSessionChangedEvent.deleted(id, facets));
     }
 
     /**
      * Retrieve all upcoming demo sessions (sessions from today onwards) with pagination
      * 
      * @param pageable Pageable object to support pagination
-     * @return A page of upcoming DemoSession
+     * @param totals   Which total to add to the page
+     * @return A page of upcoming sessions, or a bare slice when no total was requested
      */
-    public Page<DemoSession> getUpcomingSessions(Pageable pageable) {
-        return repository.findByDateGreaterThanEqual(LocalDate.now(), pageable);
+    @Transactional(propagation = Propagation.SUPPORTS)  // Pages in the upcoming window need no connection
+    public Slice<DemoSessionSummaryDTO> getUpcomingSessions(Pageable pageable, PaginatedResponse.Totals totals) {
+        LocalDate today = LocalDate.now();
+        Page<DemoSessionSummaryDTO> cached = upcomingWindow.page(today, pageable);
+        if (cached != null) {
+            // The window knows the exact total, so it serves EXACT and ESTIMATED alike
+            return totals == PaginatedResponse.Totals.NONE
+                    ? new SliceImpl<>(cached.getContent(), pageable, cached.hasNext())
+                    : cached;
+        }
+        return countCache.withTotals(repository.findSummariesFrom(today, pageable), totals,
+                CountCache.SESSIONS, "from:" + today, () -> repository.countByDateGreaterThanEqual(today));
     }
 
     /**
@@ -211,10 +557,15 @@ public class DemoSessionService {
      * 
      * @param technology The technology for filtering sessions
      * @param pageable   Pageable object to support pagination
-     * @return A page of DemoSession filtered by technology
+     * @param totals     Which total to add to the page
+     * @return A page of sessions filtered by technology, or a bare slice when no total was requested
      */
-    public Page<DemoSession> getSessionsByTechnology(String technology, Pageable pageable) {
-        return repository.findByTechnologyContainingIgnoreCase(technology, pageable);
+    @Transactional(readOnly = true)
+    public Slice<DemoSessionSummaryDTO> getSessionsByTechnology(String technology, Pageable pageable,
+                                                               PaginatedResponse.Totals totals) {
+        return countCache.withTotals(repository.findSummariesByTechnology(technology, pageable), totals,
+                CountCache.SESSIONS, "technology:" + technology.toLowerCase(),
+                () -> repository.countByTechnologyContainingIgnoreCase(technology));
     }
 
     /**
@@ -222,9 +573,13 @@ public class DemoSessionService {
      * 
      * @param difficulty The difficulty level for filtering sessions
      * @param pageable   Pageable object to support pagination
-     * @return A page of DemoSession filtered by difficulty level
+     * @param totals     Which total to add to the page
+     * @return A page of sessions filtered by difficulty level, or a bare slice when no total was requested
      */
-    public Page<DemoSession> getSessionsByDifficulty(DemoSession.DifficultyLevel difficulty, Pageable pageable) {
-        return repository.findByDifficulty(difficulty, pageable);
+    @Transactional(readOnly = true)
+    public Slice<DemoSessionSummaryDTO> getSessionsByDifficulty(DemoSession.DifficultyLevel difficulty, Pageable pageable,
+                                                               PaginatedResponse.Totals totals) {
+        return countCache.withTotals(repository.findSummariesByDifficulty(difficulty, pageable), totals,
+                CountCache.SESSIONS, "difficulty:" + difficulty, () -> repository.countByDifficulty(difficulty));
     }
 }
@@ -0,0 +1,292 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.EmailBatchResult;
+import com.example.demo.dto.OutgoingEmail;
+import com.example.demo.entity.DemoSession;
+import com.example.demo.entity.EmailOutbox;
+import com.example.demo.entity.UserManagement;
+import com.example.demo.repository.DemoSessionRepository;
+import com.example.demo.repository.UserManagementRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Drains the email outbox in the background. Each poll claims a batch of due entries,
+ * groups them by session and forks one {@link BlockingIo} task per group, which sends it
+ * as one batch through {@link EmailService#sendBatch(List)}. At most
+ * {@code app.blocking-io.limits.smtp} groups are sent at the same time. In digest mode a
+ * recipient's notifications that come due together are combined into one message.
+ * While email notifications are switched off, due notifications are closed as SUPPRESSED.
+ * Weekly reports belong to no session and are sent as one more group.
+ */
+@Component
+@ConditionalOnProperty(name = "app.mail.outbox.dispatcher.enabled", havingValue = "true", matchIfMissing = true)
+public class EmailOutboxDispatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxDispatcher.class);
+
+    private final EmailOutboxService outboxService;
+    private final EmailService emailService;
+    private final DemoSessionRepository sessionRepository;
+    private final UserManagementRepository userManagementRepository;
+    private final NotificationSettingsService notificationSettingsService;
+    private final BlockingIo blockingIo;
+
+    @Value("${app.mail.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${app.mail.digest.enabled:false}")
+    private boolean digestEnabled;
+
+    public EmailOutboxDispatcher(EmailOutboxService outboxService,
+                                 EmailService emailService,
+                                 DemoSessionRepository sessionRepository,
+                                 UserManagementRepository userManagementRepository,
+                                 NotificationSettingsService notificationSettingsService,
+                                 BlockingIo blockingIo) {
+        this.outboxService = outboxService;
+        this.emailService = emailService;
+        this.sessionRepository = sessionRepository;
+        this.userManagementRepository = userManagementRepository;
+        this.notificationSettingsService = notificationSettingsService;
+        this.blockingIo = blockingIo;
+    }
+
+    @Scheduled(fixedDelayString = "${app.mail.outbox.poll-interval:PT5S}")
+    public void dispatch() {
+        List<EmailOutbox> claimed = outboxService.claimDue(batchSize);
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        // Values are null for successful deliveries, so a ConcurrentHashMap cannot be used here
+        Map<String, String> outcomes = Collections.synchronizedMap(new HashMap<>());
+        try {
+            deliverClaimed(claimed, outcomes);
+        } finally {
+            // Also after a failure, so entries already delivered are not sent again once their lease expires
+            if (!outcomes.isEmpty()) {
+                outboxService.recordOutcomes(outcomes);
+            }
+        }
+        logger.info("Outbox dispatch finished: {} claimed, {} failed", claimed.size(),
+                outcomes.values().stream().filter(error -> error != null).count());
+    }
+
+    private void deliverClaimed(List<EmailOutbox> claimed, Map<String, String> outcomes) {
+        // Independent lookups, so run them side by side
+        Map<String, DemoSession> sessions;
+        Map<String, UserManagement> recipients;
+        try (BlockingIo.Scope scope = blockingIo.open()) {
+            BlockingIo.Fork<Map<String, DemoSession>> sessionLookup = scope.fork(BlockingIo.Resource.DATABASE,
+                    () -> sessionRepository.findAllById(claimed.stream().map(EmailOutbox::getSessionId)
+                                    .filter(Objects::nonNull).distinct().toList())
+                            .stream()
+                            .collect(Collectors.toMap(DemoSession::getId, Function.identity())));
+            BlockingIo.Fork<Map<String, UserManagement>> recipientLookup = scope.fork(BlockingIo.Resource.DATABASE,
+                    () -> userManagementRepository.findAllById(claimed.stream().map(EmailOutbox::getRecipientId).distinct().toList())
+                            .stream()
+                            .collect(Collectors.toMap(UserManagement::getId, Function.identity())));
+            join(scope);
+            sessions = sessionLookup.get();
+            recipients = recipientLookup.get();
+        }
+
+        // Weekly reports belong to no session; they carry their own content
+        List<EmailOutbox> reports = claimed.stream()
+                .filter(entry -> entry.getType() == EmailOutbox.EmailType.WEEKLY_REPORT)
+                .toList();
+        List<EmailOutbox> direct = reports.isEmpty() ? claimed : claimed.stream()
+                .filter(entry -> entry.getType() != EmailOutbox.EmailType.WEEKLY_REPORT)
+                .toList();
+        List<EmailOutbox> notifications = direct.stream()
+                .filter(entry -> entry.getType() == EmailOutbox.EmailType.SESSION_CREATION_NOTIFICATION)
+                .toList();
+        Map<String, List<EmailOutbox>> digests = Collections.emptyMap();
+        // The switch applies whether or not notifications are digested
+        if (!notifications.isEmpty() && !notificationSettingsService.isEmailNotificationsEnabled()) {
+            outboxService.markSuppressed(notifications.stream().map(EmailOutbox::getId).toList(),
+                    "Email notifications are disabled");
+            direct = direct.stream().filter(entry -> !notifications.contains(entry)).toList();
+        } else if (digestEnabled) {
+            digests = notifications.stream()
+                    .collect(Collectors.groupingBy(EmailOutbox::getRecipientId, LinkedHashMap::new, Collectors.toList()));
+            digests.values().removeIf(group -> group.size() < 2);
+            Set<EmailOutbox> digested = digests.values().stream()
+                    .flatMap(List::stream)
+                    .collect(Collectors.toCollection(() -> Collections.newSetFromMap(new IdentityHashMap<>())));
+            direct = direct.stream().filter(entry -> !digested.contains(entry)).toList();
+        }
+
+        Map<String, List<EmailOutbox>> bySession = direct.stream()
+                .collect(Collectors.groupingBy(EmailOutbox::getSessionId, LinkedHashMap::new, Collectors.toList()));
+
+        // Each fork records its own failure, so one failing group neither cancels nor loses the others
+        try (BlockingIo.Scope scope = blockingIo.open()) {
+            bySession.forEach((sessionId, entries) -> scope.fork(BlockingIo.Resource.SMTP, () -> {
+                try {
+                    deliver(entries, sessions.get(sessionId), recipients, outcomes);
+                } catch (RuntimeException e) {
+                    recordFailure(entries, e, outcomes);
+                }
+                return null;
+            }));
+            if (!digests.isEmpty()) {
+                Map<String, List<EmailOutbox>> digestGroups = digests;
+                scope.fork(BlockingIo.Resource.SMTP, () -> {
+                    try {
+                        deliverDigests(digestGroups, sessions, recipients, outcomes);
+                    } catch (RuntimeException e) {
+                        recordFailure(digestGroups.values().stream().flatMap(List::stream).toList(), e, outcomes);
+                    }
+                    return null;
+                });
+            }
+            if (!reports.isEmpty()) {
+                scope.fork(BlockingIo.Resource.SMTP, () -> {
+                    try {
+                        deliverReports(reports, outcomes);
+                    } catch (RuntimeException e) {
+                        recordFailure(reports, e, outcomes);
+                    }
+                    return null;
+                });
+            }
+            join(scope);
+        }
+    }
+
+    /**
+     * Fail every entry of a group that has no outcome yet; they are retried with backoff
+     */
+    private static void recordFailure(List<EmailOutbox> entries, RuntimeException e, Map<String, String> outcomes) {
+        logger.error("Outbox delivery of {} entries failed", entries.size(), e);
+        String error = "Delivery failed: " + e;
+        synchronized (outcomes) {
+            for (EmailOutbox entry : entries) {
+                if (!outcomes.containsKey(entry.getId())) {
+                    outcomes.put(entry.getId(), error);
+                }
+            }
+        }
+    }
+
+    /**
+     * Join a scope, letting failures propagate (a failed lookup or an interruption); entries
+     * without an outcome are left SENDING and are released once their lease expires, which
+     * counts as an attempt
+     */
+    private void join(BlockingIo.Scope scope) {
+        try {
+            scope.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while dispatching outbox entries", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Outbox dispatch failed", e.getCause());
+        }
+    }
+
+    private void deliver(List<EmailOutbox> entries, DemoSession session,
+                         Map<String, UserManagement> recipients, Map<String, String> outcomes) {
+        List<OutgoingEmail> emails = new ArrayList<>(entries.size());
+        Map<String, UserManagement> notificationRecipients = new LinkedHashMap<>();
+        Map<String, UserManagement> reminderRecipients = new LinkedHashMap<>();
+        for (EmailOutbox entry : entries) {
+            UserManagement recipient = recipients.get(entry.getRecipientId());
+            if (session == null) {
+                outcomes.put(entry.getId(), "Session no longer exists: " + entry.getSessionId());
+            } else if (recipient == null) {
+                outcomes.put(entry.getId(), "Recipient no longer exists: " + entry.getRecipientId());
+            } else {
+                switch (entry.getType()) {
+                    case SESSION_CREATION_CONFIRMATION ->
+                            emails.add(emailService.buildSessionCreationConfirmation(entry.getId(), session, session.getCreatedBy()));
+                    case SESSION_CREATION_NOTIFICATION -> notificationRecipients.put(entry.getId(), recipient);
+                    case SESSION_REMINDER -> reminderRecipients.put(entry.getId(), recipient);
+                }
+            }
+        }
+        if (!notificationRecipients.isEmpty()) {
+            emails.addAll(emailService.buildSessionCreationNotifications(session, session.getCreatedBy(), notificationRecipients));
+        }
+        if (!reminderRecipients.isEmpty()) {
+            emails.addAll(emailService.buildSessionReminders(session, reminderRecipients));
+        }
+
+        EmailBatchResult result = emailService.sendBatch(emails);
+        for (EmailBatchResult.RecipientResult recipientResult : result.getRecipients()) {
+            outcomes.put(recipientResult.getKey(), recipientResult.getError());
+        }
+    }
+
+    /**
+     * Send one digest per recipient covering all of the recipient's claimed notifications
+     */
+    private void deliverDigests(Map<String, List<EmailOutbox>> digests, Map<String, DemoSession> sessions,
+                                Map<String, UserManagement> recipients, Map<String, String> outcomes) {
+        List<OutgoingEmail> emails = new ArrayList<>(digests.size());
+        Map<String, List<EmailOutbox>> deliverable = new HashMap<>();
+
+        digests.forEach((recipientId, entries) -> {
+            UserManagement recipient = recipients.get(recipientId);
+            List<EmailOutbox> included = new ArrayList<>();
+            for (EmailOutbox entry : entries) {
+                if (recipient == null) {
+                    outcomes.put(entry.getId(), "Recipient no longer exists: " + recipientId);
+                } else if (!sessions.containsKey(entry.getSessionId())) {
+                    outcomes.put(entry.getId(), "Session no longer exists: " + entry.getSessionId());
+                } else {
+                    included.add(entry);
+                }
+            }
+            if (included.isEmpty()) {
+                return;
+            }
+
+            List<DemoSession> digestSessions = included.stream()
+                    .map(entry -> sessions.get(entry.getSessionId()))
+                    .distinct()
+                    .sorted(Comparator.comparing(DemoSession::getDate).thenComparing(DemoSession::getTime))
+                    .toList();
+            emails.add(emailService.buildSessionDigest(recipientId, recipient, digestSessions));
+            deliverable.put(recipientId, included);
+        });
+
+        EmailBatchResult result = emailService.sendBatch(emails);
+        for (EmailBatchResult.RecipientResult recipientResult : result.getRecipients()) {
+            for (EmailOutbox entry : deliverable.get(recipientResult.getKey())) {
+                outcomes.put(entry.getId(), recipientResult.getError());
+            }
+        }
+    }
+
+    private void deliverReports(List<EmailOutbox> entries, Map<String, String> outcomes) {
+        List<OutgoingEmail> emails = new ArrayList<>(entries.size());
+        for (EmailOutbox entry : entries) {
+            emails.add(emailService.buildWeeklyReport(entry.getId(), outboxService.weeklyReport(entry)));
+        }
+        EmailBatchResult result = emailService.sendBatch(emails);
+        for (EmailBatchResult.RecipientResult recipientResult : result.getRecipients()) {
+            outcomes.put(recipientResult.getKey(), recipientResult.getError());
+        }
+    }
+}
@@ -0,0 +1,265 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.WeeklyReport;
+import com.example.demo.entity.DemoSession;
+import com.example.demo.entity.EmailOutbox;
+import com.example.demo.entity.UserManagement;
+import com.example.demo.repository.EmailOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+@Service
+@Transactional
+public class EmailOutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxService.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+    private static final String LEASE_EXPIRED = "Delivery lease expired";
+
+    private final EmailOutboxRepository repository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.mail.outbox.max-attempts:6}")
+    private int maxAttempts;
+
+    @Value("${app.mail.outbox.initial-backoff:PT30S}")
+    private Duration initialBackoff;
+
+    @Value("${app.mail.outbox.max-backoff:PT1H}")
+    private Duration maxBackoff;
+
+    @Value("${app.mail.outbox.lease:PT10M}")
+    private Duration lease;
+
+    @Value("${app.mail.digest.enabled:false}")
+    private boolean digestEnabled;
+
+    @Value("${app.mail.digest.window:PT10M}")
+    private Duration digestWindow;
+
+    public EmailOutboxService(EmailOutboxRepository repository, ObjectMapper objectMapper) {
+        this.repository = repository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Queue the creation emails for a session. Must run inside the transaction that
+     * saves the session, so the emails exist if and only if the session does.
+     * In digest mode ({@code app.mail.digest.enabled}) notifications are held until the
+     * recipient's digest window closes; a recipient's first notification opens a window of
+     * {@code app.mail.digest.window} and later ones join it.
+     *
+     * @param session The saved demo session
+     * @param createdByUser The user who created the session
+     * @param participants Users to notify (excluding the creator)
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueSessionCreated(DemoSession session, UserManagement createdByUser, List<UserManagement> participants) {
+        List<EmailOutbox> entries = new ArrayList<>(participants.size() + 1);
+        entries.add(newEntry(EmailOutbox.EmailType.SESSION_CREATION_CONFIRMATION, session, createdByUser));
+
+        Map<String, LocalDateTime> openWindows = digestEnabled && !participants.isEmpty()
+                ? findOpenDigestWindows(participants)
+                : Collections.emptyMap();
+        LocalDateTime newWindowClose = LocalDateTime.now().plus(digestWindow);
+        for (UserManagement participant : participants) {
+            EmailOutbox entry = newEntry(EmailOutbox.EmailType.SESSION_CREATION_NOTIFICATION, session, participant);
+            if (digestEnabled) {
+                // Join the recipient's open digest window, or open a new one
+                entry.setNextAttemptAt(openWindows.getOrDefault(participant.getId(), newWindowClose));
+            }
+            entries.add(entry);
+        }
+        repository.saveAll(entries);
+    }
+
+    /**
+     * Queue reminder emails for a session
+     *
+     * @param session The session starting soon
+     * @param recipients Users to remind
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueSessionReminder(DemoSession session, Collection<UserManagement> recipients) {
+        List<EmailOutbox> entries = new ArrayList<>(recipients.size());
+        for (UserManagement recipient : recipients) {
+            entries.add(newEntry(EmailOutbox.EmailType.SESSION_REMINDER, session, recipient));
+        }
+        repository.saveAll(entries);
+    }
+
+    /**
+     * Queue weekly reports. Runs in its own transaction, so it can be called while the
+     * read-only report query is still streaming.
+     *
+     * @param reports The reports, each stored with the entry since it exists nowhere else
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void enqueueWeeklyReports(Collection<WeeklyReport> reports) {
+        List<EmailOutbox> entries = new ArrayList<>(reports.size());
+        for (WeeklyReport report : reports) {
+            EmailOutbox entry = new EmailOutbox();
+            entry.setId(UUID.randomUUID().toString());
+            entry.setType(EmailOutbox.EmailType.WEEKLY_REPORT);
+            entry.setRecipientId(report.getUserId());
+            entry.setPayload(toJson(report));
+            entries.add(entry);
+        }
+        repository.saveAll(entries);
+    }
+
+    /**
+     * The weekly report stored with an entry
+     */
+    public WeeklyReport weeklyReport(EmailOutbox entry) {
+        try {
+            return objectMapper.readValue(entry.getPayload(), WeeklyReport.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable weekly report in outbox entry " + entry.getId(), e);
+        }
+    }
+
+    /**
+     * Claim up to {@code limit} due entries for delivery. Claimed entries move to SENDING
+     * under a fresh claim token, so concurrent dispatchers never pick up the same row.
+     * Entries still SENDING after {@code app.mail.outbox.lease} are released first, using up
+     * one attempt.
+     *
+     * @param limit Maximum number of entries to claim
+     * @return The claimed entries, possibly empty
+     */
+    public List<EmailOutbox> claimDue(int limit) {
+        LocalDateTime now = LocalDateTime.now();
+
+        // A delivery that outlived its lease counts as an attempt, so an entry that never completes still dies
+        LocalDateTime cutoff = now.minus(lease);
+        int dead = repository.releaseStale(EmailOutbox.OutboxStatus.SENDING, EmailOutbox.OutboxStatus.DEAD,
+                maxAttempts - 1, Integer.MAX_VALUE, LEASE_EXPIRED, cutoff, now);
+        int released = repository.releaseStale(EmailOutbox.OutboxStatus.SENDING, EmailOutbox.OutboxStatus.PENDING,
+                0, maxAttempts - 2, LEASE_EXPIRED, cutoff, now);
+        if (released + dead > 0) {
+            logger.warn("Released {} outbox entries whose delivery lease expired, {} of them dead-lettered",
+                    released + dead, dead);
+        }
+
+        List<String> dueIds = repository.findDueIds(EmailOutbox.OutboxStatus.PENDING, now, PageRequest.of(0, limit));
+        if (dueIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        String token = UUID.randomUUID().toString();
+        repository.claim(dueIds, EmailOutbox.OutboxStatus.PENDING, EmailOutbox.OutboxStatus.SENDING, token, now);
+        return repository.findByClaimToken(token);
+    }
+
+    /**
+     * Record delivery outcomes for claimed entries. Failed entries are rescheduled with
+     * exponential backoff until {@code app.mail.outbox.max-attempts} is reached, after
+     * which they are moved to DEAD.
+     *
+     * @param outcomes Entry ID to error message, or to {@code null} when delivery succeeded
+     */
+    public void recordOutcomes(Map<String, String> outcomes) {
+        LocalDateTime now = LocalDateTime.now();
+        List<EmailOutbox> entries = repository.findAllById(outcomes.keySet());
+
+        for (EmailOutbox entry : entries) {
+            String error = outcomes.get(entry.getId());
+            entry.setClaimToken(null);
+            entry.setAttempts(entry.getAttempts() + 1);
+
+            if (error == null) {
+                entry.setStatus(EmailOutbox.OutboxStatus.SENT);
+                entry.setSentAt(now);
+                entry.setLastError(null);
+            } else if (entry.getAttempts() >= maxAttempts) {
+                entry.setStatus(EmailOutbox.OutboxStatus.DEAD);
+                entry.setLastError(truncate(error));
+                logger.error("Outbox entry {} ({} to {}) dead-lettered after {} attempts: {}",
+                        entry.getId(), entry.getType(), entry.getRecipientId(), entry.getAttempts(), error);
+            } else {
+                entry.setStatus(EmailOutbox.OutboxStatus.PENDING);
+                entry.setNextAttemptAt(now.plus(backoff(entry.getAttempts())));
+                entry.setLastError(truncate(error));
+            }
+        }
+        repository.saveAll(entries);
+    }
+
+    /**
+     * Close claimed entries without sending them, e.g. because notifications are disabled
+     *
+     * @param ids The claimed entry IDs
+     * @param reason Why the entries were not sent
+     */
+    public void markSuppressed(Collection<String> ids, String reason) {
+        List<EmailOutbox> entries = repository.findAllById(ids);
+        for (EmailOutbox entry : entries) {
+            entry.setClaimToken(null);
+            entry.setStatus(EmailOutbox.OutboxStatus.SUPPRESSED);
+            entry.setLastError(truncate(reason));
+        }
+        repository.saveAll(entries);
+    }
+
+    private Map<String, LocalDateTime> findOpenDigestWindows(List<UserManagement> participants) {
+        List<String> recipientIds = participants.stream().map(UserManagement::getId).toList();
+        Map<String, LocalDateTime> windows = new HashMap<>();
+        for (Object[] row : repository.findPendingWindows(EmailOutbox.EmailType.SESSION_CREATION_NOTIFICATION,
+                EmailOutbox.OutboxStatus.PENDING, recipientIds)) {
+            windows.put((String) row[0], (LocalDateTime) row[1]);
+        }
+        return windows;
+    }
+
+    private EmailOutbox newEntry(EmailOutbox.EmailType type, DemoSession session, UserManagement recipient) {
+        EmailOutbox entry = new EmailOutbox();
+        entry.setId(UUID.randomUUID().toString());
+        entry.setType(type);
+        entry.setSessionId(session.getId());
+        entry.setRecipientId(recipient.getId());
+        return entry;
+    }
+
+    private String toJson(WeeklyReport report) {
+        try {
+            return objectMapper.writeValueAsString(report);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialize weekly report for user " + report.getUserId(), e);
+        }
+    }
+
+    /**
+     * Exponential backoff with up to 20% jitter, so entries that failed together
+     * (e.g. during an SMTP outage) do not all retry in the same poll.
+     */
+    private Duration backoff(int attempts) {
+        long base = initialBackoff.toMillis() << Math.min(attempts - 1, 20);
+        long capped = Math.min(base, maxBackoff.toMillis());
+        long jitter = ThreadLocalRandom.current().nextLong(capped / 5 + 1);
+        return Duration.ofMillis(capped + jitter);
+    }
+
+    private String truncate(String error) {
+        return error.length() <= MAX_ERROR_LENGTH ? error : error.substring(0, MAX_ERROR_LENGTH);
+    }
+}
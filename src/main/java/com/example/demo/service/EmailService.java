@@ -1,17 +1,29 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.EmailBatchResult;
+import com.example.demo.dto.OutgoingEmail;
+import com.example.demo.dto.WeeklyReport;
 import com.example.demo.entity.DemoSession;
 import com.example.demo.entity.UserManagement;
+import com.example.demo.template.SessionFanOut;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.mail.javamail.MimeMessageHelper;
 import org.springframework.stereotype.Service;
 
-import java.time.format.DateTimeFormatter;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class EmailService {
@@ -21,31 +33,35 @@ public class EmailService {
     @Autowired
     private JavaMailSender mailSender;
     
+    @Autowired
+    private ThrottledMailSender throttledMailSender;
+    
+    @Autowired
+    private EmailTemplateService emailTemplateService;
+    
     @Value("${spring.mail.from}")
     private String fromEmail;
     
+    @Value("${app.mail.batch.chunk-size:50}")
+    private int chunkSize;
+    
+    @Value("${app.mail.fanout.render-once:true}")
+    private boolean renderOnce;
+    
     /**
      * Send notification email when a demo session is created
      * 
      * @param session The created demo session
      * @param createdByUser The user who created the session
      * @param recipients List of users to notify
+     * @return Per-chunk and per-recipient delivery results
      */
-    public void sendSessionCreationNotification(DemoSession session, UserManagement createdByUser, List<UserManagement> recipients) {
-        try {
-            for (UserManagement recipient : recipients) {
-                SimpleMailMessage message = new SimpleMailMessage();
-                message.setFrom(fromEmail);
-                message.setTo(recipient.getEmail());
-                message.setSubject("New Demo Session: " + session.getTitle());
-                message.setText(createSessionCreationEmailContent(session, createdByUser, recipient));
-                
-                mailSender.send(message);
-                logger.info("Session creation notification sent to: {}", recipient.getEmail());
-            }
-        } catch (Exception e) {
-            logger.error("Failed to send session creation notification emails", e);
+    public EmailBatchResult sendSessionCreationNotification(DemoSession session, UserManagement createdByUser, List<UserManagement> recipients) {
+        Map<String, UserManagement> recipientsByKey = new LinkedHashMap<>();
+        for (UserManagement recipient : recipients) {
+            recipientsByKey.put(recipient.getId(), recipient);
         }
+        return sendBatch(buildSessionCreationNotifications(session, createdByUser, recipientsByKey));
     }
     
     /**
@@ -53,95 +69,196 @@ public class EmailService {
      * 
      * @param session The created demo session
      * @param createdByUser The user who created the session
+     * @return The delivery result
      */
-    public void sendSessionCreationConfirmation(DemoSession session, UserManagement createdByUser) {
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(createdByUser.getEmail());
-            message.setSubject("Demo Session Created Successfully: " + session.getTitle());
-            message.setText(createSessionConfirmationEmailContent(session, createdByUser));
-            
-            mailSender.send(message);
-            logger.info("Session creation confirmation sent to creator: {}", createdByUser.getEmail());
-        } catch (Exception e) {
-            logger.error("Failed to send session creation confirmation email", e);
-        }
+    public EmailBatchResult sendSessionCreationConfirmation(DemoSession session, UserManagement createdByUser) {
+        return sendBatch(List.of(buildSessionCreationConfirmation(createdByUser.getId(), session, createdByUser)));
     }
     
     /**
-     * Create email content for session creation notification
+     * Build the session creation notification for a single recipient
+     * 
+     * @param key Identifier reported back in the batch result
+     * @param session The created demo session
+     * @param createdByUser The user who created the session
+     * @param recipient The user to notify
+     * @return The message, ready for {@link #sendBatch(List)}
      */
-    private String createSessionCreationEmailContent(DemoSession session, UserManagement createdByUser, UserManagement recipient) {
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("EEEE, MMMM dd, yyyy");
-        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
+    public OutgoingEmail buildSessionCreationNotification(String key, DemoSession session, UserManagement createdByUser, UserManagement recipient) {
+        return new OutgoingEmail(key, recipient.getEmail(),
+                "New Demo Session: " + session.getTitle(),
+                emailTemplateService.createSessionCreationTextEmail(session, createdByUser, recipient),
+                null);
+    }
+    
+    /**
+     * Build the session creation notifications for every recipient of a session. In
+     * render-once mode ({@code app.mail.fanout.render-once}, the default) the session part
+     * of the body is rendered a single time and each message only adds the recipient's
+     * fields, producing both plain-text and HTML bodies. Otherwise every message is
+     * rendered from scratch as plain text.
+     * 
+     * @param session The created demo session
+     * @param createdByUser The user who created the session
+     * @param recipientsByKey Users to notify, keyed by the identifier reported back in the batch result
+     * @return The messages, in recipient order, ready for {@link #sendBatch(List)}
+     */
+    public List<OutgoingEmail> buildSessionCreationNotifications(DemoSession session, UserManagement createdByUser, Map<String, UserManagement> recipientsByKey) {
+        List<OutgoingEmail> emails = new ArrayList<>(recipientsByKey.size());
+        if (!renderOnce) {
+            recipientsByKey.forEach((key, recipient) ->
+                    emails.add(buildSessionCreationNotification(key, session, createdByUser, recipient)));
+            return emails;
+        }
         
-        return String.format(
-            "Hello %s,\n\n" +
-            "A new demo session has been created and you are invited to attend!\n\n" +
-            "Session Details:\n" +
-            "• Title: %s\n" +
-            "• Technology: %s\n" +
-            "• Date: %s\n" +
-            "• Time: %s\n" +
-            "• Location: %s\n" +
-            "• Difficulty: %s\n" +
-            "• Duration: %d minutes\n" +
-            "• Created by: %s\n\n" +
-            "Description:\n%s\n\n" +
-            "Please mark your calendar and prepare for this session.\n\n" +
-            "Best regards,\n" +
-            "Demo Session Management System",
-            
-            recipient.getName(),
-            session.getTitle(),
-            session.getTechnology(),
-            session.getDate().format(dateFormatter),
-            session.getTime().format(timeFormatter),
-            session.getLocation(),
-            session.getDifficulty(),
-            session.getDuration(),
-            createdByUser.getName(),
-            session.getDescription()
-        );
+        String subject = "New Demo Session: " + session.getTitle();
+        SessionFanOut fanOut = emailTemplateService.prepareSessionCreationFanOut(session, createdByUser);
+        recipientsByKey.forEach((key, recipient) ->
+                emails.add(new OutgoingEmail(key, recipient.getEmail(), subject, fanOut.text(recipient), fanOut.html(recipient))));
+        return emails;
+    }
+    
+    /**
+     * Build the reminders for every recipient of a session, rendering the session part once
+     * 
+     * @param session The session starting soon
+     * @param recipientsByKey Users to remind, keyed by the identifier reported back in the batch result
+     * @return The messages, in recipient order, ready for {@link #sendBatch(List)}
+     */
+    public List<OutgoingEmail> buildSessionReminders(DemoSession session, Map<String, UserManagement> recipientsByKey) {
+        String subject = "Reminder: " + session.getTitle() + " starts soon";
+        SessionFanOut fanOut = emailTemplateService.prepareSessionReminderFanOut(session);
+        List<OutgoingEmail> emails = new ArrayList<>(recipientsByKey.size());
+        recipientsByKey.forEach((key, recipient) ->
+                emails.add(new OutgoingEmail(key, recipient.getEmail(), subject, fanOut.text(recipient), fanOut.html(recipient))));
+        return emails;
+    }
+    
+    /**
+     * Build one digest message covering several session invitations for the same recipient
+     * 
+     * @param key Identifier reported back in the batch result
+     * @param recipient The user to notify
+     * @param sessions The sessions the recipient was invited to, in the order to list them
+     * @return The message, ready for {@link #sendBatch(List)}
+     */
+    public OutgoingEmail buildSessionDigest(String key, UserManagement recipient, List<DemoSession> sessions) {
+        return new OutgoingEmail(key, recipient.getEmail(),
+                "You have " + sessions.size() + " new demo session invitations",
+                emailTemplateService.createSessionDigestTextEmail(recipient, sessions),
+                emailTemplateService.createSessionDigestHtmlEmail(recipient, sessions));
+    }
+    
+    /**
+     * Build a user's weekly report
+     * 
+     * @param key Identifier reported back in the batch result
+     * @param report The user's aggregated week
+     * @return The message, ready for {@link #sendBatch(List)}
+     */
+    public OutgoingEmail buildWeeklyReport(String key, WeeklyReport report) {
+        return new OutgoingEmail(key, report.getUserEmail(),
+                "Your weekly demo session report",
+                emailTemplateService.createWeeklyReportTextEmail(report),
+                emailTemplateService.createWeeklyReportHtmlEmail(report));
     }
     
     /**
-     * Create email content for session creation confirmation
+     * Build the session creation confirmation for the creator
+     * 
+     * @param key Identifier reported back in the batch result
+     * @param session The created demo session
+     * @param createdByUser The user who created the session
+     * @return The message, ready for {@link #sendBatch(List)}
+     */
+    public OutgoingEmail buildSessionCreationConfirmation(String key, DemoSession session, UserManagement createdByUser) {
+        return new OutgoingEmail(key, createdByUser.getEmail(),
+                "Demo Session Created Successfully: " + session.getTitle(),
+                emailTemplateService.createSessionConfirmationTextEmail(session, createdByUser),
+                null);
+    }
+    
+    /**
+     * Send a batch of emails in chunks of {@code app.mail.batch.chunk-size}. Each chunk is
+     * handed to the rate-limited mail sender in a single call, which delivers every message
+     * of the chunk over one SMTP connection (one connect, STARTTLS and AUTH per chunk instead of per message),
+     * or over one connection per {@code app.mail.rate-limit.burst} messages if the burst is smaller.
+     * A failure only affects the recipient or chunk it belongs to; delivery of the remaining
+     * messages continues and every outcome is reported in the result.
+     * 
+     * @param emails The messages to send
+     * @return Per-chunk and per-recipient delivery results
      */
-    private String createSessionConfirmationEmailContent(DemoSession session, UserManagement createdByUser) {
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("EEEE, MMMM dd, yyyy");
-        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
+    public EmailBatchResult sendBatch(List<OutgoingEmail> emails) {
+        EmailBatchResult result = new EmailBatchResult();
         
-        return String.format(
-            "Hello %s,\n\n" +
-            "Your demo session has been created successfully!\n\n" +
-            "Session Details:\n" +
-            "• Title: %s\n" +
-            "• Technology: %s\n" +
-            "• Date: %s\n" +
-            "• Time: %s\n" +
-            "• Location: %s\n" +
-            "• Difficulty: %s\n" +
-            "• Duration: %d minutes\n" +
-            "• Max Attendees: %d\n" +
-            "• Session ID: %s\n\n" +
-            "Description:\n%s\n\n" +
-            "The session has been scheduled and notifications have been sent to all participants.\n\n" +
-            "Best regards,\n" +
-            "Demo Session Management System",
+        for (int from = 0, index = 0; from < emails.size(); from += chunkSize, index++) {
+            List<OutgoingEmail> chunk = emails.subList(from, Math.min(from + chunkSize, emails.size()));
+            long started = System.nanoTime();
             
-            createdByUser.getName(),
-            session.getTitle(),
-            session.getTechnology(),
-            session.getDate().format(dateFormatter),
-            session.getTime().format(timeFormatter),
-            session.getLocation(),
-            session.getDifficulty(),
-            session.getDuration(),
-            session.getMaxAttendees(),
-            session.getId(),
-            session.getDescription()
-        );
+            Map<MimeMessage, OutgoingEmail> prepared = new LinkedHashMap<>();
+            Map<OutgoingEmail, String> errors = new IdentityHashMap<>();
+            for (OutgoingEmail email : chunk) {
+                try {
+                    prepared.put(toMimeMessage(email), email);
+                } catch (MessagingException e) {
+                    errors.put(email, "Invalid message: " + e.getMessage());
+                }
+            }
+            
+            if (!prepared.isEmpty()) {
+                try {
+                    throttledMailSender.send(prepared.keySet().toArray(new MimeMessage[0]));
+                } catch (MailSendException e) {
+                    // Connection failures report every message of the chunk, send failures only the affected ones
+                    e.getFailedMessages().forEach((message, cause) -> {
+                        OutgoingEmail email = prepared.get(message);
+                        if (email != null) {
+                            errors.put(email, describe(cause));
+                        }
+                    });
+                    if (e.getFailedMessages().isEmpty()) {
+                        prepared.values().forEach(email -> errors.put(email, describe(e)));
+                    }
+                } catch (MailException e) {
+                    prepared.values().forEach(email -> errors.put(email, describe(e)));
+                }
+            }
+            
+            for (OutgoingEmail email : chunk) {
+                String error = errors.get(email);
+                result.getRecipients().add(new EmailBatchResult.RecipientResult(email.getKey(), email.getTo(), error == null, error));
+            }
+            long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+            result.getChunks().add(new EmailBatchResult.ChunkResult(index, chunk.size(),
+                    chunk.size() - errors.size(), errors.size(), elapsedMillis));
+            
+            if (errors.isEmpty()) {
+                logger.info("Email chunk {} sent: {} messages in {} ms", index, chunk.size(), elapsedMillis);
+            } else {
+                logger.warn("Email chunk {} sent with failures: {} of {} messages failed in {} ms",
+                        index, errors.size(), chunk.size(), elapsedMillis);
+            }
+        }
+        
+        return result;
+    }
+    
+    private MimeMessage toMimeMessage(OutgoingEmail email) throws MessagingException {
+        MimeMessage message = mailSender.createMimeMessage();
+        MimeMessageHelper helper = new MimeMessageHelper(message, email.getHtml() != null, StandardCharsets.UTF_8.name());
+        helper.setFrom(fromEmail);
+        helper.setTo(email.getTo());
+        helper.setSubject(email.getSubject());
+        if (email.getHtml() != null) {
+            helper.setText(email.getText(), email.getHtml());
+        } else {
+            helper.setText(email.getText());
+        }
+        return message;
+    }
+    
+    private String describe(Exception e) {
+        return e.getMessage() != null ? e.getMessage() : e.getClass().getName();
     }
-} 
\ No newline at end of file
+}
@@ -1,22 +1,71 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.WeeklyReport;
 import com.example.demo.entity.DemoSession;
 import com.example.demo.entity.UserManagement;
+import com.example.demo.template.CompiledTemplate;
+import com.example.demo.template.SessionEmailContext;
+import com.example.demo.template.SessionFanOut;
+import com.example.demo.template.WeeklyReportFields;
 import org.springframework.stereotype.Service;
 
-import java.time.format.DateTimeFormatter;
+import java.util.List;
 
+/**
+ * Renders session and weekly report emails. Templates are compiled once when the service is created;
+ * rendering only appends precomputed text and field values into a reused builder.
+ */
 @Service
 public class EmailTemplateService {
-    
-    /**
-     * Create HTML email content for session creation notification
-     */
-    public String createSessionCreationHtmlEmail(DemoSession session, UserManagement createdByUser, UserManagement recipient) {
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("EEEE, MMMM dd, yyyy");
-        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
-        
-        return String.format("""
+
+    private static final String SESSION_CREATION_TEXT = """
+            Hello {{recipientName}},
+
+            A new demo session has been created and you are invited to attend!
+
+            Session Details:
+            • Title: {{title}}
+            • Technology: {{technology}}
+            • Date: {{date}}
+            • Time: {{time}}
+            • Location: {{location}}
+            • Difficulty: {{difficulty}}
+            • Duration: {{duration}} minutes
+            • Created by: {{creatorName}}
+
+            Description:
+            {{description}}
+
+            Please mark your calendar and prepare for this session.
+
+            Best regards,
+            Demo Session Management System""";
+
+    private static final String SESSION_CONFIRMATION_TEXT = """
+            Hello {{recipientName}},
+
+            Your demo session has been created successfully!
+
+            Session Details:
+            • Title: {{title}}
+            • Technology: {{technology}}
+            • Date: {{date}}
+            • Time: {{time}}
+            • Location: {{location}}
+            • Difficulty: {{difficulty}}
+            • Duration: {{duration}} minutes
+            • Max Attendees: {{maxAttendees}}
+            • Session ID: {{sessionId}}
+
+            Description:
+            {{description}}
+
+            The session has been scheduled and notifications have been sent to all participants.
+
+            Best regards,
+            Demo Session Management System""";
+
+    private static final String SESSION_CREATION_HTML = """
             <!DOCTYPE html>
             <html>
             <head>
@@ -38,25 +87,25 @@ public class EmailTemplateService {
                         <h1>🎯 New Demo Session Invitation</h1>
                     </div>
                     <div class="content">
-                        <p>Hello <span class="highlight">%s</span>,</p>
+                        <p>Hello <span class="highlight">{{recipientName}}</span>,</p>
                         
                         <p>A new demo session has been created and you are invited to attend!</p>
                         
                         <div class="session-details">
                             <h3>📋 Session Details</h3>
-                            <p><strong>Title:</strong> %s</p>
-                            <p><strong>Technology:</strong> %s</p>
-                            <p><strong>Date:</strong> %s</p>
-                            <p><strong>Time:</strong> %s</p>
-                            <p><strong>Location:</strong> %s</p>
-                            <p><strong>Difficulty:</strong> %s</p>
-                            <p><strong>Duration:</strong> %d minutes</p>
-                            <p><strong>Created by:</strong> %s</p>
+                            <p><strong>Title:</strong> {{title}}</p>
+                            <p><strong>Technology:</strong> {{technology}}</p>
+                            <p><strong>Date:</strong> {{date}}</p>
+                            <p><strong>Time:</strong> {{time}}</p>
+                            <p><strong>Location:</strong> {{location}}</p>
+                            <p><strong>Difficulty:</strong> {{difficulty}}</p>
+                            <p><strong>Duration:</strong> {{duration}} minutes</p>
+                            <p><strong>Created by:</strong> {{creatorName}}</p>
                         </div>
                         
                         <div class="session-details">
                             <h3>📝 Description</h3>
-                            <p>%s</p>
+                            <p>{{description}}</p>
                         </div>
                         
                         <p>Please mark your calendar and prepare for this session.</p>
@@ -70,29 +119,9 @@ public class EmailTemplateService {
                 </div>
             </body>
             </html>
-            """,
-            
-            recipient.getName(),
-            session.getTitle(),
-            session.getTechnology(),
-            session.getDate().format(dateFormatter),
-            session.getTime().format(timeFormatter),
-            session.getLocation(),
-            session.getDifficulty(),
-            session.getDuration(),
-            createdByUser.getName(),
-            session.getDescription()
-        );
-    }
-    
-    /**
-     * Create HTML email content for session creation confirmation
-     */
-    public String createSessionConfirmationHtmlEmail(DemoSession session, UserManagement createdByUser) {
-        DateTimeFormatter dateFormatter = DateTimeFormatter.ofPattern("EEEE, MMMM dd, yyyy");
-        DateTimeFormatter timeFormatter = DateTimeFormatter.ofPattern("HH:mm");
-        
-        return String.format("""
+                        """;
+
+    private static final String SESSION_CONFIRMATION_HTML = """
             <!DOCTYPE html>
             <html>
             <head>
@@ -115,26 +144,26 @@ public class EmailTemplateService {
                         <h1>✅ Demo Session Created Successfully</h1>
                     </div>
                     <div class="content">
-                        <p>Hello <span class="highlight">%s</span>,</p>
+                        <p>Hello <span class="highlight">{{recipientName}}</span>,</p>
                         
                         <p class="success">Your demo session has been created successfully!</p>
                         
                         <div class="session-details">
                             <h3>📋 Session Details</h3>
-                            <p><strong>Title:</strong> %s</p>
-                            <p><strong>Technology:</strong> %s</p>
-                            <p><strong>Date:</strong> %s</p>
-                            <p><strong>Time:</strong> %s</p>
-                            <p><strong>Location:</strong> %s</p>
-                            <p><strong>Difficulty:</strong> %s</p>
-                            <p><strong>Duration:</strong> %d minutes</p>
-                            <p><strong>Max Attendees:</strong> %d</p>
-                            <p><strong>Session ID:</strong> <code>%s</code></p>
+                            <p><strong>Title:</strong> {{title}}</p>
+                            <p><strong>Technology:</strong> {{technology}}</p>
+                            <p><strong>Date:</strong> {{date}}</p>
+                            <p><strong>Time:</strong> {{time}}</p>
+                            <p><strong>Location:</strong> {{location}}</p>
+                            <p><strong>Difficulty:</strong> {{difficulty}}</p>
+                            <p><strong>Duration:</strong> {{duration}} minutes</p>
+                            <p><strong>Max Attendees:</strong> {{maxAttendees}}</p>
+                            <p><strong>Session ID:</strong> <code>{{sessionId}}</code></p>
                         </div>
                         
                         <div class="session-details">
                             <h3>📝 Description</h3>
-                            <p>%s</p>
+                            <p>{{description}}</p>
                         </div>
                         
                         <p>The session has been scheduled and notifications have been sent to all participants.</p>
@@ -148,19 +177,315 @@ public class EmailTemplateService {
                 </div>
             </body>
             </html>
-            """,
-            
-            createdByUser.getName(),
-            session.getTitle(),
-            session.getTechnology(),
-            session.getDate().format(dateFormatter),
-            session.getTime().format(timeFormatter),
-            session.getLocation(),
-            session.getDifficulty(),
-            session.getDuration(),
-            session.getMaxAttendees(),
-            session.getId(),
-            session.getDescription()
-        );
+                        """;
+
+    private static final String SESSION_REMINDER_TEXT = """
+            Hello {{recipientName}},
+
+            This is a reminder that the following demo session starts soon.
+
+            Session Details:
+            • Title: {{title}}
+            • Technology: {{technology}}
+            • Date: {{date}}
+            • Time: {{time}}
+            • Location: {{location}}
+            • Duration: {{duration}} minutes
+            • Created by: {{creatorName}}
+
+            See you there!
+
+            Best regards,
+            Demo Session Management System""";
+
+    private static final String SESSION_REMINDER_HTML = """
+            <!DOCTYPE html>
+            <html>
+            <head>
+                <meta charset="UTF-8">
+                <title>Demo Session Reminder</title>
+                <style>
+                    body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
+                    .container { max-width: 600px; margin: 0 auto; padding: 20px; }
+                    .header { background-color: #fd7e14; color: white; padding: 20px; text-align: center; border-radius: 5px 5px 0 0; }
+                    .content { background-color: #f8f9fa; padding: 20px; border-radius: 0 0 5px 5px; }
+                    .session-details { background-color: white; padding: 15px; margin: 15px 0; border-radius: 5px; border-left: 4px solid #fd7e14; }
+                    .footer { text-align: center; margin-top: 20px; color: #666; font-size: 12px; }
+                    .highlight { color: #fd7e14; font-weight: bold; }
+                </style>
+            </head>
+            <body>
+                <div class="container">
+                    <div class="header">
+                        <h1>⏰ Demo Session Reminder</h1>
+                    </div>
+                    <div class="content">
+                        <p>Hello <span class="highlight">{{recipientName}}</span>,</p>
+
+                        <p>This is a reminder that the following demo session starts soon.</p>
+
+                        <div class="session-details">
+                            <h3>📋 Session Details</h3>
+                            <p><strong>Title:</strong> {{title}}</p>
+                            <p><strong>Technology:</strong> {{technology}}</p>
+                            <p><strong>Date:</strong> {{date}}</p>
+                            <p><strong>Time:</strong> {{time}}</p>
+                            <p><strong>Location:</strong> {{location}}</p>
+                            <p><strong>Duration:</strong> {{duration}} minutes</p>
+                            <p><strong>Created by:</strong> {{creatorName}}</p>
+                        </div>
+
+                        <p>See you there!</p>
+
+                        <p>Best regards,<br>
+                        <strong>Demo Session Management System</strong></p>
+                    </div>
+                    <div class="footer">
+                        <p>This is an automated notification. Please do not reply to this email.</p>
+                    </div>
+                </div>
+            </body>
+            </html>
+            """;
+
+    private static final String SESSION_DIGEST_TEXT_HEADER = """
+            Hello {{recipientName}},
+
+            You have been invited to the following new demo sessions:
+
+            """;
+
+    private static final String SESSION_DIGEST_TEXT_ITEM = """
+            • {{title}} ({{technology}})
+              {{date}} at {{time}}, {{location}}
+              Difficulty: {{difficulty}}, Duration: {{duration}} minutes, Created by: {{creatorName}}
+
+            """;
+
+    private static final String SESSION_DIGEST_TEXT_FOOTER = """
+            Please mark your calendar and prepare for these sessions.
+
+            Best regards,
+            Demo Session Management System""";
+
+    private static final String SESSION_DIGEST_HTML_HEADER = """
+            <!DOCTYPE html>
+            <html>
+            <head>
+                <meta charset="UTF-8">
+                <title>New Demo Session Invitations</title>
+                <style>
+                    body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
+                    .container { max-width: 600px; margin: 0 auto; padding: 20px; }
+                    .header { background-color: #007bff; color: white; padding: 20px; text-align: center; border-radius: 5px 5px 0 0; }
+                    .content { background-color: #f8f9fa; padding: 20px; border-radius: 0 0 5px 5px; }
+                    .session-details { background-color: white; padding: 15px; margin: 15px 0; border-radius: 5px; border-left: 4px solid #007bff; }
+                    .footer { text-align: center; margin-top: 20px; color: #666; font-size: 12px; }
+                    .highlight { color: #007bff; font-weight: bold; }
+                </style>
+            </head>
+            <body>
+                <div class="container">
+                    <div class="header">
+                        <h1>🎯 New Demo Session Invitations</h1>
+                    </div>
+                    <div class="content">
+                        <p>Hello <span class="highlight">{{recipientName}}</span>,</p>
+
+                        <p>You have been invited to the following new demo sessions:</p>
+            """;
+
+    private static final String SESSION_DIGEST_HTML_ITEM = """
+                        <div class="session-details">
+                            <h3>📋 {{title}}</h3>
+                            <p><strong>Technology:</strong> {{technology}}</p>
+                            <p><strong>Date:</strong> {{date}} at {{time}}</p>
+                            <p><strong>Location:</strong> {{location}}</p>
+                            <p><strong>Difficulty:</strong> {{difficulty}}</p>
+                            <p><strong>Duration:</strong> {{duration}} minutes</p>
+                            <p><strong>Created by:</strong> {{creatorName}}</p>
+                        </div>
+            """;
+
+    private static final String SESSION_DIGEST_HTML_FOOTER = """
+                        <p>Please mark your calendar and prepare for these sessions.</p>
+
+                        <p>Best regards,<br>
+                        <strong>Demo Session Management System</strong></p>
+                    </div>
+                    <div class="footer">
+                        <p>This is an automated notification. Please do not reply to this email.</p>
+                    </div>
+                </div>
+            </body>
+            </html>
+            """;
+
+    private static final String WEEKLY_REPORT_TEXT = """
+            Hello {{recipientName}},
+
+            Here is your demo session summary for {{weekStart}} to {{weekEnd}}.
+
+            • Sessions attended: {{sessionsAttended}}
+            • Hours: {{hours}}
+            • Average rating: {{averageRating}} ({{ratedSessions}} rated sessions)
+
+            Best regards,
+            Demo Session Management System""";
+
+    private static final String WEEKLY_REPORT_HTML = """
+            <!DOCTYPE html>
+            <html>
+            <head>
+                <meta charset="UTF-8">
+                <title>Your Weekly Demo Session Report</title>
+                <style>
+                    body { font-family: Arial, sans-serif; line-height: 1.6; color: #333; }
+                    .container { max-width: 600px; margin: 0 auto; padding: 20px; }
+                    .header { background-color: #6f42c1; color: white; padding: 20px; text-align: center; border-radius: 5px 5px 0 0; }
+                    .content { background-color: #f8f9fa; padding: 20px; border-radius: 0 0 5px 5px; }
+                    .session-details { background-color: white; padding: 15px; margin: 15px 0; border-radius: 5px; border-left: 4px solid #6f42c1; }
+                    .footer { text-align: center; margin-top: 20px; color: #666; font-size: 12px; }
+                    .highlight { color: #6f42c1; font-weight: bold; }
+                </style>
+            </head>
+            <body>
+                <div class="container">
+                    <div class="header">
+                        <h1>📊 Your Weekly Report</h1>
+                    </div>
+                    <div class="content">
+                        <p>Hello <span class="highlight">{{recipientName}}</span>,</p>
+
+                        <p>Here is your demo session summary for {{weekStart}} to {{weekEnd}}.</p>
+
+                        <div class="session-details">
+                            <p><strong>Sessions attended:</strong> {{sessionsAttended}}</p>
+                            <p><strong>Hours:</strong> {{hours}}</p>
+                            <p><strong>Average rating:</strong> {{averageRating}} ({{ratedSessions}} rated sessions)</p>
+                        </div>
+
+                        <p>Best regards,<br>
+                        <strong>Demo Session Management System</strong></p>
+                    </div>
+                    <div class="footer">
+                        <p>This is an automated notification. Please do not reply to this email.</p>
+                    </div>
+                </div>
+            </body>
+            </html>
+            """;
+
+    private final CompiledTemplate<SessionEmailContext> sessionCreationText = SessionEmailContext.compile(SESSION_CREATION_TEXT);
+    private final CompiledTemplate<SessionEmailContext> sessionConfirmationText = SessionEmailContext.compile(SESSION_CONFIRMATION_TEXT);
+    private final CompiledTemplate<SessionEmailContext> sessionCreationHtml = SessionEmailContext.compileHtml(SESSION_CREATION_HTML);
+    private final CompiledTemplate<SessionEmailContext> sessionConfirmationHtml = SessionEmailContext.compileHtml(SESSION_CONFIRMATION_HTML);
+    private final CompiledTemplate<SessionEmailContext> sessionReminderText = SessionEmailContext.compile(SESSION_REMINDER_TEXT);
+    private final CompiledTemplate<SessionEmailContext> sessionReminderHtml = SessionEmailContext.compileHtml(SESSION_REMINDER_HTML);
+    private final CompiledTemplate<SessionEmailContext> sessionDigestTextHeader = SessionEmailContext.compile(SESSION_DIGEST_TEXT_HEADER);
+    private final CompiledTemplate<SessionEmailContext> sessionDigestTextItem = SessionEmailContext.compile(SESSION_DIGEST_TEXT_ITEM);
+    private final CompiledTemplate<SessionEmailContext> sessionDigestTextFooter = SessionEmailContext.compile(SESSION_DIGEST_TEXT_FOOTER);
+    private final CompiledTemplate<SessionEmailContext> sessionDigestHtmlHeader = SessionEmailContext.compileHtml(SESSION_DIGEST_HTML_HEADER);
+    private final CompiledTemplate<SessionEmailContext> sessionDigestHtmlItem = SessionEmailContext.compileHtml(SESSION_DIGEST_HTML_ITEM);
+    private final CompiledTemplate<SessionEmailContext> sessionDigestHtmlFooter = SessionEmailContext.compileHtml(SESSION_DIGEST_HTML_FOOTER);
+    private final CompiledTemplate<WeeklyReport> weeklyReportText = WeeklyReportFields.compile(WEEKLY_REPORT_TEXT);
+    private final CompiledTemplate<WeeklyReport> weeklyReportHtml = WeeklyReportFields.compileHtml(WEEKLY_REPORT_HTML);
+
+    /**
+     * Create plain-text email content for session creation notification
+     */
+    public String createSessionCreationTextEmail(DemoSession session, UserManagement createdByUser, UserManagement recipient) {
+        return sessionCreationText.render(new SessionEmailContext(session, createdByUser, recipient));
+    }
+
+    /**
+     * Create plain-text email content for session creation confirmation
+     */
+    public String createSessionConfirmationTextEmail(DemoSession session, UserManagement createdByUser) {
+        return sessionConfirmationText.render(new SessionEmailContext(session, createdByUser, createdByUser));
+    }
+
+    /**
+     * Prepare the session creation notification for a fan-out. Everything that depends
+     * on the session is rendered once here; each recipient's text and HTML bodies then
+     * only splice in the recipient-specific fields.
+     *
+     * @param session The created demo session
+     * @param createdByUser The user who created the session
+     * @return The prepared text and HTML bodies
+     */
+    public SessionFanOut prepareSessionCreationFanOut(DemoSession session, UserManagement createdByUser) {
+        SessionEmailContext shared = new SessionEmailContext(session, createdByUser, null);
+        return new SessionFanOut(
+                sessionCreationText.prepare(shared, SessionEmailContext.RECIPIENT_FIELDS),
+                sessionCreationHtml.prepare(shared, SessionEmailContext.HTML_RECIPIENT_FIELDS));
+    }
+
+    /**
+     * Prepare the reminder for every recipient of a session, see {@link #prepareSessionCreationFanOut}
+     *
+     * @param session The session starting soon
+     * @return The prepared text and HTML bodies
+     */
+    public SessionFanOut prepareSessionReminderFanOut(DemoSession session) {
+        SessionEmailContext shared = new SessionEmailContext(session, session.getCreatedBy(), null);
+        return new SessionFanOut(
+                sessionReminderText.prepare(shared, SessionEmailContext.RECIPIENT_FIELDS),
+                sessionReminderHtml.prepare(shared, SessionEmailContext.HTML_RECIPIENT_FIELDS));
+    }
+
+    /**
+     * Create HTML email content for session creation notification
+     */
+    public String createSessionCreationHtmlEmail(DemoSession session, UserManagement createdByUser, UserManagement recipient) {
+        return sessionCreationHtml.render(new SessionEmailContext(session, createdByUser, recipient));
+    }
+
+    /**
+     * Create HTML email content for session creation confirmation
+     */
+    public String createSessionConfirmationHtmlEmail(DemoSession session, UserManagement createdByUser) {
+        return sessionConfirmationHtml.render(new SessionEmailContext(session, createdByUser, createdByUser));
+    }
+
+    /**
+     * Create plain-text content for a digest of several session invitations
+     */
+    public String createSessionDigestTextEmail(UserManagement recipient, List<DemoSession> sessions) {
+        return renderDigest(recipient, sessions, sessionDigestTextHeader, sessionDigestTextItem, sessionDigestTextFooter);
+    }
+
+    /**
+     * Create HTML content for a digest of several session invitations
+     */
+    public String createSessionDigestHtmlEmail(UserManagement recipient, List<DemoSession> sessions) {
+        return renderDigest(recipient, sessions, sessionDigestHtmlHeader, sessionDigestHtmlItem, sessionDigestHtmlFooter);
+    }
+
+    /**
+     * Create plain-text content for a user's weekly report
+     */
+    public String createWeeklyReportTextEmail(WeeklyReport report) {
+        return weeklyReportText.render(report);
+    }
+
+    /**
+     * Create HTML content for a user's weekly report
+     */
+    public String createWeeklyReportHtmlEmail(WeeklyReport report) {
+        return weeklyReportHtml.render(report);
+    }
+
+    private String renderDigest(UserManagement recipient, List<DemoSession> sessions,
+                                CompiledTemplate<SessionEmailContext> header,
+                                CompiledTemplate<SessionEmailContext> item,
+                                CompiledTemplate<SessionEmailContext> footer) {
+        StringBuilder out = new StringBuilder(2048 + sessions.size() * 512);
+        header.renderTo(new SessionEmailContext(null, null, recipient), out);
+        for (DemoSession session : sessions) {
+            item.renderTo(new SessionEmailContext(session, session.getCreatedBy(), recipient), out);
+        }
+        footer.renderTo(new SessionEmailContext(null, null, recipient), out);
+        return out.toString();
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,269 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.DemoSessionDTO;
+import com.example.demo.entity.DemoSession;
+import com.example.demo.entity.UserManagement;
+import com.example.demo.repository.DemoSessionRepository;
+import com.example.demo.repository.UserManagementRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Streams whole tables as NDJSON or CSV. Rows are read through a forward-only cursor and
+ * written to the output as they arrive, so memory use does not depend on the table size.
+ * Sessions are written in the format {@link SessionImportService} reads back.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ExportService {
+
+    static final int BLOCK_SIZE = 1000;  // Sessions per user lookup, users per persistence context clear
+
+    static final List<String> SESSION_COLUMNS = List.of("id", "title", "technology", "date", "time", "description",
+            "createdBy", "attendees", "maxAttendees", "status", "location", "difficulty", "prerequisites", "duration",
+            "type", "feedback", "sprintName", "storyPoints", "numberOfTasks", "numberOfBugs", "currentStatus",
+            "userIds", "rating", "role");
+
+    static final List<String> USER_COLUMNS = List.of("id", "name", "email", "role", "status", "joinDate", "lastLogin",
+            "department", "sessionsAttended", "sessionsCreated", "totalHours", "skillLevel", "phone", "avatar",
+            "createdAt", "updatedAt");
+
+    private static final TypeReference<Map<String, Object>> FIELDS = new TypeReference<>() {
+    };
+
+    public enum Format {
+        NDJSON(MediaType.parseMediaType("application/x-ndjson"), "ndjson"),
+        CSV(MediaType.parseMediaType("text/csv"), "csv");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public MediaType getMediaType() {
+            return mediaType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    private final DemoSessionRepository sessionRepository;
+    private final UserManagementRepository userRepository;
+    private final ObjectMapper objectMapper;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    public ExportService(DemoSessionRepository sessionRepository, UserManagementRepository userRepository,
+                         ObjectMapper objectMapper) {
+        this.sessionRepository = sessionRepository;
+        this.userRepository = userRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Write every session, with its user IDs, to the output; the output is flushed but not closed
+     *
+     * @return Number of sessions written
+     */
+    public long exportSessions(Format format, OutputStream output) {
+        long count = 0;
+        try (RecordWriter writer = writer(format, SESSION_COLUMNS, output);
+             Stream<Object[]> rows = sessionRepository.streamExportRows()) {
+            List<DemoSessionDTO> block = new ArrayList<>(BLOCK_SIZE);
+            for (Object[] row : (Iterable<Object[]>) rows::iterator) {
+                block.add(toDto(row));
+                if (block.size() == BLOCK_SIZE) {
+                    writeSessions(block, writer);
+                    count += block.size();
+                    block.clear();
+                }
+            }
+            writeSessions(block, writer);
+            count += block.size();
+        }
+        return count;
+    }
+
+    /**
+     * Write every user to the output; the output is flushed but not closed
+     *
+     * @return Number of users written
+     */
+    public long exportUsers(Format format, OutputStream output) {
+        long count = 0;
+        try (RecordWriter writer = writer(format, USER_COLUMNS, output);
+             Stream<UserManagement> users = userRepository.streamAllByOrderById()) {
+            for (UserManagement user : (Iterable<UserManagement>) users::iterator) {
+                writer.write(user);
+                if (++count % BLOCK_SIZE == 0) {
+                    entityManager.clear();  // Written users need not stay managed
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Look up the user IDs of a block of sessions in one query and write the block
+     */
+    private void writeSessions(List<DemoSessionDTO> block, RecordWriter writer) {
+        if (block.isEmpty()) {
+            return;
+        }
+        Map<String, DemoSessionDTO> byId = new HashMap<>(block.size() * 2);
+        block.forEach(dto -> byId.put(dto.getId(), dto));
+        for (Object[] pair : sessionRepository.findUserIdPairs(byId.keySet())) {
+            byId.get((String) pair[0]).getUserIds().add((String) pair[1]);
+        }
+        block.forEach(writer::write);
+    }
+
+    private static DemoSessionDTO toDto(Object[] row) {
+        DemoSessionDTO dto = new DemoSessionDTO();
+        dto.setId((String) row[0]);
+        dto.setTitle((String) row[1]);
+        dto.setTechnology((String) row[2]);
+        dto.setDate((LocalDate) row[3]);
+        dto.setTime((LocalTime) row[4]);
+        dto.setDescription((String) row[5]);
+        dto.setCreatedBy((String) row[6]);
+        dto.setAttendees((Integer) row[7]);
+        dto.setMaxAttendees((Integer) row[8]);
+        dto.setStatus((DemoSession.SessionStatus) row[9]);
+        dto.setLocation((String) row[10]);
+        dto.setDifficulty((DemoSession.DifficultyLevel) row[11]);
+        dto.setPrerequisites((String) row[12]);
+        dto.setDuration((Integer) row[13]);
+        dto.setType((DemoSession.SessionType) row[14]);
+        dto.setFeedback((String) row[15]);
+        dto.setSprintName((String) row[16]);
+        dto.setStoryPoints((Integer) row[17]);
+        dto.setNumberOfTasks((Integer) row[18]);
+        dto.setNumberOfBugs((Integer) row[19]);
+        dto.setCurrentStatus((DemoSession.CurrentStatus) row[20]);
+        dto.setRating((Integer) row[21]);
+        dto.setRole(row[22] == null ? null : DemoSessionDTO.ParticipantRole.valueOf(((DemoSession.ParticipantRole) row[22]).name()));
+        dto.setUserIds(new ArrayList<>());
+        return dto;
+    }
+
+    private RecordWriter writer(Format format, List<String> columns, OutputStream output) {
+        Writer text = new BufferedWriter(new OutputStreamWriter(output, StandardCharsets.UTF_8));
+        return format == Format.CSV ? new CsvRecordWriter(text, columns) : new NdjsonRecordWriter(text);
+    }
+
+    /**
+     * One record per value; closing flushes but leaves the underlying output open
+     */
+    private interface RecordWriter extends AutoCloseable {
+        void write(Object value);
+
+        @Override
+        void close();
+    }
+
+    private class NdjsonRecordWriter implements RecordWriter {
+        private final JsonGenerator generator;
+        // The servlet output is flushed by its own buffer, not after every record
+        private final ObjectWriter objectWriter = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        NdjsonRecordWriter(Writer text) {
+            try {
+                generator = objectMapper.getFactory().createGenerator(text)
+                        .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(Object value) {
+            try {
+                objectWriter.writeValue(generator, value);
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            try {
+                generator.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Header of the given columns, then each value's JSON properties as fields; lists are
+     * joined with {@code ;} as {@link SessionImportService} expects
+     */
+    private class CsvRecordWriter implements RecordWriter {
+        private final Writer text;
+        private final CsvWriter csv;
+        private final List<String> columns;
+        private final List<Object> fields;
+
+        CsvRecordWriter(Writer text, List<String> columns) {
+            this.text = text;
+            this.csv = new CsvWriter(text);
+            this.columns = columns;
+            this.fields = new ArrayList<>(columns.size());
+            csv.write(columns);
+        }
+
+        @Override
+        public void write(Object value) {
+            Map<String, Object> properties = objectMapper.convertValue(value, FIELDS);
+            fields.clear();
+            for (String column : columns) {
+                Object field = properties.get(column);
+                fields.add(field instanceof List<?> list
+                        ? String.join(";", list.stream().map(String::valueOf).toList())
+                        : field);
+            }
+            csv.write(fields);
+        }
+
+        @Override
+        public void close() {
+            try {
+                text.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -57,6 +57,39 @@ public class NotificationSettingsService {
         notificationSettingsRepository.deleteById(id);
     }
 
+    /**
+     * Whether email notifications are enabled in the application-wide settings.
+     * Defaults to enabled when no settings have been saved yet.
+     */
+    @Transactional(readOnly = true)
+    public boolean isEmailNotificationsEnabled() {
+        return notificationSettingsRepository.findFirstByOrderByIdAsc()
+                .map(settings -> !Boolean.FALSE.equals(settings.getEmailNotifications()))
+                .orElse(true);
+    }
+
+    /**
+     * Whether session reminders are enabled in the application-wide settings.
+     * Defaults to enabled when no settings have been saved yet.
+     */
+    @Transactional(readOnly = true)
+    public boolean isSessionRemindersEnabled() {
+        return notificationSettingsRepository.findFirstByOrderByIdAsc()
+                .map(settings -> !Boolean.FALSE.equals(settings.getSessionReminders()))
+                .orElse(true);
+    }
+
+    /**
+     * Whether weekly reports are enabled in the application-wide settings.
+     * Defaults to disabled when no settings have been saved yet.
+     */
+    @Transactional(readOnly = true)
+    public boolean isWeeklyReportsEnabled() {
+        return notificationSettingsRepository.findFirstByOrderByIdAsc()
+                .map(settings -> Boolean.TRUE.equals(settings.getWeeklyReports()))
+                .orElse(false);
+    }
+
     private NotificationSettingsDTO convertToDTO(NotificationSettings settings) {
         NotificationSettingsDTO dto = new NotificationSettingsDTO();
         dto.setId(settings.getId());
@@ -0,0 +1,192 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.SessionFacetKey;
+import com.example.demo.dto.SessionFacetsDTO;
+import com.example.demo.entity.DemoSession;
+import com.example.demo.event.DemoSessionChangedEvent;
+import com.example.demo.repository.DemoSessionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * In-memory session counts per difficulty, status, type, technology and month, so the
+ * dashboard never queries the table.
+ * <ul>
+ *   <li>Seeded in the background at startup from one GROUP BY over all facets</li>
+ *   <li>Session writes are applied after commit through {@link DemoSessionChangedEvent}: the
+ *       previous facet values are decremented and the new ones incremented</li>
+ *   <li>Recomputed from the database every {@code app.sessions.facets.reconcile-interval},
+ *       which corrects drift from writes that bypass {@code DemoSessionService}</li>
+ * </ul>
+ * Changes that arrive while the counts are recomputed are replayed onto the new counts.
+ * One committed just before the recount's snapshot may then be counted twice until the
+ * next reconciliation.
+ */
+@Component
+public class SessionFacetCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionFacetCounter.class);
+
+    enum Facet {
+        DIFFICULTY, STATUS, TYPE, TECHNOLOGY, MONTH
+    }
+
+    private record Change(SessionFacetKey key, int delta) {
+    }
+
+    private final DemoSessionRepository repository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService executor;
+
+    // Guarded by this
+    private Counts counts = new Counts();
+    private List<Change> pendingChanges;  // Non-null while recounting
+    private LocalDateTime reconciledAt;   // Null until the first count completes
+
+    public SessionFacetCounter(DemoSessionRepository repository, PlatformTransactionManager transactionManager,
+                               @Qualifier("blockingIoExecutor") ExecutorService executor) {
+        this.repository = repository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.executor = executor;
+    }
+
+    /**
+     * @throws IllegalStateException While the counts are first being loaded
+     */
+    public synchronized SessionFacetsDTO facets() {
+        if (reconciledAt == null) {
+            throw new IllegalStateException("Session facets are still loading");
+        }
+        SessionFacetsDTO facets = new SessionFacetsDTO();
+        facets.setTotal(counts.total);
+        facets.setDifficulty(new TreeMap<>(counts.byFacet.get(Facet.DIFFICULTY)));
+        facets.setStatus(new TreeMap<>(counts.byFacet.get(Facet.STATUS)));
+        facets.setType(new TreeMap<>(counts.byFacet.get(Facet.TYPE)));
+        facets.setTechnology(new TreeMap<>(counts.byFacet.get(Facet.TECHNOLOGY)));
+        facets.setMonth(new TreeMap<>(counts.byFacet.get(Facet.MONTH)));
+        facets.setReconciledAt(reconciledAt);
+        return facets;
+    }
+
+    @TransactionalEventListener
+    public void onSessionChanged(DemoSessionChangedEvent event) {
+        if (event.getPrevious() != null) {
+            apply(new Change(event.getPrevious(), -1));
+        }
+        if (event.getSession() != null) {
+            apply(new Change(SessionFacetKey.of(event.getSession()), 1));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            executor.execute(() -> {
+                try {
+                    reconcile();
+                } catch (RuntimeException e) {
+                    logger.error("Failed to load session facets", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Shutting down
+        }
+    }
+
+    /**
+     * Recount every facet from the database and replace the in-memory counts
+     */
+    @Scheduled(fixedDelayString = "${app.sessions.facets.reconcile-interval:PT10M}",
+               initialDelayString = "${app.sessions.facets.reconcile-interval:PT10M}")
+    public void reconcile() {
+        synchronized (this) {
+            if (pendingChanges != null) {
+                return;  // Already recounting
+            }
+            pendingChanges = new ArrayList<>();
+        }
+
+        Counts fresh = new Counts();
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                for (Object[] row : repository.countByFacets()) {
+                    SessionFacetKey key = new SessionFacetKey((DemoSession.DifficultyLevel) row[0],
+                            (DemoSession.SessionStatus) row[1], (DemoSession.SessionType) row[2], (String) row[3],
+                            YearMonth.of(((Number) row[4]).intValue(), ((Number) row[5]).intValue()));
+                    fresh.add(key, ((Number) row[6]).longValue());
+                }
+            });
+        } catch (RuntimeException e) {
+            synchronized (this) {
+                pendingChanges = null;
+            }
+            throw e;
+        }
+
+        synchronized (this) {
+            if (reconciledAt != null && fresh.total != counts.total) {
+                logger.info("Session facets drifted by {} sessions; replaced with database counts",
+                        counts.total - fresh.total);
+            }
+            pendingChanges.forEach(change -> fresh.add(change.key(), change.delta()));
+            pendingChanges = null;
+            counts = fresh;
+            reconciledAt = LocalDateTime.now();
+        }
+    }
+
+    private synchronized void apply(Change change) {
+        counts.add(change.key(), change.delta());
+        if (pendingChanges != null) {
+            pendingChanges.add(change);
+        }
+    }
+
+    private static class Counts {
+        final Map<Facet, Map<String, Long>> byFacet = new EnumMap<>(Facet.class);
+        long total;
+
+        Counts() {
+            for (Facet facet : Facet.values()) {
+                byFacet.put(facet, new HashMap<>());
+            }
+        }
+
+        void add(SessionFacetKey key, long delta) {
+            total += delta;
+            add(Facet.DIFFICULTY, key.getDifficulty(), delta);
+            add(Facet.STATUS, key.getStatus(), delta);
+            add(Facet.TYPE, key.getType(), delta);
+            add(Facet.TECHNOLOGY, key.getTechnology(), delta);
+            add(Facet.MONTH, key.getMonth(), delta);
+        }
+
+        private void add(Facet facet, Object value, long delta) {
+            if (value == null) {
+                return;
+            }
+            // Values whose count drops to zero are removed, so the maps only hold live values
+            byFacet.get(facet).merge(value.toString(), delta, (current, d) -> current + d == 0 ? null : current + d);
+        }
+    }
+}
@@ -0,0 +1,356 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.DemoSessionDTO;
+import com.example.demo.dto.SessionImportResult;
+import com.example.demo.entity.DemoSession;
+import com.example.demo.entity.UserManagement;
+import com.example.demo.event.DemoSessionChangedEvent;
+import com.example.demo.repository.UserManagementRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.Charset;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk session import from NDJSON (one {@link DemoSessionDTO} per line) or CSV (a header
+ * of DTO property names, {@code userIds} separated by {@code ;}). The input is read as a
+ * stream and handled in chunks of {@code app.sessions.import.chunk-size} rows; each chunk
+ * <ul>
+ *   <li>checks the users it references that earlier chunks have not, in one query</li>
+ *   <li>inserts its sessions and their {@code demo_session_users} rows as two JDBC batches</li>
+ *   <li>commits on its own, so a failing chunk does not undo earlier ones</li>
+ * </ul>
+ * Rows that fail validation are reported and skipped. Imported sessions publish
+ * {@link DemoSessionChangedEvent}s like created ones, but no creation emails are queued.
+ */
+@Service
+public class SessionImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionImportService.class);
+
+    private static final String INSERT_SESSION = "insert into demo_sessions (id, title, technology, date, time, "
+            + "description, created_by, attendees, max_attendees, status, location, difficulty, prerequisites, "
+            + "duration, type, feedback, sprint_name, story_points, number_of_tasks, number_of_bugs, current_status, "
+            + "rating, role, created_at, updated_at, version) values (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private static final String INSERT_SESSION_USER = "insert into demo_session_users (demo_session_id, user_id) values (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final UserManagementRepository userManagementRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    @Value("${app.sessions.import.chunk-size:1000}")
+    private int chunkSize;
+
+    public SessionImportService(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                UserManagementRepository userManagementRepository, ApplicationEventPublisher eventPublisher,
+                                ObjectMapper objectMapper, Validator validator) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.userManagementRepository = userManagementRepository;
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    /**
+     * Import sessions from NDJSON, one JSON object per line; blank lines are skipped
+     */
+    public SessionImportResult importNdjson(InputStream input, Charset charset) {
+        Import run = new Import();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, charset))) {
+            String text;
+            long line = 0;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                try {
+                    run.accept(line, objectMapper.readValue(text, DemoSessionDTO.class));
+                } catch (JsonProcessingException e) {
+                    run.result.addError(line, "Invalid JSON: " + e.getOriginalMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return run.finish();
+    }
+
+    /**
+     * Import sessions from CSV whose header names {@link DemoSessionDTO} properties. A quote left
+     * open takes in the rest of the input, so it is reported as an error on its record and ends the
+     * import; the rows before it are still imported.
+     *
+     * @throws IllegalArgumentException If the header is missing, unreadable or names an unknown property
+     */
+    public SessionImportResult importCsv(InputStream input, Charset charset) {
+        Import run = new Import();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, charset))) {
+            CsvReader csv = new CsvReader(reader);
+            List<String> header = csv.next();
+            if (header == null) {
+                throw new IllegalArgumentException("CSV header is missing");
+            }
+            header = header.stream().map(String::trim).toList();
+            for (String column : header) {
+                if (!CSV_COLUMNS.contains(column)) {
+                    throw new IllegalArgumentException("Unknown CSV column: " + column);
+                }
+            }
+
+            while (true) {
+                List<String> record;
+                try {
+                    record = csv.next();
+                } catch (IllegalArgumentException e) {
+                    // Earlier chunks are committed already, so this has to be reported with them, not instead of them
+                    run.result.addError(csv.getRecordLine(), e.getMessage() + "; nothing after it was read");
+                    break;
+                }
+                if (record == null) {
+                    break;
+                }
+                long line = csv.getRecordLine();
+                if (record.size() == 1 && record.get(0).isBlank()) {
+                    continue;
+                }
+                if (record.size() != header.size()) {
+                    run.result.addError(line, "Expected " + header.size() + " fields but found " + record.size());
+                    continue;
+                }
+                try {
+                    run.accept(line, fromCsv(header, record));
+                } catch (IllegalArgumentException e) {
+                    run.result.addError(line, "Invalid value: " + e.getMessage());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return run.finish();
+    }
+
+    // "id" is accepted so exports can be imported again, but imported sessions always get new IDs
+    private static final Set<String> CSV_COLUMNS = Set.of("id", "title", "technology", "date", "time", "description",
+            "createdBy", "attendees", "maxAttendees", "status", "location", "difficulty", "prerequisites", "duration",
+            "type", "feedback", "sprintName", "storyPoints", "numberOfTasks", "numberOfBugs", "currentStatus",
+            "userIds", "rating", "role");
+
+    private DemoSessionDTO fromCsv(List<String> header, List<String> record) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            String value = record.get(i).trim();
+            if (value.isEmpty()) {
+                continue;  // Leave the DTO default
+            }
+            values.put(header.get(i), header.get(i).equals("userIds")
+                    ? Arrays.stream(value.split(";")).map(String::trim).filter(id -> !id.isEmpty()).toList()
+                    : value);
+        }
+        return objectMapper.convertValue(values, DemoSessionDTO.class);
+    }
+
+    /**
+     * Required columns are checked here because the JDBC insert bypasses the entity
+     */
+    private String validate(DemoSessionDTO dto) {
+        List<String> problems = new ArrayList<>();
+        requirePresent(problems, dto.getTitle(), "title");
+        requirePresent(problems, dto.getTechnology(), "technology");
+        requirePresent(problems, dto.getDate(), "date");
+        requirePresent(problems, dto.getTime(), "time");
+        requirePresent(problems, dto.getDescription(), "description");
+        requirePresent(problems, dto.getCreatedBy(), "createdBy");
+        requirePresent(problems, dto.getMaxAttendees(), "maxAttendees");
+        requirePresent(problems, dto.getStatus(), "status");
+        requirePresent(problems, dto.getLocation(), "location");
+        requirePresent(problems, dto.getDifficulty(), "difficulty");
+        requirePresent(problems, dto.getType(), "type");
+        for (ConstraintViolation<DemoSessionDTO> violation : validator.validate(dto)) {
+            problems.add(violation.getPropertyPath() + ": " + violation.getMessage());
+        }
+        return problems.isEmpty() ? null : String.join("; ", problems);
+    }
+
+    private static void requirePresent(List<String> problems, Object value, String property) {
+        if (value == null) {
+            problems.add(property + " is required");
+        }
+    }
+
+    private record Row(long line, DemoSessionDTO dto) {
+    }
+
+    /**
+     * State of one import: the rows waiting for the next chunk and the users already known to exist
+     */
+    private class Import {
+        final SessionImportResult result = new SessionImportResult();
+        final List<Row> pending = new ArrayList<>(chunkSize);
+        final Set<String> knownUsers = new HashSet<>();
+
+        void accept(long line, DemoSessionDTO dto) {
+            if (dto.getUserIds() == null) {
+                dto.setUserIds(List.of());
+            }
+            String problem = validate(dto);
+            if (problem != null) {
+                result.addError(line, problem);
+                return;
+            }
+            pending.add(new Row(line, dto));
+            if (pending.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        SessionImportResult finish() {
+            if (!pending.isEmpty()) {
+                flush();
+            }
+            return result;
+        }
+
+        private void flush() {
+            Set<String> unchecked = new LinkedHashSet<>();
+            for (Row row : pending) {
+                unchecked.add(row.dto().getCreatedBy());
+                unchecked.addAll(row.dto().getUserIds());
+            }
+            unchecked.removeAll(knownUsers);
+            if (!unchecked.isEmpty()) {
+                knownUsers.addAll(userManagementRepository.findExistingIds(unchecked));
+            }
+
+            List<DemoSession> sessions = new ArrayList<>(pending.size());
+            List<Long> lines = new ArrayList<>(pending.size());
+            for (Row row : pending) {
+                DemoSessionDTO dto = row.dto();
+                Set<String> missing = new LinkedHashSet<>(dto.getUserIds());
+                missing.add(dto.getCreatedBy());
+                missing.removeAll(knownUsers);
+                if (!missing.isEmpty()) {
+                    result.addError(row.line(), "Unknown user id(s): " + String.join(", ", missing));
+                    continue;
+                }
+                sessions.add(toSession(dto));
+                lines.add(row.line());
+            }
+            pending.clear();
+            if (sessions.isEmpty()) {
+                return;
+            }
+
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    insert(sessions);
+                    // Delivered after this chunk commits
+                    sessions.forEach(session -> eventPublisher.publishEvent(DemoSessionChangedEvent.created(session)));
+                });
+                result.setImported(result.getImported() + sessions.size());
+                result.setChunks(result.getChunks() + 1);
+            } catch (DataAccessException e) {
+                logger.warn("Session import chunk of {} rows failed", sessions.size(), e);
+                String message = "Chunk rolled back: " + e.getMostSpecificCause().getMessage();
+                lines.forEach(line -> result.addError(line, message));
+            }
+        }
+    }
+
+    private void insert(List<DemoSession> sessions) {
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> sessionRows = new ArrayList<>(sessions.size());
+        List<Object[]> userRows = new ArrayList<>();
+        for (DemoSession s : sessions) {
+            sessionRows.add(new Object[]{
+                    s.getId(), s.getTitle(), s.getTechnology(), s.getDate(), s.getTime(), s.getDescription(),
+                    s.getCreatedBy().getId(), s.getAttendees(), s.getMaxAttendees(), name(s.getStatus()), s.getLocation(),
+                    name(s.getDifficulty()), s.getPrerequisites(), s.getDuration(), name(s.getType()), s.getFeedback(),
+                    s.getSprintName(), s.getStoryPoints(), s.getNumberOfTasks(), s.getNumberOfBugs(),
+                    name(s.getCurrentStatus()), s.getRating(), name(s.getRole()), now, now});
+            for (UserManagement user : s.getUsers()) {
+                userRows.add(new Object[]{s.getId(), user.getId()});
+            }
+        }
+        jdbcTemplate.batchUpdate(INSERT_SESSION, sessionRows);
+        if (!userRows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SESSION_USER, userRows);
+        }
+    }
+
+    /**
+     * The session as {@code createSession} would build it. Creator and users are references
+     * carrying only their IDs; nothing is loaded for them.
+     */
+    private static DemoSession toSession(DemoSessionDTO dto) {
+        DemoSession session = new DemoSession();
+        session.setId(UUID.randomUUID().toString());
+        session.setTitle(dto.getTitle());
+        session.setTechnology(dto.getTechnology());
+        session.setDate(dto.getDate());
+        session.setTime(dto.getTime());
+        session.setDescription(dto.getDescription());
+        session.setCreatedBy(reference(dto.getCreatedBy()));
+        session.setAttendees(dto.getAttendees() != null ? dto.getAttendees() : 0);
+        session.setMaxAttendees(dto.getMaxAttendees());
+        session.setStatus(dto.getStatus());
+        session.setLocation(dto.getLocation());
+        session.setDifficulty(dto.getDifficulty());
+        session.setPrerequisites(dto.getPrerequisites());
+        session.setDuration(dto.getDuration());
+        session.setType(dto.getType());
+        session.setFeedback(dto.getFeedback());
+        session.setSprintName(dto.getSprintName());
+        session.setStoryPoints(dto.getStoryPoints());
+        session.setNumberOfTasks(dto.getNumberOfTasks());
+        session.setNumberOfBugs(dto.getNumberOfBugs());
+        session.setCurrentStatus(dto.getCurrentStatus());
+        session.setRating(dto.getRating());
+        session.setRole(DemoSession.ParticipantRole.valueOf(dto.getRole().name()));
+        session.setUsers(dto.getUserIds().stream().distinct().map(SessionImportService::reference)
+                .collect(Collectors.toCollection(LinkedHashSet::new)));
+        return session;
+    }
+
+    private static UserManagement reference(String id) {
+        UserManagement user = new UserManagement();
+        user.setId(id);
+        return user;
+    }
+
+    private static String name(Enum<?> value) {
+        return value == null ? null : value.name();
+    }
+}
@@ -0,0 +1,155 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.DemoSession;
+import com.example.demo.event.DemoSessionChangedEvent;
+import com.example.demo.repository.DemoSessionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Sends session reminders {@code SettingsTeam.sessionReminderHours} before each session starts.
+ * Upcoming sessions are kept in an in-memory priority queue ordered by the instant their
+ * reminder is due. Only sessions whose reminder falls within the next
+ * {@code app.reminders.window} are loaded, and the window is extended as time moves on, so
+ * each tick only touches reminders that are actually due. Session changes re-index the
+ * affected session; superseded queue entries are skipped when they reach the head.
+ */
+@Component
+@ConditionalOnProperty(name = "app.reminders.enabled", havingValue = "true", matchIfMissing = true)
+public class SessionReminderScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionReminderScheduler.class);
+
+    private record DueReminder(LocalDateTime dueAt, String sessionId) {
+    }
+
+    private final DemoSessionRepository repository;
+    private final SessionReminderService reminderService;
+    private final SettingsTeamService settingsTeamService;
+
+    // Guarded by this
+    private final PriorityQueue<DueReminder> queue = new PriorityQueue<>(Comparator.comparing(DueReminder::dueAt));
+    private final Map<String, LocalDateTime> dueBySession = new HashMap<>();
+    private LocalDateTime loadedUntil;  // Reminders due before this instant are indexed
+    private int reminderHours = -1;
+
+    @Value("${app.reminders.window:PT6H}")
+    private Duration window;
+
+    @Value("${app.reminders.batch-size:100}")
+    private int batchSize;
+
+    public SessionReminderScheduler(DemoSessionRepository repository,
+                                    SessionReminderService reminderService,
+                                    SettingsTeamService settingsTeamService) {
+        this.repository = repository;
+        this.reminderService = reminderService;
+        this.settingsTeamService = settingsTeamService;
+    }
+
+    @Scheduled(fixedDelayString = "${app.reminders.poll-interval:PT1M}")
+    public void tick() {
+        LocalDateTime now = LocalDateTime.now();
+        int hours = settingsTeamService.getSessionReminderHours();
+
+        List<String> due = new ArrayList<>();
+        synchronized (this) {
+            if (hours != reminderHours || loadedUntil == null) {
+                rebuild(now, hours);
+            } else if (!loadedUntil.isAfter(now.plus(window.dividedBy(2)))) {
+                load(loadedUntil, now.plus(window));
+            }
+
+            while (!queue.isEmpty() && !queue.peek().dueAt().isAfter(now)) {
+                DueReminder head = queue.poll();
+                if (head.dueAt().equals(dueBySession.get(head.sessionId()))) {
+                    dueBySession.remove(head.sessionId());
+                    due.add(head.sessionId());
+                }
+            }
+        }
+
+        for (int from = 0; from < due.size(); from += batchSize) {
+            List<String> batch = due.subList(from, Math.min(from + batchSize, due.size()));
+            try {
+                int reminded = reminderService.queueReminders(batch, now, hours);
+                logger.info("Queued reminders for {} of {} due sessions", reminded, batch.size());
+            } catch (RuntimeException e) {
+                logger.error("Failed to queue {} session reminders, will retry on the next tick", batch.size(), e);
+                synchronized (this) {
+                    batch.forEach(sessionId -> index(sessionId, now));
+                }
+            }
+        }
+    }
+
+    /**
+     * Re-index a session once the transaction that changed it has committed
+     */
+    @TransactionalEventListener
+    public synchronized void onSessionChanged(DemoSessionChangedEvent event) {
+        if (loadedUntil == null) {
+            return;  // Nothing indexed yet, the first tick loads the window
+        }
+        DemoSession session = event.getSession();
+        if (session == null
+                || session.getStatus() != DemoSession.SessionStatus.upcoming
+                || session.getReminderSentAt() != null) {
+            dueBySession.remove(event.getSessionId());
+            return;
+        }
+
+        LocalDateTime start = LocalDateTime.of(session.getDate(), session.getTime());
+        LocalDateTime dueAt = start.minusHours(reminderHours);
+        if (start.isAfter(LocalDateTime.now()) && dueAt.isBefore(loadedUntil)) {
+            index(session.getId(), dueAt);
+        } else {
+            dueBySession.remove(session.getId());  // Picked up when the window reaches it
+        }
+    }
+
+    private void rebuild(LocalDateTime now, int hours) {
+        queue.clear();
+        dueBySession.clear();
+        reminderHours = hours;
+        // Reminders already overdue (e.g. missed while the application was down) fire on this tick
+        loadedUntil = now.minusHours(hours);
+        load(loadedUntil, now.plus(window));
+        logger.info("Indexed {} session reminders due before {}", dueBySession.size(), loadedUntil);
+    }
+
+    /**
+     * Index reminders due in [from, to), i.e. sessions starting in [from + hours, to + hours)
+     */
+    private void load(LocalDateTime from, LocalDateTime to) {
+        LocalDateTime startFrom = from.plusHours(reminderHours);
+        LocalDateTime startTo = to.plusHours(reminderHours);
+        for (Object[] row : repository.findReminderCandidates(DemoSession.SessionStatus.upcoming,
+                startFrom.toLocalDate(), startFrom.toLocalTime(), startTo.toLocalDate(), startTo.toLocalTime())) {
+            LocalDateTime start = LocalDateTime.of((LocalDate) row[1], (LocalTime) row[2]);
+            index((String) row[0], start.minusHours(reminderHours));
+        }
+        loadedUntil = to;
+    }
+
+    private void index(String sessionId, LocalDateTime dueAt) {
+        dueBySession.put(sessionId, dueAt);
+        queue.add(new DueReminder(dueAt, sessionId));
+    }
+}
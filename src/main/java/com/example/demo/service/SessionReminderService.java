@@ -0,0 +1,81 @@
+package com.example.demo.service;
+
+import com.example.demo.config.CacheConfig;
+import com.example.demo.entity.DemoSession;
+import com.example.demo.entity.UserManagement;
+import com.example.demo.repository.DemoSessionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Service
+@Transactional
+public class SessionReminderService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionReminderService.class);
+
+    private final DemoSessionRepository repository;
+    private final EmailOutboxService emailOutboxService;
+    private final NotificationSettingsService notificationSettingsService;
+    private final Cache sessionCache;
+
+    public SessionReminderService(DemoSessionRepository repository,
+                                  EmailOutboxService emailOutboxService,
+                                  NotificationSettingsService notificationSettingsService,
+                                  CacheManager cacheManager) {
+        this.repository = repository;
+        this.emailOutboxService = emailOutboxService;
+        this.notificationSettingsService = notificationSettingsService;
+        this.sessionCache = cacheManager.getCache(CacheConfig.SESSIONS);
+    }
+
+    /**
+     * Queue reminders for sessions whose reminder has come due. Each session is checked
+     * again against the database, so stale index entries (cancelled, rescheduled or
+     * already reminded sessions) are skipped. Marking a session reminded bumps its
+     * version, so its cached copy is evicted once the transaction commits.
+     *
+     * @param sessionIds Sessions whose reminder is due
+     * @param now The current time
+     * @param reminderHours Hours before the session start a reminder is due
+     * @return Number of sessions reminded
+     */
+    public int queueReminders(Collection<String> sessionIds, LocalDateTime now, int reminderHours) {
+        if (!notificationSettingsService.isSessionRemindersEnabled()) {
+            logger.debug("Session reminders are disabled, skipping {} sessions", sessionIds.size());
+            return 0;
+        }
+
+        int reminded = 0;
+        for (DemoSession session : repository.findAllById(sessionIds)) {
+            LocalDateTime start = LocalDateTime.of(session.getDate(), session.getTime());
+            if (session.getReminderSentAt() != null
+                    || session.getStatus() != DemoSession.SessionStatus.upcoming
+                    || !start.isAfter(now)
+                    || start.minusHours(reminderHours).isAfter(now)) {
+                continue;
+            }
+
+            // The creator and the participants, each once
+            Map<String, UserManagement> recipients = new LinkedHashMap<>();
+            recipients.put(session.getCreatedBy().getId(), session.getCreatedBy());
+            if (session.getUsers() != null) {
+                session.getUsers().forEach(user -> recipients.putIfAbsent(user.getId(), user));
+            }
+
+            emailOutboxService.enqueueSessionReminder(session, recipients.values());
+            session.setReminderSentAt(now);
+            sessionCache.evict(session.getId());  // Else the cached copy serves a stale ETag
+            reminded++;
+        }
+        return reminded;
+    }
+}
@@ -0,0 +1,515 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.SessionSearchDocument;
+import com.example.demo.event.DemoSessionChangedEvent;
+import com.example.demo.repository.DemoSessionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * In-process inverted index over session title, technology, description and prerequisites.
+ * <ul>
+ *   <li>Text is lower-cased and split into words; {@code c++}, {@code c#} and the like stay whole</li>
+ *   <li>Every query word must match. Words of two or more characters also match as prefixes
+ *       ({@code kube} finds {@code kubernetes}), at half the weight of a whole-word match. A word
+ *       that prefixes more terms than are searched keeps its whole-word match and the terms in the
+ *       most documents, and the result is flagged as approximate</li>
+ *   <li>Results are ranked by field weight (title, then technology, then the rest) times
+ *       term frequency times inverse document frequency, newest documents first on ties</li>
+ * </ul>
+ * Session writes are applied after commit through {@link DemoSessionChangedEvent}. A changed
+ * session gets a new document number and its old one is marked dead, so postings stay
+ * append-only; once dead documents pile up, the index is rebuilt from the database in the
+ * background. Changes that arrive during a rebuild are replayed onto the new index before
+ * it replaces the old one.
+ */
+@Component
+public class SessionSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(SessionSearchIndex.class);
+
+    static final int MAX_QUERY_TOKENS = 8;
+    static final int MIN_PREFIX_LENGTH = 2;
+    static final int MAX_PREFIX_EXPANSION = 64;  // Terms per query word, the most frequent ones
+    static final float PREFIX_WEIGHT = 0.5f;
+
+    static final int TITLE_WEIGHT = 4;
+    static final int TECHNOLOGY_WEIGHT = 3;
+    static final int TEXT_WEIGHT = 1;
+
+    /**
+     * One page of search results
+     *
+     * @param sessionIds Matching session IDs, best first
+     * @param total Number of sessions matching the query
+     * @param approximate Whether a query word prefixed more terms than were searched, so sessions
+     *                    matching only through the rarest of them are missing from the results and the total
+     */
+    public record Hits(List<String> sessionIds, long total, boolean approximate) {
+    }
+
+    private final DemoSessionRepository repository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Executor executor;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private Index index = new Index();                 // Guarded by lock
+    private List<Change> pendingChanges;               // Guarded by lock; non-null while rebuilding
+    private volatile boolean ready;
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    // Searches beyond one per core would only queue for CPU, so keeping more scratch memory buys nothing
+    private final Queue<Scratch> scratchPool = new ArrayBlockingQueue<>(Runtime.getRuntime().availableProcessors());
+
+    private record Change(String sessionId, SessionSearchDocument document) {  // document null when deleted
+    }
+
+    public SessionSearchIndex(DemoSessionRepository repository, PlatformTransactionManager transactionManager,
+                              @Qualifier("blockingIoExecutor") ExecutorService executor) {
+        this.repository = repository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.executor = executor;
+    }
+
+    /**
+     * Search sessions
+     *
+     * @param query Words to find
+     * @param offset Number of results to skip
+     * @param limit Maximum number of results to return
+     * @return The requested page of results and the total number of matches
+     * @throws IllegalStateException While the index is first being loaded
+     */
+    public Hits search(String query, int offset, int limit) {
+        if (!ready) {
+            throw new IllegalStateException("Search index is still loading");
+        }
+        List<String> tokens = tokenize(query).stream().distinct().limit(MAX_QUERY_TOKENS).toList();
+        if (tokens.isEmpty()) {
+            return new Hits(List.of(), 0, false);
+        }
+        Scratch scratch = scratchPool.poll();
+        lock.readLock().lock();
+        try {
+            if (scratch == null) {
+                scratch = new Scratch();
+            }
+            return index.search(tokens, offset, limit, scratch);
+        } finally {
+            lock.readLock().unlock();
+            scratchPool.offer(scratch);  // Dropped if the pool is full
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Add or replace a session's document
+     */
+    public void put(SessionSearchDocument document) {
+        apply(new Change(document.getId(), document));
+    }
+
+    public void remove(String sessionId) {
+        apply(new Change(sessionId, null));
+    }
+
+    @TransactionalEventListener
+    public void onSessionChanged(DemoSessionChangedEvent event) {
+        if (event.getType() == DemoSessionChangedEvent.ChangeType.DELETED) {
+            remove(event.getSessionId());
+        } else {
+            put(SessionSearchDocument.of(event.getSession()));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduleRebuild();
+    }
+
+    /**
+     * Rebuild the index from the database. Searches keep using the current index until the
+     * new one is complete.
+     */
+    public synchronized void rebuild() {
+        // Record changes before the query runs, so none committed after its snapshot is lost
+        rebuild(fresh -> readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<SessionSearchDocument> documents = repository.streamSearchDocuments()) {
+                documents.forEach(fresh::put);
+            }
+        }));
+    }
+
+    /**
+     * Rebuild the index from the given documents, replacing everything indexed so far
+     */
+    public synchronized void rebuild(Stream<SessionSearchDocument> documents) {
+        rebuild(fresh -> documents.forEach(fresh::put));
+    }
+
+    private void rebuild(Consumer<Index> loader) {
+        long start = System.nanoTime();
+        lock.writeLock().lock();
+        try {
+            pendingChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        Index fresh = new Index();
+        try {
+            loader.accept(fresh);
+        } catch (RuntimeException e) {
+            lock.writeLock().lock();
+            try {
+                pendingChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+            throw e;
+        }
+
+        lock.writeLock().lock();
+        try {
+            pendingChanges.forEach(fresh::apply);
+            pendingChanges = null;
+            index = fresh;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        logger.info("Search index rebuilt: {} sessions, {} terms in {} ms",
+                fresh.liveCount(), fresh.terms.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void apply(Change change) {
+        boolean compact;
+        lock.writeLock().lock();
+        try {
+            index.apply(change);
+            if (pendingChanges != null) {
+                pendingChanges.add(change);
+            }
+            compact = index.needsCompaction();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        if (compact) {
+            scheduleRebuild();
+        }
+    }
+
+    private void scheduleRebuild() {
+        if (!rebuildScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    rebuild();
+                } catch (RuntimeException e) {
+                    logger.error("Failed to rebuild the search index", e);
+                } finally {
+                    rebuildScheduled.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rebuildScheduled.set(false);  // Shutting down
+        }
+    }
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        // Words are runs of letters, digits, '+' and '#'; runs without a letter or digit (a lone "+") are dropped
+        String lower = text.toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        int start = -1;
+        boolean alphanumeric = false;
+        for (int i = 0; i <= lower.length(); i++) {
+            char c = i < lower.length() ? lower.charAt(i) : ' ';
+            boolean letterOrDigit = Character.isLetterOrDigit(c);
+            if (letterOrDigit || c == '+' || c == '#') {
+                if (start < 0) {
+                    start = i;
+                    alphanumeric = false;
+                }
+                alphanumeric |= letterOrDigit;
+            } else if (start >= 0) {
+                if (alphanumeric) {
+                    tokens.add(lower.substring(start, i));
+                }
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Term to (document, weight) postings. Documents are numbered in insertion order, so
+     * every postings list is sorted by document without any sorting.
+     */
+    private static final class Index {
+        final Map<String, Postings> terms = new HashMap<>();
+        final NavigableMap<String, Postings> sortedTerms = new TreeMap<>();  // Same postings, for prefix lookups
+        final Map<String, Integer> documentBySession = new HashMap<>();
+        final BitSet dead = new BitSet();
+        String[] sessionIds = new String[1024];
+        int documentCount;
+
+        void apply(Change change) {
+            if (change.document() == null) {
+                remove(change.sessionId());
+            } else {
+                put(change.document());
+            }
+        }
+
+        void put(SessionSearchDocument document) {
+            remove(document.getId());
+            int doc = documentCount++;
+            if (doc == sessionIds.length) {
+                sessionIds = Arrays.copyOf(sessionIds, doc * 2);
+            }
+            sessionIds[doc] = document.getId();
+            documentBySession.put(document.getId(), doc);
+
+            Map<String, Integer> weights = new HashMap<>();
+            addField(weights, document.getTitle(), TITLE_WEIGHT);
+            addField(weights, document.getTechnology(), TECHNOLOGY_WEIGHT);
+            addField(weights, document.getDescription(), TEXT_WEIGHT);
+            addField(weights, document.getPrerequisites(), TEXT_WEIGHT);
+            weights.forEach((term, weight) -> {
+                Postings postings = terms.get(term);
+                if (postings == null) {
+                    postings = new Postings();
+                    terms.put(term, postings);
+                    sortedTerms.put(term, postings);
+                }
+                postings.add(doc, weight);
+            });
+        }
+
+        void remove(String sessionId) {
+            Integer doc = documentBySession.remove(sessionId);
+            if (doc != null) {
+                dead.set(doc);
+                sessionIds[doc] = null;
+            }
+        }
+
+        int liveCount() {
+            return documentBySession.size();
+        }
+
+        boolean needsCompaction() {
+            int deadCount = documentCount - liveCount();
+            return deadCount > 10_000 && deadCount > liveCount() / 4;
+        }
+
+        Hits search(List<String> tokens, int offset, int limit, Scratch scratch) {
+            // Expand every word to its matching terms; a word without any means no results
+            List<List<Map.Entry<String, Postings>>> expansions = new ArrayList<>(tokens.size());
+            List<String> words = new ArrayList<>(tokens.size());
+            boolean approximate = false;
+            for (String token : tokens) {
+                List<Map.Entry<String, Postings>> matching = new ArrayList<>();
+                approximate |= expand(token, matching);
+                if (matching.isEmpty()) {
+                    return new Hits(List.of(), 0, false);
+                }
+                expansions.add(matching);
+                words.add(token);
+            }
+
+            // Rarest word first: it bounds the candidates every later word can only narrow
+            Integer[] order = new Integer[words.size()];
+            for (int i = 0; i < order.length; i++) {
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> Long.compare(postingsSize(expansions.get(a)), postingsSize(expansions.get(b))));
+
+            scratch.ensureCapacity(documentCount);
+            float[] scores = scratch.scores;
+            byte[] matched = scratch.matched;  // Number of query words a document matched so far
+            int[] candidates = scratch.candidates;
+            int candidateCount = 0;
+            double live = Math.max(liveCount(), 1);
+
+            for (int step = 0; step < order.length; step++) {
+                String word = words.get(order[step]);
+                for (Map.Entry<String, Postings> entry : expansions.get(order[step])) {
+                    Postings postings = entry.getValue();
+                    float factor = (float) Math.log(1 + live / postings.size);
+                    if (!entry.getKey().equals(word)) {
+                        factor *= PREFIX_WEIGHT;
+                    }
+                    for (int i = 0; i < postings.size; i++) {
+                        int doc = postings.documents[i];
+                        if (matched[doc] == step) {
+                            matched[doc] = (byte) (step + 1);
+                            scores[doc] += postings.weights[i] * factor;
+                            if (step == 0) {
+                                candidates[candidateCount++] = doc;
+                            }
+                        } else if (matched[doc] == step + 1) {
+                            scores[doc] += postings.weights[i] * factor;  // Another term of the same word
+                        }
+                    }
+                }
+            }
+
+            // Keep the best offset + limit in a min-heap; ties go to the newer document
+            int wanted = offset + limit;
+            PriorityQueue<Integer> best = new PriorityQueue<>(Math.max(1, Math.min(wanted, 1024)),
+                    (a, b) -> scores[a] != scores[b] ? Float.compare(scores[a], scores[b]) : Integer.compare(a, b));
+            long total = 0;
+            byte all = (byte) order.length;
+            for (int c = 0; c < candidateCount; c++) {
+                int doc = candidates[c];
+                if (matched[doc] != all || dead.get(doc)) {
+                    continue;
+                }
+                total++;
+                if (wanted == 0) {
+                    continue;
+                }
+                if (best.size() < wanted) {
+                    best.add(doc);
+                } else if (best.comparator().compare(doc, best.peek()) > 0) {
+                    best.poll();
+                    best.add(doc);
+                }
+            }
+
+            // Only candidates were written to, so clearing them leaves the scratch arrays all zero again
+            for (int c = 0; c < candidateCount; c++) {
+                scores[candidates[c]] = 0;
+                matched[candidates[c]] = 0;
+            }
+
+            String[] ranked = new String[best.size()];
+            for (int i = ranked.length - 1; i >= 0; i--) {
+                ranked[i] = sessionIds[best.poll()];
+            }
+            List<String> page = offset >= ranked.length
+                    ? List.of()
+                    : List.of(Arrays.copyOfRange(ranked, offset, ranked.length));
+            return new Hits(page, total, approximate);
+        }
+
+        /**
+         * Add the terms a query word matches to {@code matching}
+         *
+         * @return Whether matching terms were left out because there were too many
+         */
+        private boolean expand(String token, List<Map.Entry<String, Postings>> matching) {
+            Postings exact = terms.get(token);
+            if (exact != null) {
+                matching.add(Map.entry(token, exact));
+            }
+            if (token.length() < MIN_PREFIX_LENGTH) {
+                return false;
+            }
+            // Keep the terms in the most documents: dropping rare ones loses the fewest matches.
+            // A min-heap by document count, so the first term to go is always the rarest kept.
+            int room = MAX_PREFIX_EXPANSION - matching.size();
+            PriorityQueue<Map.Entry<String, Postings>> frequent = new PriorityQueue<>(room,
+                    (a, b) -> Integer.compare(a.getValue().size, b.getValue().size));
+            boolean truncated = false;
+            for (Map.Entry<String, Postings> entry : sortedTerms.subMap(token, false, token + Character.MAX_VALUE, false).entrySet()) {
+                if (frequent.size() < room) {
+                    frequent.add(entry);
+                    continue;
+                }
+                truncated = true;
+                if (entry.getValue().size > frequent.peek().getValue().size) {
+                    frequent.poll();
+                    frequent.add(entry);
+                }
+            }
+            matching.addAll(frequent);
+            return truncated;
+        }
+
+        private static long postingsSize(List<Map.Entry<String, Postings>> expansion) {
+            long size = 0;
+            for (Map.Entry<String, Postings> entry : expansion) {
+                size += entry.getValue().size;
+            }
+            return size;
+        }
+
+        private static void addField(Map<String, Integer> weights, String text, int weight) {
+            for (String token : tokenize(text)) {
+                weights.merge(token, weight, Integer::sum);
+            }
+        }
+    }
+
+    /**
+     * Per-document arrays for one search, reused across searches because allocating and
+     * zeroing them per query would cost more than the search itself at a million sessions
+     */
+    private static final class Scratch {
+        float[] scores = new float[0];
+        byte[] matched = new byte[0];
+        int[] candidates = new int[0];  // A document is a candidate at most once
+
+        void ensureCapacity(int documents) {
+            if (scores.length < documents) {
+                int capacity = Math.max(documents, scores.length + scores.length / 2);
+                scores = new float[capacity];
+                matched = new byte[capacity];
+                candidates = new int[capacity];
+            }
+        }
+    }
+
+    private static final class Postings {
+        int[] documents = new int[4];
+        short[] weights = new short[4];
+        int size;
+
+        void add(int document, int weight) {
+            if (size == documents.length) {
+                documents = Arrays.copyOf(documents, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            documents[size] = document;
+            weights[size] = (short) Math.min(weight, Short.MAX_VALUE);
+            size++;
+        }
+    }
+}
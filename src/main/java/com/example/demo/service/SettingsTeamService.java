@@ -17,6 +17,8 @@ import java.util.stream.Collectors;
 @Transactional
 public class SettingsTeamService {
 
+    private static final int DEFAULT_SESSION_REMINDER_HOURS = 24;
+
     private final SettingsTeamRepository settingsTeamRepository;
 
     public SettingsTeamDTO createSettings(SettingsTeamDTO settingsDTO) {
@@ -57,6 +59,17 @@ public class SettingsTeamService {
         settingsTeamRepository.deleteById(id);
     }
 
+    /**
+     * Hours before a session its reminder is sent, from the application-wide team settings.
+     * Defaults to 24 when no settings have been saved yet.
+     */
+    @Transactional(readOnly = true)
+    public int getSessionReminderHours() {
+        return settingsTeamRepository.findFirstByOrderByIdAsc()
+                .map(SettingsTeam::getSessionReminderHours)
+                .orElse(DEFAULT_SESSION_REMINDER_HOURS);
+    }
+
     private SettingsTeamDTO convertToDTO(SettingsTeam settings) {
         SettingsTeamDTO dto = new SettingsTeamDTO();
         dto.setId(settings.getId());
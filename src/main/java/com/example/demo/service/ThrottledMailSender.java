@@ -0,0 +1,311 @@
+package com.example.demo.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.eclipse.angus.mail.smtp.SMTPAddressFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSendFailedException;
+import org.eclipse.angus.mail.smtp.SMTPSenderFailedException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Rate-limited front end for {@link JavaMailSender}. Send requests wait in a bounded
+ * queue and are delivered by a small pool of sender threads at no more than the
+ * configured provider quota; no connection carries more than {@code burst} messages, so
+ * a large batch cannot go out faster than the quota allows. Messages rejected with a
+ * transient 4xx SMTP reply are retried with exponential backoff; everything else is
+ * reported back to the caller the same way JavaMailSender reports it (a
+ * {@link MailSendException} with the failed messages).
+ */
+@Component
+public class ThrottledMailSender {
+
+    private static final Logger logger = LoggerFactory.getLogger(ThrottledMailSender.class);
+
+    private static final Pattern SMTP_REPLY_CODE = Pattern.compile("^\\s*(\\d{3})[\\s-]");
+    private static final int MAX_CAUSE_DEPTH = 10;
+
+    public enum RejectionPolicy {
+        ABORT,        // Fail the send immediately when the queue is full
+        CALLER_RUNS,  // Deliver on the calling thread, still subject to the rate limit
+        BLOCK         // Wait up to app.mail.rate-limit.block-timeout for queue space, then fail
+    }
+
+    private final JavaMailSender mailSender;
+    private final boolean enabled;
+    private final TokenBucket bucket;
+    private final int burst;
+    private final ThreadPoolExecutor senders;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+
+    private final Counter sentMessages;
+    private final Counter failedMessages;
+    private final Counter retries;
+    private final Counter rejected;
+    private final Timer throttleWait;
+
+    public ThrottledMailSender(JavaMailSender mailSender,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.mail.rate-limit.enabled:true}") boolean enabled,
+                               @Value("${app.mail.rate-limit.permits-per-minute:60}") int permitsPerMinute,
+                               @Value("${app.mail.rate-limit.burst:20}") int burst,
+                               @Value("${app.mail.rate-limit.senders:2}") int senderThreads,
+                               @Value("${app.mail.rate-limit.queue-capacity:100}") int queueCapacity,
+                               @Value("${app.mail.rate-limit.rejection-policy:BLOCK}") RejectionPolicy rejectionPolicy,
+                               @Value("${app.mail.rate-limit.block-timeout:PT30S}") Duration blockTimeout,
+                               @Value("${app.mail.rate-limit.retry.max-attempts:4}") int maxAttempts,
+                               @Value("${app.mail.rate-limit.retry.initial-backoff:PT2S}") Duration initialBackoff) {
+        this.mailSender = mailSender;
+        this.enabled = enabled;
+        this.bucket = new TokenBucket(permitsPerMinute, Duration.ofMinutes(1), burst);
+        this.burst = burst;
+        this.maxAttempts = maxAttempts;
+        this.initialBackoff = initialBackoff;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.senders = new ThreadPoolExecutor(senderThreads, senderThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "smtp-sender-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                rejectionHandler(rejectionPolicy, blockTimeout));
+
+        Gauge.builder("mail.outbound.queue.depth", senders, executor -> executor.getQueue().size())
+                .description("Send requests waiting for a sender thread")
+                .register(meterRegistry);
+        this.sentMessages = Counter.builder("mail.outbound.messages").tag("result", "sent")
+                .description("Messages accepted by the SMTP server").register(meterRegistry);
+        this.failedMessages = Counter.builder("mail.outbound.messages").tag("result", "failed")
+                .description("Messages that could not be delivered").register(meterRegistry);
+        this.retries = Counter.builder("mail.outbound.retries")
+                .description("Message retries after a transient 4xx SMTP reply").register(meterRegistry);
+        this.rejected = Counter.builder("mail.outbound.rejected")
+                .description("Send requests that found the queue full").register(meterRegistry);
+        this.throttleWait = Timer.builder("mail.outbound.throttle.wait")
+                .description("Time spent waiting for the provider rate limit").register(meterRegistry);
+    }
+
+    /**
+     * Deliver messages over one SMTP connection per {@code burst} messages, subject to the
+     * rate limit. Blocks until every message has been sent or has finally failed.
+     *
+     * @param messages The messages to send
+     * @throws MailSendException listing the messages that could not be delivered
+     */
+    public void send(MimeMessage... messages) throws MailException {
+        if (!enabled) {
+            mailSender.send(messages);
+            return;
+        }
+
+        FutureTask<Void> task = new FutureTask<>(() -> {
+            deliver(messages);
+            return null;
+        });
+        try {
+            senders.execute(task);
+        } catch (RejectedExecutionException e) {
+            throw new MailSendException("Outbound mail queue is full", e);
+        }
+
+        try {
+            task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            task.cancel(true);
+            throw new MailSendException("Interrupted while waiting for mail delivery", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new MailSendException("Mail delivery failed", e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        senders.shutdown();
+        if (!senders.awaitTermination(30, TimeUnit.SECONDS)) {
+            logger.warn("Discarding {} queued mail send requests on shutdown", senders.shutdownNow().size());
+        }
+    }
+
+    private void deliver(MimeMessage[] messages) {
+        List<MimeMessage> pending = List.of(messages);
+        Map<Object, Exception> failures = new LinkedHashMap<>();
+
+        for (int attempt = 1; !pending.isEmpty(); attempt++) {
+            Map<Object, Exception> attemptFailures = new LinkedHashMap<>();
+            for (int from = 0; from < pending.size(); from += burst) {
+                sendBurst(pending.subList(from, Math.min(from + burst, pending.size())), attemptFailures);
+            }
+
+            List<MimeMessage> retryable = new ArrayList<>();
+            attemptFailures.forEach((message, cause) -> {
+                if (isTransient(cause) && message instanceof MimeMessage mimeMessage) {
+                    retryable.add(mimeMessage);
+                } else {
+                    failures.put(message, cause);
+                }
+            });
+
+            if (retryable.isEmpty()) {
+                break;
+            }
+            if (attempt >= maxAttempts || !backoff(attempt)) {
+                retryable.forEach(message -> failures.put(message, attemptFailures.get(message)));
+                break;
+            }
+            retries.increment(retryable.size());
+            logger.info("Retrying {} messages after transient SMTP failure (attempt {} of {})",
+                    retryable.size(), attempt + 1, maxAttempts);
+            pending = retryable;
+        }
+
+        failedMessages.increment(failures.size());
+        if (!failures.isEmpty()) {
+            throw new MailSendException(failures);
+        }
+    }
+
+    /**
+     * Send at most a burst of messages back to back over one connection, once the rate limit allows
+     */
+    private void sendBurst(List<MimeMessage> messages, Map<Object, Exception> failures) {
+        acquire(messages.size());
+
+        Map<Object, Exception> burstFailures = new LinkedHashMap<>();
+        try {
+            mailSender.send(messages.toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            burstFailures.putAll(e.getFailedMessages());
+            if (burstFailures.isEmpty()) {
+                messages.forEach(message -> burstFailures.put(message, e));
+            }
+        } catch (MailException e) {
+            messages.forEach(message -> burstFailures.put(message, e));
+        }
+        sentMessages.increment(messages.size() - burstFailures.size());
+        failures.putAll(burstFailures);
+    }
+
+    private void acquire(int permits) {
+        long waitNanos = bucket.reserve(permits);
+        if (waitNanos <= 0) {
+            return;
+        }
+        throttleWait.record(waitNanos, TimeUnit.NANOSECONDS);
+        try {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new MailSendException("Interrupted while waiting for the mail rate limit", e);
+        }
+    }
+
+    /**
+     * Sleep before the next attempt
+     *
+     * @return false if interrupted, in which case no further attempt should be made
+     */
+    private boolean backoff(int attempt) {
+        long delay = initialBackoff.toMillis() << Math.min(attempt - 1, 16);
+        try {
+            Thread.sleep(delay);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Whether a failure carries a 4xx SMTP reply (e.g. 421 service not available,
+     * 450 mailbox busy, 451 local error, 452 insufficient storage / rate exceeded)
+     */
+    static boolean isTransient(Throwable failure) {
+        Throwable current = failure;
+        for (int depth = 0; current != null && depth < MAX_CAUSE_DEPTH; depth++) {
+            int code = replyCode(current);
+            if (code > 0) {
+                return code >= 400 && code < 500;
+            }
+            current = current instanceof MessagingException messagingException && messagingException.getNextException() != null
+                    ? messagingException.getNextException()
+                    : current.getCause();
+        }
+        return false;
+    }
+
+    private static int replyCode(Throwable failure) {
+        if (failure instanceof SMTPSendFailedException e) {
+            return e.getReturnCode();
+        }
+        if (failure instanceof SMTPAddressFailedException e) {
+            return e.getReturnCode();
+        }
+        if (failure instanceof SMTPSenderFailedException e) {
+            return e.getReturnCode();
+        }
+        if (failure instanceof MessagingException && failure.getMessage() != null) {
+            Matcher matcher = SMTP_REPLY_CODE.matcher(failure.getMessage());
+            if (matcher.find()) {
+                return Integer.parseInt(matcher.group(1));
+            }
+        }
+        return -1;
+    }
+
+    private RejectedExecutionHandler rejectionHandler(RejectionPolicy policy, Duration blockTimeout) {
+        return (task, executor) -> {
+            rejected.increment();
+            switch (policy) {
+                case CALLER_RUNS -> {
+                    if (!executor.isShutdown()) {
+                        task.run();
+                    }
+                }
+                case BLOCK -> {
+                    try {
+                        if (executor.isShutdown() || !executor.getQueue().offer(task, blockTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                            throw new RejectedExecutionException("Timed out waiting for mail queue space");
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new RejectedExecutionException("Interrupted while waiting for mail queue space", e);
+                    }
+                }
+                case ABORT -> throw new RejectedExecutionException("Mail queue is full");
+            }
+        };
+    }
+}
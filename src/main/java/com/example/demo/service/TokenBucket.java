@@ -0,0 +1,38 @@
+package com.example.demo.service;
+
+import java.time.Duration;
+
+/**
+ * Token bucket with reservation semantics: a caller always gets its permits, but is told
+ * how long to wait before using them. Requests larger than the bucket simply wait longer,
+ * and the sustained rate never exceeds the refill rate.
+ */
+final class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private double tokens;
+    private long lastRefill;
+
+    TokenBucket(int permitsPerPeriod, Duration period, int burst) {
+        this.capacity = burst;
+        this.tokensPerNano = (double) permitsPerPeriod / period.toNanos();
+        this.tokens = burst;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Reserve permits
+     *
+     * @param permits Number of permits to take
+     * @return Nanoseconds the caller must wait before using the permits, 0 if available now
+     */
+    synchronized long reserve(int permits) {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * tokensPerNano);
+        lastRefill = now;
+
+        tokens -= permits;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / tokensPerNano);
+    }
+}
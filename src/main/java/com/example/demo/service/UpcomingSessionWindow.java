@@ -0,0 +1,341 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.DemoSessionSummaryDTO;
+import com.example.demo.dto.SessionSeatsDTO;
+import com.example.demo.entity.DemoSession;
+import com.example.demo.event.DemoSessionChangedEvent;
+import com.example.demo.repository.DemoSessionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Summaries of the sessions dated in the next {@code app.sessions.upcoming.window-days} days, in
+ * {@code /upcoming} order, so the first pages of upcoming sessions never query the table.
+ * <ul>
+ *   <li>Loaded in the background at startup, and again at midnight when the window moves on a day</li>
+ *   <li>Session writes are applied after commit through {@link DemoSessionChangedEvent}, seat
+ *       changes through {@link #seatsChanged}. Both carry the session's version, so a change that
+ *       is applied late never overwrites a newer one</li>
+ *   <li>Later sessions are tracked by ID only, which gives the total and tells when a page runs
+ *       past the window</li>
+ *   <li>Imported sessions only carry their creator's ID; one dated inside the window causes a reload</li>
+ * </ul>
+ * Changes that arrive while the window is loaded are replayed onto it. Pages that reach past the
+ * window are left to the repository, as is every page while the window is loading, belongs to a
+ * previous day, or is being reloaded after {@link #invalidate()}.
+ */
+@Component
+public class UpcomingSessionWindow {
+
+    private static final Logger logger = LoggerFactory.getLogger(UpcomingSessionWindow.class);
+
+    /**
+     * The only order served from the window
+     */
+    public static final Sort ORDER = Sort.by("date", "time", "id").ascending();
+
+    private static final Comparator<DemoSessionSummaryDTO> BY_START = Comparator
+            .comparing(DemoSessionSummaryDTO::getDate)
+            .thenComparing(DemoSessionSummaryDTO::getTime)
+            .thenComparing(DemoSessionSummaryDTO::getId);
+
+    /**
+     * Sessions in the window, sorted, and the number of later sessions
+     */
+    private record Snapshot(LocalDate day, List<DemoSessionSummaryDTO> sessions, int later) {
+    }
+
+    private final DemoSessionRepository repository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService executor;
+    private final int windowDays;
+
+    // Guarded by this
+    private Window window;                            // Null until the first load completes
+    private List<Consumer<Window>> pendingChanges;    // Non-null while loading
+    private long invalidations;
+    private volatile Snapshot snapshot;               // Null while it needs sorting again
+    private volatile boolean stale;                   // Invalidated; cleared by the next complete load
+    private final AtomicBoolean reloadScheduled = new AtomicBoolean();
+    private final Object reloadLock = new Object();
+
+    public UpcomingSessionWindow(DemoSessionRepository repository, PlatformTransactionManager transactionManager,
+                                 @Qualifier("blockingIoExecutor") ExecutorService executor,
+                                 @Value("${app.sessions.upcoming.window-days:28}") int windowDays) {
+        this.repository = repository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.executor = executor;
+        this.windowDays = windowDays;
+    }
+
+    /**
+     * A page of upcoming sessions from the window
+     *
+     * @param today First day of the upcoming sessions
+     * @param pageable The page, which must be in {@link #ORDER}
+     * @return The page with the exact total, or {@code null} if the repository has to answer
+     */
+    public Page<DemoSessionSummaryDTO> page(LocalDate today, Pageable pageable) {
+        if (stale || !ORDER.equals(pageable.getSort())) {
+            return null;
+        }
+        Snapshot current = snapshot();
+        if (current == null || !current.day().equals(today)) {
+            return null;  // Still loading, or midnight passed and the roll-over has not finished
+        }
+        List<DemoSessionSummaryDTO> sessions = current.sessions();
+        long end = pageable.getOffset() + pageable.getPageSize();
+        if (end > sessions.size() && current.later() > 0) {
+            return null;  // Runs past the window
+        }
+        int from = (int) Math.min(pageable.getOffset(), sessions.size());
+        int to = (int) Math.min(end, sessions.size());
+        return new PageImpl<>(sessions.subList(from, to), pageable, sessions.size() + current.later());
+    }
+
+    @TransactionalEventListener
+    public void onSessionChanged(DemoSessionChangedEvent event) {
+        DemoSession session = event.getSession();
+        if (session == null) {
+            apply(window -> window.remove(event.getSessionId()));
+            return;
+        }
+        long version = session.getVersion() != null ? session.getVersion() : 0;
+        if (session.getCreatedBy().getName() != null) {
+            DemoSessionSummaryDTO summary = DemoSessionSummaryDTO.of(session);
+            apply(window -> window.put(summary, version));
+        } else if (!session.getDate().isBefore(LocalDate.now().plusDays(windowDays))) {
+            // Bulk imports only carry the creator's ID, which is all later sessions need
+            apply(window -> window.putLater(session.getId(), session.getDate(), version));
+        } else if (!session.getDate().isBefore(LocalDate.now())) {
+            invalidate();  // Reload rather than show a session without its creator's name
+        }
+    }
+
+    /**
+     * Show a session's new attendee count once the transaction that changed it has committed
+     */
+    public void seatsChanged(SessionSeatsDTO seats) {
+        afterCommit(() -> apply(window -> window.seats(seats)));
+    }
+
+    /**
+     * Serve every page from the repository until the window has been reloaded, e.g. after a
+     * write that changes summaries without a {@link DemoSessionChangedEvent}. Inside a
+     * transaction the reload waits for the commit.
+     */
+    public void invalidate() {
+        synchronized (this) {
+            invalidations++;
+            stale = true;
+        }
+        afterCommit(this::scheduleReload);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        scheduleReload();
+    }
+
+    /**
+     * Load the window from the database, starting today. Runs at midnight so the window
+     * moves on with the date.
+     */
+    @Scheduled(cron = "${app.sessions.upcoming.roll-over-cron:0 0 0 * * *}")
+    public void reload() {
+        synchronized (reloadLock) {  // One load at a time; a second caller loads again after the first
+            long invalidationsBefore;
+            synchronized (this) {
+                pendingChanges = new ArrayList<>();
+                invalidationsBefore = invalidations;
+            }
+
+            LocalDate today = LocalDate.now();
+            Window fresh = new Window(today, today.plusDays(windowDays));
+            try {
+                readOnlyTransaction.executeWithoutResult(status -> {
+                    for (Object[] row : repository.findDatesFrom(fresh.horizon)) {
+                        fresh.later.put((String) row[0], ((Number) row[2]).longValue());
+                    }
+                    for (Object[] row : repository.findVersionedSummariesBetween(fresh.day, fresh.horizon)) {
+                        fresh.put((DemoSessionSummaryDTO) row[0], ((Number) row[1]).longValue());
+                    }
+                });
+            } catch (RuntimeException e) {
+                synchronized (this) {
+                    pendingChanges = null;
+                }
+                throw e;
+            }
+
+            boolean invalidatedMeanwhile;
+            synchronized (this) {
+                pendingChanges.forEach(change -> change.accept(fresh));
+                pendingChanges = null;
+                window = fresh;
+                snapshot = null;
+                invalidatedMeanwhile = invalidations != invalidationsBefore;
+                stale = invalidatedMeanwhile;
+            }
+            logger.info("Upcoming sessions window loaded: {} sessions until {}, {} later",
+                    fresh.sessions.size(), fresh.horizon, fresh.later.size());
+            if (invalidatedMeanwhile) {
+                scheduleReload();
+            }
+        }
+    }
+
+    private synchronized void apply(Consumer<Window> change) {
+        if (window != null) {
+            change.accept(window);
+            snapshot = null;
+        }
+        if (pendingChanges != null) {
+            pendingChanges.add(change);
+        }
+    }
+
+    private Snapshot snapshot() {
+        Snapshot current = snapshot;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (snapshot == null && window != null) {
+                List<DemoSessionSummaryDTO> sorted = new ArrayList<>(window.sessions.size());
+                window.sessions.values().forEach(entry -> sorted.add(entry.summary()));
+                sorted.sort(BY_START);
+                snapshot = new Snapshot(window.day, List.copyOf(sorted), window.later.size());
+            }
+            return snapshot;
+        }
+    }
+
+    private void scheduleReload() {
+        if (!reloadScheduled.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    reload();
+                } catch (RuntimeException e) {
+                    logger.error("Failed to load the upcoming sessions window", e);
+                } finally {
+                    reloadScheduled.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            reloadScheduled.set(false);  // Shutting down
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Sessions dated in [day, horizon) with their summaries, later ones by ID only
+     */
+    private static class Window {
+        record Entry(DemoSessionSummaryDTO summary, long version) {
+        }
+
+        final LocalDate day;
+        final LocalDate horizon;
+        final Map<String, Entry> sessions = new HashMap<>();
+        final Map<String, Long> later = new HashMap<>();   // Version by session ID
+        final Set<String> deleted = new HashSet<>();       // So a late update cannot bring one back
+
+        Window(LocalDate day, LocalDate horizon) {
+            this.day = day;
+            this.horizon = horizon;
+        }
+
+        void put(DemoSessionSummaryDTO summary, long version) {
+            String id = summary.getId();
+            Entry current = sessions.get(id);
+            Long laterVersion = later.get(id);
+            if (deleted.contains(id)
+                    || (current != null && current.version() > version)
+                    || (laterVersion != null && laterVersion > version)) {
+                return;  // A newer change was applied already
+            }
+            sessions.remove(id);
+            later.remove(id);
+            if (summary.getDate().isBefore(day)) {
+                return;
+            }
+            if (summary.getDate().isBefore(horizon)) {
+                sessions.put(id, new Entry(summary, version));
+            } else {
+                later.put(id, version);
+            }
+        }
+
+        void putLater(String id, LocalDate date, long version) {
+            Long current = later.get(id);
+            if (!date.isBefore(horizon) && !deleted.contains(id) && (current == null || current <= version)) {
+                later.put(id, version);
+            }
+        }
+
+        void remove(String id) {
+            sessions.remove(id);
+            later.remove(id);
+            deleted.add(id);
+        }
+
+        void seats(SessionSeatsDTO seats) {
+            Entry current = sessions.get(seats.getSessionId());
+            if (current == null || current.version() >= seats.getVersion()) {
+                return;
+            }
+            // Summaries are shared with pages already handed out, so change a copy
+            DemoSessionSummaryDTO summary = new DemoSessionSummaryDTO();
+            BeanUtils.copyProperties(current.summary(), summary);
+            summary.setAttendees(seats.getAttendees());
+            summary.setMaxAttendees(seats.getMaxAttendees());
+            sessions.put(summary.getId(), new Entry(summary, seats.getVersion()));
+        }
+    }
+}
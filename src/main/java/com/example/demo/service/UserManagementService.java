@@ -1,25 +1,39 @@
 package com.example.demo.service;
 
+import com.example.demo.config.CacheConfig;
 import com.example.demo.entity.UserManagement;
+import com.example.demo.dto.PaginatedResponse;
 import com.example.demo.dto.UserManagementDTO;
+import com.example.demo.dto.VersionStamp;
 import com.example.demo.repository.UserManagementRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.BeanUtils;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.cache.annotation.Caching;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Objects;
 import java.util.UUID;
 
 @Service
 @Transactional
 public class UserManagementService {
     private final UserManagementRepository repository;
+    private final CountCache countCache;
+    private final CollectionVersions collectionVersions;
+    private final UpcomingSessionWindow upcomingWindow;
 
-    public UserManagementService(UserManagementRepository repository) {
+    public UserManagementService(UserManagementRepository repository, CountCache countCache,
+                                 CollectionVersions collectionVersions, UpcomingSessionWindow upcomingWindow) {
         this.repository = repository;
+        this.countCache = countCache;
+        this.collectionVersions = collectionVersions;
+        this.upcomingWindow = upcomingWindow;
     }
 
     public UserManagement createUser(UserManagementDTO dto) {
@@ -30,9 +44,17 @@ public class UserManagementService {
         UserManagement user = new UserManagement();
         BeanUtils.copyProperties(dto, user);
         user.setId(UUID.randomUUID().toString());
+        countCache.invalidate(CountCache.USERS);
+        collectionVersions.advance(CollectionVersions.USERS);
         return repository.save(user);
     }
 
+    // Any cached session may show this user as its creator; by email, the old address is unknown here
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id"),
+        @CacheEvict(cacheNames = CacheConfig.USERS_BY_EMAIL, allEntries = true),
+        @CacheEvict(cacheNames = CacheConfig.SESSIONS, allEntries = true)
+    })
     public UserManagement updateUser(String id, UserManagementDTO dto) {
         UserManagement user = repository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + id));
@@ -41,44 +63,70 @@ public class UserManagementService {
             throw new DataIntegrityViolationException("Email already exists: " + dto.getEmail());
         }
 
+        String previousName = user.getName();
         BeanUtils.copyProperties(dto, user, "id", "createdAt", "updatedAt");
-        return repository.save(user);
+        countCache.invalidate(CountCache.USERS);  // Department, role, status or skill level may have changed
+        collectionVersions.advance(CollectionVersions.USERS);
+        collectionVersions.advance(CollectionVersions.SESSIONS);  // Session lists show the creator's name
+        if (!Objects.equals(previousName, user.getName())) {
+            upcomingWindow.invalidate();
+        }
+        return repository.saveAndFlush(user);  // Flushed so the returned version is the new one
     }
 
+    @Cacheable(cacheNames = CacheConfig.USERS, key = "#id", sync = true)
     public UserManagement getUser(String id) {
         return repository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + id));
     }
 
+    public VersionStamp getUserVersion(String id) {
+        return repository.findVersionStampById(id)
+                .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + id));
+    }
+
+    @Cacheable(cacheNames = CacheConfig.USERS_BY_EMAIL, key = "#email", sync = true)
     public UserManagement getUserByEmail(String email) {
         return repository.findByEmail(email)
                 .orElseThrow(() -> new EntityNotFoundException("User not found with email: " + email));
     }
 
-    public Page<UserManagement> getAllUsers(Pageable pageable) {
-        return repository.findAll(pageable);
+    public Slice<UserManagement> getAllUsers(Pageable pageable, PaginatedResponse.Totals totals) {
+        return countCache.withTotals(repository.findAllBy(pageable), totals,
+                CountCache.USERS, "all", repository::count);
     }
 
+    @Caching(evict = {
+        @CacheEvict(cacheNames = CacheConfig.USERS, key = "#id"),
+        @CacheEvict(cacheNames = CacheConfig.USERS_BY_EMAIL, allEntries = true),
+        @CacheEvict(cacheNames = CacheConfig.SESSIONS, allEntries = true)
+    })
     public void deleteUser(String id) {
         if (!repository.existsById(id)) {
             throw new EntityNotFoundException("User not found with id: " + id);
         }
         repository.deleteById(id);
+        countCache.invalidate(CountCache.USERS);
+        collectionVersions.advance(CollectionVersions.USERS);
     }
 
-    public Page<UserManagement> getUsersByDepartment(String department, Pageable pageable) {
-        return repository.findByDepartment(department, pageable);
+    public Slice<UserManagement> getUsersByDepartment(String department, Pageable pageable, PaginatedResponse.Totals totals) {
+        return countCache.withTotals(repository.findByDepartment(department, pageable), totals,
+                CountCache.USERS, "department:" + department, () -> repository.countByDepartment(department));
     }
 
-    public Page<UserManagement> getUsersByRole(UserManagement.UserRole role, Pageable pageable) {
-        return repository.findByRole(role, pageable);
+    public Slice<UserManagement> getUsersByRole(UserManagement.UserRole role, Pageable pageable, PaginatedResponse.Totals totals) {
+        return countCache.withTotals(repository.findByRole(role, pageable), totals,
+                CountCache.USERS, "role:" + role, () -> repository.countByRole(role));
     }
 
-    public Page<UserManagement> getUsersByStatus(UserManagement.UserStatus status, Pageable pageable) {
-        return repository.findByStatus(status, pageable);
+    public Slice<UserManagement> getUsersByStatus(UserManagement.UserStatus status, Pageable pageable, PaginatedResponse.Totals totals) {
+        return countCache.withTotals(repository.findByStatus(status, pageable), totals,
+                CountCache.USERS, "status:" + status, () -> repository.countByStatus(status));
     }
 
-    public Page<UserManagement> getUsersBySkillLevel(UserManagement.SkillLevel skillLevel, Pageable pageable) {
-        return repository.findBySkillLevel(skillLevel, pageable);
+    public Slice<UserManagement> getUsersBySkillLevel(UserManagement.SkillLevel skillLevel, Pageable pageable, PaginatedResponse.Totals totals) {
+        return countCache.withTotals(repository.findBySkillLevel(skillLevel, pageable), totals,
+                CountCache.USERS, "skill-level:" + skillLevel, () -> repository.countBySkillLevel(skillLevel));
     }
 } 
\ No newline at end of file
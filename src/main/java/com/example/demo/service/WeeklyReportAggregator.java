@@ -0,0 +1,69 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.WeeklyAttendanceRow;
+import com.example.demo.dto.WeeklyReport;
+
+import java.time.LocalDate;
+import java.util.function.Consumer;
+
+/**
+ * Single-pass aggregation of attendance rows into per-user weekly reports. Rows must
+ * arrive grouped by user (the report query orders them by user ID); only the report of
+ * the current user is held, and it is handed to the sink as soon as the next user's
+ * first row arrives, so memory stays constant however many rows are streamed.
+ */
+public final class WeeklyReportAggregator implements Consumer<WeeklyAttendanceRow> {
+
+    private final LocalDate weekStart;
+    private final LocalDate weekEnd;
+    private final Consumer<WeeklyReport> sink;
+
+    private WeeklyReport current;
+    private long reportCount;
+
+    public WeeklyReportAggregator(LocalDate weekStart, LocalDate weekEnd, Consumer<WeeklyReport> sink) {
+        this.weekStart = weekStart;
+        this.weekEnd = weekEnd;
+        this.sink = sink;
+    }
+
+    @Override
+    public void accept(WeeklyAttendanceRow row) {
+        if (current == null || !current.getUserId().equals(row.getUserId())) {
+            emit();
+            current = new WeeklyReport();
+            current.setUserId(row.getUserId());
+            current.setUserName(row.getUserName());
+            current.setUserEmail(row.getUserEmail());
+            current.setWeekStart(weekStart);
+            current.setWeekEnd(weekEnd);
+        }
+
+        current.setSessionsAttended(current.getSessionsAttended() + 1);
+        if (row.getDuration() != null) {
+            current.setTotalMinutes(current.getTotalMinutes() + row.getDuration());
+        }
+        if (row.getRating() != null) {
+            current.setRatedSessions(current.getRatedSessions() + 1);
+            current.setRatingSum(current.getRatingSum() + row.getRating());
+        }
+    }
+
+    /**
+     * Emit the last user's report. Call once after the final row.
+     *
+     * @return Number of reports emitted
+     */
+    public long finish() {
+        emit();
+        return reportCount;
+    }
+
+    private void emit() {
+        if (current != null) {
+            sink.accept(current);
+            current = null;
+            reportCount++;
+        }
+    }
+}
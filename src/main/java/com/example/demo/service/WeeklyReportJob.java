@@ -0,0 +1,79 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.WeeklyReport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Emails every user a summary of the demo sessions they attended in the past week,
+ * when {@code NotificationSettings.weeklyReports} is enabled. Reports are streamed from
+ * {@link WeeklyReportService} and queued in the email outbox in batches of
+ * {@code app.reports.weekly.batch-size}, so at most one batch is held at a time and the
+ * report query is never kept open while mail is sent. The outbox delivers them with retries.
+ */
+@Component
+@ConditionalOnProperty(name = "app.reports.weekly.enabled", havingValue = "true", matchIfMissing = true)
+public class WeeklyReportJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(WeeklyReportJob.class);
+
+    private final WeeklyReportService weeklyReportService;
+    private final EmailOutboxService outboxService;
+    private final NotificationSettingsService notificationSettingsService;
+
+    @Value("${app.reports.weekly.batch-size:200}")
+    private int batchSize;
+
+    public WeeklyReportJob(WeeklyReportService weeklyReportService,
+                           EmailOutboxService outboxService,
+                           NotificationSettingsService notificationSettingsService) {
+        this.weeklyReportService = weeklyReportService;
+        this.outboxService = outboxService;
+        this.notificationSettingsService = notificationSettingsService;
+    }
+
+    @Scheduled(cron = "${app.reports.weekly.cron:0 0 8 * * MON}")
+    public void sendLastWeek() {
+        if (!notificationSettingsService.isWeeklyReportsEnabled()) {
+            logger.debug("Weekly reports are disabled");
+            return;
+        }
+        LocalDate weekEnd = LocalDate.now().with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        sendReports(weekEnd.minusWeeks(1), weekEnd);
+    }
+
+    /**
+     * Generate the reports for sessions in [weekStart, weekEnd) and queue them for delivery
+     */
+    public void sendReports(LocalDate weekStart, LocalDate weekEnd) {
+        List<WeeklyReport> batch = new ArrayList<>(batchSize);
+
+        long reports = weeklyReportService.generateReports(weekStart, weekEnd, report -> {
+            batch.add(report);
+            if (batch.size() >= batchSize) {
+                flush(batch);
+            }
+        });
+        flush(batch);
+
+        logger.info("Weekly reports for {} to {}: {} queued", weekStart, weekEnd.minusDays(1), reports);
+    }
+
+    private void flush(List<WeeklyReport> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        outboxService.enqueueWeeklyReports(batch);  // Its own short transaction, beside the open cursor
+        batch.clear();
+    }
+}
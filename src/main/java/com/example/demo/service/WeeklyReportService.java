@@ -0,0 +1,42 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.WeeklyAttendanceRow;
+import com.example.demo.dto.WeeklyReport;
+import com.example.demo.entity.DemoSession;
+import com.example.demo.repository.DemoSessionRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+@Service
+@Transactional(readOnly = true)
+public class WeeklyReportService {
+
+    private final DemoSessionRepository repository;
+
+    public WeeklyReportService(DemoSessionRepository repository) {
+        this.repository = repository;
+    }
+
+    /**
+     * Stream the attendance of sessions in [weekStart, weekEnd) through a forward-only
+     * cursor and aggregate it per user. Reports are handed to the consumer one by one,
+     * while the cursor is still open.
+     *
+     * @param weekStart First day of the week
+     * @param weekEnd Day after the last day of the week
+     * @param consumer Receives each user's report
+     * @return Number of reports generated
+     */
+    public long generateReports(LocalDate weekStart, LocalDate weekEnd, Consumer<WeeklyReport> consumer) {
+        WeeklyReportAggregator aggregator = new WeeklyReportAggregator(weekStart, weekEnd, consumer);
+        try (Stream<WeeklyAttendanceRow> rows = repository.streamWeeklyAttendance(weekStart, weekEnd,
+                DemoSession.SessionStatus.cancelled)) {
+            rows.forEach(aggregator);
+        }
+        return aggregator.finish();
+    }
+}
@@ -0,0 +1,173 @@
+package com.example.demo.template;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A text template parsed once into a list of segments. Static text is stored as
+ * precomputed literals and {@code {{name}}} placeholders are bound to field writers
+ * at compile time, so rendering is a single pass of appends into a reused builder.
+ *
+ * @param <C> The rendering context type
+ */
+public final class CompiledTemplate<C> {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    // Builders grown past this size are not kept for reuse, so one huge message does not pin memory
+    private static final int MAX_RETAINED_CAPACITY = 64 * 1024;
+
+    private static final ThreadLocal<StringBuilder> BUILDER = ThreadLocal.withInitial(() -> new StringBuilder(4096));
+
+    private final List<Segment<C>> segments;
+    private final int literalLength;
+
+    private CompiledTemplate(List<Segment<C>> segments) {
+        this.segments = List.copyOf(segments);
+        this.literalLength = segments.stream()
+                .filter(segment -> segment.literal() != null)
+                .mapToInt(segment -> segment.literal().length())
+                .sum();
+    }
+
+    /**
+     * Compile a template source
+     *
+     * @param source The template text with {@code {{name}}} placeholders
+     * @param fields Writers for every placeholder name the template may use
+     * @return The compiled template
+     * @throws IllegalArgumentException if the source references an unknown field or has an unclosed placeholder
+     */
+    public static <C> CompiledTemplate<C> compile(String source, Map<String, FieldWriter<C>> fields) {
+        List<Segment<C>> segments = new ArrayList<>();
+        int position = 0;
+
+        while (position < source.length()) {
+            int open = source.indexOf(OPEN, position);
+            if (open < 0) {
+                segments.add(Segment.literal(source.substring(position)));
+                break;
+            }
+            if (open > position) {
+                segments.add(Segment.literal(source.substring(position, open)));
+            }
+
+            int close = source.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at offset " + open);
+            }
+            String name = source.substring(open + OPEN.length(), close).trim();
+            FieldWriter<C> writer = fields.get(name);
+            if (writer == null) {
+                throw new IllegalArgumentException("Unknown template field: " + name);
+            }
+            segments.add(Segment.field(name, writer));
+            position = close + CLOSE.length();
+        }
+
+        return new CompiledTemplate<>(segments);
+    }
+
+    /**
+     * Render the template using this thread's reusable builder
+     *
+     * @param context The rendering context
+     * @return The rendered text
+     */
+    public String render(C context) {
+        StringBuilder out = borrowBuilder(literalLength + 256);
+        renderTo(context, out);
+        return release(out);
+    }
+
+    /**
+     * Append the rendered template to a caller-supplied builder
+     *
+     * @param context The rendering context
+     * @param out The builder to append to
+     */
+    public void renderTo(C context, StringBuilder out) {
+        for (Segment<C> segment : segments) {
+            if (segment.literal() != null) {
+                out.append(segment.literal());
+            } else {
+                segment.writer().write(context, out);
+            }
+        }
+    }
+
+    /**
+     * Pre-render everything that depends on {@code context}, leaving only the given
+     * fields open. Used for fan-outs where most of the message is shared by every
+     * recipient: the shared part is rendered once, then each message is a handful of appends.
+     *
+     * @param context The shared rendering context; deferred fields are never read from it
+     * @param deferred Writers for the fields that differ per recipient
+     * @return A template over the per-recipient type
+     */
+    public <R> PreparedTemplate<R> prepare(C context, Map<String, FieldWriter<R>> deferred) {
+        List<Segment<R>> prepared = new ArrayList<>();
+        StringBuilder literal = new StringBuilder(literalLength + 256);
+
+        for (Segment<C> segment : segments) {
+            FieldWriter<R> writer = segment.name() != null ? deferred.get(segment.name()) : null;
+            if (writer == null) {
+                if (segment.literal() != null) {
+                    literal.append(segment.literal());
+                } else {
+                    segment.writer().write(context, literal);
+                }
+            } else {
+                if (!literal.isEmpty()) {
+                    prepared.add(Segment.literal(literal.toString()));
+                    literal.setLength(0);
+                }
+                prepared.add(Segment.field(segment.name(), writer));
+            }
+        }
+        if (!literal.isEmpty()) {
+            prepared.add(Segment.literal(literal.toString()));
+        }
+
+        return new PreparedTemplate<>(new CompiledTemplate<>(prepared));
+    }
+
+    int literalLength() {
+        return literalLength;
+    }
+
+    static StringBuilder borrowBuilder(int capacity) {
+        StringBuilder out = BUILDER.get();
+        out.setLength(0);
+        out.ensureCapacity(capacity);
+        return out;
+    }
+
+    static String release(StringBuilder out) {
+        String rendered = out.toString();
+        if (out.capacity() > MAX_RETAINED_CAPACITY) {
+            BUILDER.remove();
+        }
+        return rendered;
+    }
+
+    /**
+     * Writes one placeholder value for a context
+     */
+    @FunctionalInterface
+    public interface FieldWriter<C> {
+        void write(C context, StringBuilder out);
+    }
+
+    record Segment<C>(String literal, String name, FieldWriter<C> writer) {
+        static <C> Segment<C> literal(String text) {
+            return new Segment<>(text, null, null);
+        }
+
+        static <C> Segment<C> field(String name, FieldWriter<C> writer) {
+            return new Segment<>(null, name, writer);
+        }
+    }
+}
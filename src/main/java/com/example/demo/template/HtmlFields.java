@@ -0,0 +1,37 @@
+package com.example.demo.template;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Field tables for HTML templates. Values come from users (titles, descriptions, names), so
+ * every field is HTML-escaped on its way into the markup.
+ */
+public final class HtmlFields {
+
+    // Holds one field's raw value while it is escaped; writers never nest
+    private static final ThreadLocal<StringBuilder> RAW = ThreadLocal.withInitial(() -> new StringBuilder(256));
+
+    private HtmlFields() {
+    }
+
+    /**
+     * The same fields, each writing its value HTML-escaped
+     */
+    public static <C> Map<String, CompiledTemplate.FieldWriter<C>> escaped(Map<String, CompiledTemplate.FieldWriter<C>> fields) {
+        Map<String, CompiledTemplate.FieldWriter<C>> escaped = new HashMap<>();
+        fields.forEach((name, writer) -> escaped.put(name, escaped(writer)));
+        return Map.copyOf(escaped);
+    }
+
+    public static <C> CompiledTemplate.FieldWriter<C> escaped(CompiledTemplate.FieldWriter<C> writer) {
+        return (context, out) -> {
+            StringBuilder raw = RAW.get();
+            raw.setLength(0);
+            writer.write(context, raw);
+            out.append(HtmlUtils.htmlEscape(raw.toString()));
+        };
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.demo.template;
+
+/**
+ * A template whose shared fields are already rendered, see {@link CompiledTemplate#prepare}.
+ * Rendering only appends the precomputed text and the remaining per-recipient fields.
+ *
+ * @param <R> The per-recipient context type
+ */
+public final class PreparedTemplate<R> {
+
+    private final CompiledTemplate<R> template;
+
+    PreparedTemplate(CompiledTemplate<R> template) {
+        this.template = template;
+    }
+
+    public String render(R recipient) {
+        StringBuilder out = CompiledTemplate.borrowBuilder(template.literalLength() + 64);
+        template.renderTo(recipient, out);
+        return CompiledTemplate.release(out);
+    }
+}
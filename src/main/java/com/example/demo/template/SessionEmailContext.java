@@ -0,0 +1,55 @@
+package com.example.demo.template;
+
+import com.example.demo.entity.DemoSession;
+import com.example.demo.entity.UserManagement;
+
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+import static java.util.Map.entry;
+
+/**
+ * Rendering context for session emails, plus the placeholder fields templates can use.
+ * Values render like {@code %s} did, so a missing value shows as "null". HTML templates
+ * use the escaped tables ({@link #compileHtml}).
+ */
+public record SessionEmailContext(DemoSession session, UserManagement createdBy, UserManagement recipient) {
+
+    public static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("EEEE, MMMM dd, yyyy");
+    public static final DateTimeFormatter TIME_FORMATTER = DateTimeFormatter.ofPattern("HH:mm");
+
+    public static final Map<String, CompiledTemplate.FieldWriter<SessionEmailContext>> FIELDS = Map.ofEntries(
+            entry("recipientName", (c, out) -> out.append(c.recipient().getName())),
+            entry("creatorName", (c, out) -> out.append(c.createdBy().getName())),
+            entry("sessionId", (c, out) -> out.append(c.session().getId())),
+            entry("title", (c, out) -> out.append(c.session().getTitle())),
+            entry("technology", (c, out) -> out.append(c.session().getTechnology())),
+            entry("date", (c, out) -> DATE_FORMATTER.formatTo(c.session().getDate(), out)),
+            entry("time", (c, out) -> TIME_FORMATTER.formatTo(c.session().getTime(), out)),
+            entry("location", (c, out) -> out.append(c.session().getLocation())),
+            entry("difficulty", (c, out) -> out.append(c.session().getDifficulty())),
+            entry("duration", (c, out) -> out.append(c.session().getDuration())),
+            entry("maxAttendees", (c, out) -> out.append(c.session().getMaxAttendees())),
+            entry("description", (c, out) -> out.append(c.session().getDescription()))
+    );
+
+    /**
+     * Fields that differ between recipients of the same session, deferred when a
+     * fan-out is prepared once per session
+     */
+    public static final Map<String, CompiledTemplate.FieldWriter<UserManagement>> RECIPIENT_FIELDS = Map.of(
+            "recipientName", (recipient, out) -> out.append(recipient.getName())
+    );
+
+    public static final Map<String, CompiledTemplate.FieldWriter<SessionEmailContext>> HTML_FIELDS = HtmlFields.escaped(FIELDS);
+    public static final Map<String, CompiledTemplate.FieldWriter<UserManagement>> HTML_RECIPIENT_FIELDS =
+            HtmlFields.escaped(RECIPIENT_FIELDS);
+
+    public static CompiledTemplate<SessionEmailContext> compile(String source) {
+        return CompiledTemplate.compile(source, FIELDS);
+    }
+
+    public static CompiledTemplate<SessionEmailContext> compileHtml(String source) {
+        return CompiledTemplate.compile(source, HTML_FIELDS);
+    }
+}
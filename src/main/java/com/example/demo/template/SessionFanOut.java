@@ -0,0 +1,25 @@
+package com.example.demo.template;
+
+import com.example.demo.entity.UserManagement;
+
+/**
+ * Plain-text and HTML bodies of one session email, pre-rendered for every recipient
+ */
+public final class SessionFanOut {
+
+    private final PreparedTemplate<UserManagement> text;
+    private final PreparedTemplate<UserManagement> html;
+
+    public SessionFanOut(PreparedTemplate<UserManagement> text, PreparedTemplate<UserManagement> html) {
+        this.text = text;
+        this.html = html;
+    }
+
+    public String text(UserManagement recipient) {
+        return text.render(recipient);
+    }
+
+    public String html(UserManagement recipient) {
+        return html.render(recipient);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.demo.template;
+
+import com.example.demo.dto.WeeklyReport;
+
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+
+import static java.util.Map.entry;
+
+/**
+ * Placeholder fields for weekly report emails, rendered from a {@link WeeklyReport}
+ */
+public final class WeeklyReportFields {
+
+    public static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("MMMM dd, yyyy");
+
+    public static final Map<String, CompiledTemplate.FieldWriter<WeeklyReport>> FIELDS = Map.ofEntries(
+            entry("recipientName", (r, out) -> out.append(r.getUserName())),
+            entry("weekStart", (r, out) -> DATE_FORMATTER.formatTo(r.getWeekStart(), out)),
+            entry("weekEnd", (r, out) -> DATE_FORMATTER.formatTo(r.getWeekEnd().minusDays(1), out)),
+            entry("sessionsAttended", (r, out) -> out.append(r.getSessionsAttended())),
+            entry("hours", (r, out) -> appendTenths(Math.round(r.getTotalMinutes() / 6.0), out)),
+            entry("ratedSessions", (r, out) -> out.append(r.getRatedSessions())),
+            entry("averageRating", (r, out) -> {
+                if (r.getRatedSessions() == 0) {
+                    out.append("n/a");
+                } else {
+                    appendTenths(Math.round(r.getRatingSum() * 10.0 / r.getRatedSessions()), out);
+                }
+            })
+    );
+
+    public static final Map<String, CompiledTemplate.FieldWriter<WeeklyReport>> HTML_FIELDS = HtmlFields.escaped(FIELDS);
+
+    private WeeklyReportFields() {
+    }
+
+    public static CompiledTemplate<WeeklyReport> compile(String source) {
+        return CompiledTemplate.compile(source, FIELDS);
+    }
+
+    public static CompiledTemplate<WeeklyReport> compileHtml(String source) {
+        return CompiledTemplate.compile(source, HTML_FIELDS);
+    }
+
+    // One decimal place without going through String.format
+    private static void appendTenths(long tenths, StringBuilder out) {
+        out.append(tenths / 10).append('.').append(tenths % 10);
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.demo.controller;
+
+import com.example.demo.entity.DemoSession;
+import com.example.demo.entity.UserManagement;
+import com.example.demo.repository.DemoSessionRepository;
+import com.example.demo.repository.UserManagementRepository;
+import com.example.demo.support.SqlStatementCounter;
+import com.example.demo.support.TestData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Polls that carry the validators of the last response are answered with 304 and no body;
+ * single resources with one version lookup, lists without touching the database.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ConditionalGetTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    DemoSessionRepository sessionRepository;
+
+    @Autowired
+    UserManagementRepository userRepository;
+
+    UserManagement host;
+    DemoSession session;
+
+    @BeforeEach
+    void seed() {
+        host = userRepository.save(TestData.user("Host"));
+        session = sessionRepository.save(TestData.session("Polled", LocalDate.now().plusDays(1), host, List.of(host)));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void unchangedSessionIsNotModified() throws Exception {
+        MockHttpServletResponse first = mockMvc.perform(get("/api/sessions/{id}", session.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        String etag = first.getHeader(HttpHeaders.ETAG);
+        assertEquals(List.of(etag), first.getHeaders(HttpHeaders.ETAG));
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(get("/api/sessions/{id}", session.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+        assertEquals(1, SqlStatementCounter.count(), () -> String.join("\n", SqlStatementCounter.statements()));
+
+        mockMvc.perform(get("/api/sessions/{id}", session.getId())
+                        .header(HttpHeaders.IF_MODIFIED_SINCE, first.getHeader(HttpHeaders.LAST_MODIFIED)))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(patch("/api/sessions/{id}", session.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\": 5}"))
+                .andExpect(status().isOk());
+        MockHttpServletResponse changed = mockMvc.perform(get("/api/sessions/{id}", session.getId())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        assertEquals(List.of("\"1.0\""), changed.getHeaders(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void renamingTheCreatorOrAMemberChangesTheSession() throws Exception {
+        UserManagement guest = userRepository.save(TestData.user("Guest"));
+        mockMvc.perform(put("/api/sessions/{id}/users/{userId}", session.getId(), guest.getId()))
+                .andExpect(status().isOk());
+        String etag = mockMvc.perform(get("/api/sessions/{id}", session.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(get("/api/sessions/{id}", session.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        // Neither rename changes the session row
+        mockMvc.perform(put("/api/users/{id}", guest.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(userJson(guest, "Renamed Guest")))
+                .andExpect(status().isOk());
+        etag = mockMvc.perform(get("/api/sessions/{id}", session.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(put("/api/users/{id}", host.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(userJson("Renamed Host")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/sessions/{id}", session.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.createdBy.name").value("Renamed Host"));
+
+        // A tag from GET still names the session's version for a conditional write
+        mockMvc.perform(patch("/api/sessions/{id}", session.getId())
+                        .header(HttpHeaders.IF_MATCH, etag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\": 4}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void unchangedUserIsNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/api/users/{id}", host.getId()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/users/{id}", host.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(put("/api/users/{id}", host.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(userJson("Renamed Host")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/users/{id}", host.getId()).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void listsAreNotModifiedUntilAWriteCommits() throws Exception {
+        String sessionsTag = mockMvc.perform(get("/api/sessions"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String usersTag = mockMvc.perform(get("/api/users"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(get("/api/sessions").header(HttpHeaders.IF_NONE_MATCH, sessionsTag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/api/users").header(HttpHeaders.IF_NONE_MATCH, usersTag))
+                .andExpect(status().isNotModified());
+        assertEquals(0, SqlStatementCounter.count());
+
+        // Seat changes show in session lists only
+        mockMvc.perform(post("/api/sessions/{id}/register", session.getId()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/sessions").header(HttpHeaders.IF_NONE_MATCH, sessionsTag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/users").header(HttpHeaders.IF_NONE_MATCH, usersTag))
+                .andExpect(status().isNotModified());
+
+        // Renaming a user changes the creator names in session lists too
+        sessionsTag = mockMvc.perform(get("/api/sessions"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mockMvc.perform(put("/api/users/{id}", host.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(userJson("Renamed Host")))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/sessions").header(HttpHeaders.IF_NONE_MATCH, sessionsTag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/users").header(HttpHeaders.IF_NONE_MATCH, usersTag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void membershipChangesShowInSessionLists() throws Exception {
+        UserManagement guest = userRepository.save(TestData.user("Guest"));
+        String sessionsTag = mockMvc.perform(get("/api/sessions"))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(put("/api/sessions/{id}/users/{userId}", session.getId(), guest.getId()))
+                .andExpect(status().isOk());
+        MockHttpServletResponse added = mockMvc.perform(get("/api/sessions").header(HttpHeaders.IF_NONE_MATCH, sessionsTag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+        sessionsTag = added.getHeader(HttpHeaders.ETAG);
+
+        // Adding a member again changes nothing
+        mockMvc.perform(put("/api/sessions/{id}/users/{userId}", session.getId(), guest.getId()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/sessions").header(HttpHeaders.IF_NONE_MATCH, sessionsTag))
+                .andExpect(status().isNotModified());
+
+        mockMvc.perform(delete("/api/sessions/{id}/users/{userId}", session.getId(), guest.getId()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/sessions").header(HttpHeaders.IF_NONE_MATCH, sessionsTag))
+                .andExpect(status().isOk());
+    }
+
+    private String userJson(String name) {
+        return userJson(host, name);
+    }
+
+    private String userJson(UserManagement user, String name) {
+        return """
+                {"name": "%s", "email": "%s", "role": "employee", "status": "active", "joinDate": "2024-01-01",
+                 "lastLogin": "2024-01-01T09:00:00", "department": "Engineering", "skillLevel": "Intermediate"}
+                """.formatted(name, user.getEmail());
+    }
+}
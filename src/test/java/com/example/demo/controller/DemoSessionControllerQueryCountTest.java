@@ -0,0 +1,347 @@
+package com.example.demo.controller;
+
+import com.example.demo.entity.DemoSession;
+import com.example.demo.entity.UserManagement;
+import com.example.demo.repository.DemoSessionRepository;
+import com.example.demo.repository.UserManagementRepository;
+import com.example.demo.service.SessionFacetCounter;
+import com.example.demo.service.SessionSearchIndex;
+import com.example.demo.service.UpcomingSessionWindow;
+import com.example.demo.support.SqlStatementCounter;
+import com.example.demo.support.TestData;
+import com.jayway.jsonpath.JsonPath;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Guards the number of SQL statements each session endpoint runs, independent of
+ * page size. List pages are summary projections and must not read TEXT columns.
+ * 30 sessions by 3 creators with 3 users each; pages of 20.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class DemoSessionControllerQueryCountTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    DemoSessionRepository sessionRepository;
+
+    @Autowired
+    UserManagementRepository userRepository;
+
+    @Autowired
+    SessionSearchIndex searchIndex;
+
+    @Autowired
+    SessionFacetCounter facetCounter;
+
+    @Autowired
+    UpcomingSessionWindow upcomingWindow;
+
+    String sessionId;
+
+    @BeforeEach
+    void seed() {
+        List<UserManagement> users = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            users.add(TestData.user("User " + i));
+        }
+        userRepository.saveAll(users);
+
+        List<DemoSession> sessions = new ArrayList<>();
+        LocalDate today = LocalDate.now();
+        for (int i = 0; i < 30; i++) {
+            UserManagement creator = users.get(i % 3);
+            List<UserManagement> attendees = List.of(users.get(3 + i % 9), users.get(3 + (i + 1) % 9), users.get(3 + (i + 2) % 9));
+            sessions.add(TestData.session("Session " + i, today.plusDays(i), creator, new ArrayList<>(attendees)));
+        }
+        sessionRepository.saveAll(sessions);
+        sessionId = sessions.get(0).getId();
+        SqlStatementCounter.reset();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void listPageRunsPageAndCountWithoutTextColumns() throws Exception {
+        mockMvc.perform(get("/api/sessions").param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(20))
+                .andExpect(jsonPath("$.data[0].createdByName").exists())
+                .andExpect(jsonPath("$.data[0].description").doesNotExist());
+
+        assertSummaryStatements();
+    }
+
+    @Test
+    void sliceModeSkipsTheCount() throws Exception {
+        mockMvc.perform(get("/api/sessions").param("limit", "20").param("totals", "NONE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(20))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.totalItems").doesNotExist());
+
+        assertStatements(1);
+    }
+
+    @Test
+    void estimatedTotalsCountOncePerFilter() throws Exception {
+        mockMvc.perform(get("/api/sessions/difficulty/{difficulty}", "Intermediate").param("limit", "20").param("totals", "ESTIMATED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalItems").value(30))
+                .andExpect(jsonPath("$.totalsEstimated").value(true));
+        assertStatements(2);
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(get("/api/sessions/difficulty/{difficulty}", "Intermediate").param("limit", "20").param("page", "2").param("totals", "ESTIMATED"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(10))
+                .andExpect(jsonPath("$.totalItems").value(30));
+        assertStatements(1);  // Count served from the cache
+    }
+
+    @Test
+    void cursorPagesWalkTheListWithOneStatementEach() throws Exception {
+        Set<String> seen = new HashSet<>();
+        String cursor = "";
+        int pages = 0;
+        while (cursor != null) {
+            SqlStatementCounter.reset();
+            String body = mockMvc.perform(get("/api/sessions").param("limit", "7").param("cursor", cursor))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.totalItems").doesNotExist())
+                    .andReturn().getResponse().getContentAsString();
+            assertStatements(1);  // No count, no offset
+
+            List<String> ids = JsonPath.read(body, "$.data[*].id");
+            List<String> dates = JsonPath.read(body, "$.data[*].date");
+            for (int i = 1; i < dates.size(); i++) {
+                assertTrue(dates.get(i - 1).compareTo(dates.get(i)) >= 0, "Newest first");
+            }
+            ids.forEach(id -> assertTrue(seen.add(id), "Returned twice: " + id));
+            cursor = JsonPath.read(body, "$.cursor");
+            pages++;
+        }
+        assertEquals(30, seen.size());
+        assertEquals(5, pages);
+    }
+
+    @Test
+    void invalidCursorIsRejected() throws Exception {
+        mockMvc.perform(get("/api/sessions").param("cursor", "not-a-cursor"))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void cursorPageLimitIsBounded() throws Exception {
+        SqlStatementCounter.reset();
+        for (String limit : List.of("0", "-1", "1001")) {
+            mockMvc.perform(get("/api/sessions").param("limit", limit).param("cursor", ""))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(status().reason(containsString("limit")));
+        }
+        assertStatements(0);
+        mockMvc.perform(get("/api/sessions").param("limit", "1").param("cursor", ""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(1));
+    }
+
+    @Test
+    void filterCombinesCriteria() throws Exception {
+        LocalDate today = LocalDate.now();
+        mockMvc.perform(get("/api/sessions/filter")
+                        .param("dateFrom", today.plusDays(5).toString())
+                        .param("dateTo", today.plusDays(14).toString())
+                        .param("difficulty", "Intermediate")
+                        .param("technology", "Spring Boot"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.totalItems").value(10))
+                .andExpect(jsonPath("$.data[0].date").value(today.plusDays(14).toString()));
+
+        assertSummaryStatements();
+    }
+
+    @Test
+    void searchLoadsOnePageOfSummaries() throws Exception {
+        searchIndex.rebuild();
+        SqlStatementCounter.reset();
+
+        mockMvc.perform(get("/api/sessions/search").param("q", "sess").param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(20))
+                .andExpect(jsonPath("$.totalItems").value(30));
+
+        assertStatements(1);  // Summaries of the ranked IDs; the search itself is in memory
+    }
+
+    @Test
+    void facetsRunNoQueries() throws Exception {
+        facetCounter.reconcile();
+        SqlStatementCounter.reset();
+
+        mockMvc.perform(get("/api/sessions/facets"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(30))
+                .andExpect(jsonPath("$.technology['Spring Boot']").value(30));
+
+        assertStatements(0);
+    }
+
+    @Test
+    void detailRunsOneQuery() throws Exception {
+        mockMvc.perform(get("/api/sessions/{id}", sessionId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.userIds.length()").value(3));
+
+        assertStatements(1);
+    }
+
+    @Test
+    void patchWritesOnlyTheChangedColumns() throws Exception {
+        mockMvc.perform(patch("/api/sessions/{id}", sessionId)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\": 4}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.rating").value(4));
+
+        // Load with the creator, then one UPDATE; the users are never read or rewritten
+        assertStatements(2);
+        String update = SqlStatementCounter.statements().get(1).toLowerCase();
+        assertTrue(update.startsWith("update demo_sessions") && update.contains("rating"), update);
+        assertFalse(update.contains("title") || update.contains("description"), update);
+    }
+
+    @Test
+    void membershipChangesWriteOnlyTheChangedJoinRows() throws Exception {
+        List<UserManagement> crowd = new ArrayList<>();
+        for (int i = 0; i < 101; i++) {
+            crowd.add(TestData.user("Member " + i));
+        }
+        userRepository.saveAll(crowd);
+        DemoSession crowded = sessionRepository.save(
+                TestData.session("Crowded", LocalDate.now(), crowd.get(0), crowd.subList(0, 100)));
+        String newcomer = crowd.get(100).getId();
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(put("/api/sessions/{id}/users/{userId}", crowded.getId(), newcomer))
+                .andExpect(status().isOk());
+        // Session, user and members, then the version bump and one join row, whatever the session's size
+        assertStatements(5);
+        assertJoinRowWrites(1, 0);
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(delete("/api/sessions/{id}/users/{userId}", crowded.getId(), crowd.get(0).getId()))
+                .andExpect(status().isOk());
+        assertJoinRowWrites(0, 1);
+
+        // A full update that adds one user and drops another touches just those two rows
+        List<String> userIds = new ArrayList<>(crowd.subList(2, 101).stream().map(UserManagement::getId).toList());
+        userIds.add(crowd.get(0).getId());
+        SqlStatementCounter.reset();
+        mockMvc.perform(put("/api/sessions/{id}", crowded.getId())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"role\": \"HOST\", \"userIds\": [\"" + String.join("\", \"", userIds) + "\"]}"))
+                .andExpect(status().isOk());
+        assertJoinRowWrites(1, 1);
+
+        mockMvc.perform(get("/api/sessions/{id}", crowded.getId()))
+                .andExpect(jsonPath("$.userIds.length()").value(100));
+    }
+
+    @Test
+    void filteredPagesRunPageAndCountWithoutTextColumns() throws Exception {
+        mockMvc.perform(get("/api/sessions/technology/{technology}", "spring").param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(20))
+                .andExpect(jsonPath("$.data[0].createdById").exists());
+        assertSummaryStatements();
+
+        SqlStatementCounter.reset();
+        mockMvc.perform(get("/api/sessions/difficulty/{difficulty}", "Intermediate").param("limit", "20"))
+                .andExpect(status().isOk());
+        assertSummaryStatements();
+    }
+
+    @Test
+    void upcomingPagesInsideTheWindowRunNoQueries() throws Exception {
+        upcomingWindow.reload();  // 28 of the 30 sessions are in the window
+        SqlStatementCounter.reset();
+
+        mockMvc.perform(get("/api/sessions/upcoming").param("limit", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(20))
+                .andExpect(jsonPath("$.data[0].id").value(sessionId))
+                .andExpect(jsonPath("$.data[0].createdByName").value("User 0"))
+                .andExpect(jsonPath("$.totalItems").value(30));
+        mockMvc.perform(get("/api/sessions/upcoming").param("limit", "20").param("totals", "NONE"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(20));
+        assertStatements(0);
+
+        // The last page runs past the window; it shows where the list ends, so no count is needed
+        mockMvc.perform(get("/api/sessions/upcoming").param("limit", "20").param("page", "2"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.data.length()").value(10))
+                .andExpect(jsonPath("$.data[9].title").value("Session 29"))
+                .andExpect(jsonPath("$.totalItems").value(30));
+        assertStatements(1);
+    }
+
+    /**
+     * Page and count only, and neither reads a TEXT column
+     */
+    private static void assertSummaryStatements() {
+        assertStatements(2);
+        for (String sql : SqlStatementCounter.statements()) {
+            String lower = sql.toLowerCase();
+            assertFalse(lower.contains("description") || lower.contains("prerequisites") || lower.contains("feedback"), sql);
+        }
+    }
+
+    /**
+     * Join table rows inserted and deleted, each by its own statement
+     */
+    private static void assertJoinRowWrites(int inserts, int deletes) {
+        List<String> statements = SqlStatementCounter.statements().stream().map(String::toLowerCase).toList();
+        String log = String.join("\n", statements);
+        assertEquals(inserts, statements.stream().filter(sql -> sql.startsWith("insert into demo_session_users")).count(), log);
+        assertEquals(deletes, statements.stream().filter(sql -> sql.startsWith("delete from demo_session_users")).count(), log);
+        assertTrue(statements.stream().noneMatch(sql -> sql.startsWith("delete from demo_session_users")
+                && !sql.contains("user_id")), log);
+    }
+
+    private static void assertStatements(int expected) {
+        assertEquals(expected, SqlStatementCounter.count(), () -> String.join("\n", SqlStatementCounter.statements()));
+    }
+}
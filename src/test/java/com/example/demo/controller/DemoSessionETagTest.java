@@ -0,0 +1,157 @@
+package com.example.demo.controller;
+
+import com.example.demo.entity.DemoSession;
+import com.example.demo.event.DemoSessionChangedEvent;
+import com.example.demo.entity.UserManagement;
+import com.example.demo.repository.DemoSessionRepository;
+import com.example.demo.repository.UserManagementRepository;
+import com.example.demo.support.TestData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@RecordApplicationEvents
+class DemoSessionETagTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    DemoSessionRepository sessionRepository;
+
+    @Autowired
+    UserManagementRepository userRepository;
+
+    @Autowired
+    ApplicationEvents events;
+
+    DemoSession session;
+
+    @BeforeEach
+    void seed() {
+        UserManagement host = userRepository.save(TestData.user("Host"));
+        UserManagement attendee = userRepository.save(TestData.user("Attendee"));
+        session = sessionRepository.save(TestData.session("Versioned", LocalDate.of(2030, 1, 1), host, List.of(attendee)));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void patchAdvancesTheETagAndKeepsTheUsers() throws Exception {
+        mockMvc.perform(get("/api/sessions/{id}", session.getId()))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"0.0\""));
+
+        mockMvc.perform(patch("/api/sessions/{id}", session.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"currentStatus\": \"Completed\", \"rating\": 5}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1\""))
+                .andExpect(jsonPath("$.rating").value(5))
+                .andExpect(jsonPath("$.title").value("Versioned"));
+
+        mockMvc.perform(get("/api/sessions/{id}", session.getId()))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1.0\""))
+                .andExpect(jsonPath("$.currentStatus").value("Completed"))
+                .andExpect(jsonPath("$.userIds.length()").value(1));
+    }
+
+    @Test
+    void staleIfMatchIsRejected() throws Exception {
+        mockMvc.perform(patch("/api/sessions/{id}", session.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\": 3}"))
+                .andExpect(status().isOk());
+
+        // A second editor still holding version 0 loses instead of overwriting
+        mockMvc.perform(patch("/api/sessions/{id}", session.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\": 1}"))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(patch("/api/sessions/{id}", session.getId())
+                        .header(HttpHeaders.IF_MATCH, "not-a-version")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\": 1}"))
+                .andExpect(status().isPreconditionFailed());
+        assertEquals(3, sessionRepository.findById(session.getId()).orElseThrow().getRating());
+
+        mockMvc.perform(patch("/api/sessions/{id}", session.getId())
+                        .header(HttpHeaders.IF_MATCH, "*")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\": 1}"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2\""));
+        mockMvc.perform(patch("/api/sessions/{id}", "no-such-session")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\": 1}"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void seatChangesAdvanceTheVersion() throws Exception {
+        mockMvc.perform(post("/api/sessions/{id}/register", session.getId()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(patch("/api/sessions/{id}", session.getId())
+                        .header(HttpHeaders.IF_MATCH, "\"0\"")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"maxAttendees\": 1}"))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(get("/api/sessions/{id}", session.getId()))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1.0\""));
+    }
+
+    @Test
+    void membershipChangesAdvanceTheVersionOnce() throws Exception {
+        UserManagement guest = userRepository.save(TestData.user("Guest"));
+
+        mockMvc.perform(put("/api/sessions/{id}/users/{userId}", session.getId(), guest.getId()))
+                .andExpect(status().isOk());
+        // Adding a member again writes nothing and publishes nothing
+        mockMvc.perform(put("/api/sessions/{id}/users/{userId}", session.getId(), guest.getId()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/sessions/{id}", session.getId()))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1.0\""))
+                .andExpect(jsonPath("$.userIds.length()").value(2));
+        assertEquals(1, events.stream(DemoSessionChangedEvent.class).count());
+
+        mockMvc.perform(delete("/api/sessions/{id}/users/{userId}", session.getId(), guest.getId()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/api/sessions/{id}", session.getId()))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"2.0\""))
+                .andExpect(jsonPath("$.userIds.length()").value(1));
+        assertEquals(2, events.stream(DemoSessionChangedEvent.class).count());
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.demo.repository;
+
+import com.example.demo.dto.DemoSessionFilter;
+import com.example.demo.entity.DemoSession;
+import com.example.demo.entity.UserManagement;
+import com.example.demo.support.SqlStatementCounter;
+import com.example.demo.support.TestData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * EXPLAINs the query of every combination of combined-filter criteria and checks that
+ * {@code demo_sessions} is read through an index lookup, never a full scan.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class DemoSessionFilterIndexTest {
+
+    @Autowired
+    DemoSessionRepository sessionRepository;
+
+    @Autowired
+    UserManagementRepository userRepository;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    String creatorId;
+
+    @BeforeEach
+    void seed() {
+        List<UserManagement> users = List.of(TestData.user("Creator A"), TestData.user("Creator B"));
+        userRepository.saveAll(users);
+        creatorId = users.get(0).getId();
+
+        List<DemoSession> sessions = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            DemoSession session = TestData.session("Session " + i, LocalDate.now().plusDays(i % 60), users.get(i % 2), new ArrayList<>());
+            session.setTechnology(i % 3 == 0 ? "Kafka" : "Spring Boot");
+            session.setSprintName("Sprint " + i % 10);
+            session.setDifficulty(DemoSession.DifficultyLevel.values()[i % 3]);
+            session.setCurrentStatus(DemoSession.CurrentStatus.values()[i % 5]);
+            sessions.add(session);
+        }
+        sessionRepository.saveAll(sessions);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void everyCriteriaCombinationSeeksAnIndex() {
+        List<Consumer<DemoSessionFilter>> criteria = List.of(
+                f -> f.setDateFrom(LocalDate.now().plusDays(10)),
+                f -> f.setDateTo(LocalDate.now().plusDays(20)),
+                f -> f.setTechnology("Kafka"),
+                f -> f.setDifficulty(DemoSession.DifficultyLevel.Advanced),
+                f -> f.setStatus(DemoSession.SessionStatus.upcoming),
+                f -> f.setType(DemoSession.SessionType.PRODUCT_BASED),
+                f -> f.setCurrentStatus(DemoSession.CurrentStatus.Testing),
+                f -> f.setSprintName("Sprint 3"),
+                f -> f.setCreatedBy(creatorId));
+
+        for (int mask = 1; mask < 1 << criteria.size(); mask++) {
+            DemoSessionFilter filter = new DemoSessionFilter();
+            for (int i = 0; i < criteria.size(); i++) {
+                if ((mask & 1 << i) != 0) {
+                    criteria.get(i).accept(filter);
+                }
+            }
+
+            SqlStatementCounter.reset();
+            sessionRepository.findSummariesMatching(DemoSessionSpecifications.matching(filter),
+                    PageRequest.of(0, 10, Sort.by("date", "time", "id").descending()));
+            assertEquals(1, SqlStatementCounter.count());
+
+            String plan = explain(SqlStatementCounter.statements().get(0));
+            // An index comment with a condition is a lookup; "tableScan" or a bare index name is a full scan
+            assertTrue(plan.matches("(?s).*\"demo_sessions\" \"\\w+\"\\s*/\\* public\\.\\w+: .*"),
+                    () -> filter + " does not seek an index:\n" + plan);
+            assertTrue(!plan.contains("tableScan"), () -> filter + " scans a table:\n" + plan);
+        }
+    }
+
+    /**
+     * H2's plan for a statement; parameters stay placeholders, which is enough for index choice
+     */
+    private String explain(String sql) {
+        return jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+    }
+}
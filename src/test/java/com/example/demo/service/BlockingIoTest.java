@@ -0,0 +1,152 @@
+package com.example.demo.service;
+
+import com.example.demo.config.BlockingIoConfig;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Scope semantics and per-resource caps, in both executor modes. On runtimes before Java 21
+ * VIRTUAL falls back to platform threads, so both runs use the pool there.
+ */
+class BlockingIoTest {
+
+    static final int SMTP_LIMIT = 2;
+
+    ExecutorService executor;
+    MeterRegistry meterRegistry;
+    BlockingIo blockingIo;
+
+    void start(BlockingIoConfig.Mode mode) {
+        executor = new BlockingIoConfig().blockingIoExecutor(mode, 8);
+        meterRegistry = new SimpleMeterRegistry();
+        blockingIo = new BlockingIo(executor, meterRegistry, SMTP_LIMIT, 4);
+    }
+
+    @AfterEach
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    @ParameterizedTest
+    @EnumSource(BlockingIoConfig.Mode.class)
+    void failingForkCancelsItsSiblings(BlockingIoConfig.Mode mode) throws Exception {
+        start(mode);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        try (BlockingIo.Scope scope = blockingIo.open()) {
+            scope.fork(BlockingIo.Resource.DATABASE, () -> {
+                started.countDown();
+                return blockUntilInterrupted(interrupted);
+            });
+            // A sibling that has not started yet is cancelled without running
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            scope.fork(BlockingIo.Resource.DATABASE, () -> {
+                throw new IllegalStateException("Lookup failed");
+            });
+
+            ExecutionException failure = assertThrows(ExecutionException.class, scope::join);
+            assertEquals("Lookup failed", failure.getCause().getMessage());
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS), "The sibling was not interrupted");
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(BlockingIoConfig.Mode.class)
+    void joinTimeoutCancelsTheRemainingForks(BlockingIoConfig.Mode mode) throws Exception {
+        start(mode);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        try (BlockingIo.Scope scope = blockingIo.open()) {
+            BlockingIo.Fork<String> quick = scope.fork(BlockingIo.Resource.SMTP, () -> "sent");
+            scope.fork(BlockingIo.Resource.SMTP, () -> {
+                started.countDown();
+                return blockUntilInterrupted(interrupted);
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            assertThrows(TimeoutException.class, () -> scope.join(Duration.ofMillis(200)));
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS), "The slow fork was not interrupted");
+            assertEquals("sent", quick.get());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(BlockingIoConfig.Mode.class)
+    void atMostTheLimitHoldsAResource(BlockingIoConfig.Mode mode) throws Exception {
+        start(mode);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger peak = new AtomicInteger();
+        try (BlockingIo.Scope scope = blockingIo.open()) {
+            for (int i = 0; i < 6 * SMTP_LIMIT; i++) {
+                scope.fork(BlockingIo.Resource.SMTP, () -> {
+                    peak.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    Thread.sleep(20);
+                    running.decrementAndGet();
+                    return null;
+                });
+            }
+            scope.join();
+        }
+
+        assertEquals(SMTP_LIMIT, peak.get());
+        assertEquals(0, meterRegistry.get("blocking.io.in.use").tag("resource", "smtp").gauge().value());
+    }
+
+    @ParameterizedTest
+    @EnumSource(BlockingIoConfig.Mode.class)
+    void closingTheScopeInterruptsRunningTasks(BlockingIoConfig.Mode mode) throws Exception {
+        start(mode);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        BlockingIo.Fork<Void> fork;
+        try (BlockingIo.Scope scope = blockingIo.open()) {
+            fork = scope.fork(BlockingIo.Resource.SMTP, () -> {
+                started.countDown();
+                return blockUntilInterrupted(interrupted);
+            });
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+        }
+
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS), "The task outlived its scope");
+        assertThrows(IllegalStateException.class, fork::get);
+    }
+
+    @ParameterizedTest
+    @EnumSource(BlockingIoConfig.Mode.class)
+    void virtualModeNeedsJava21(BlockingIoConfig.Mode mode) throws Exception {
+        start(mode);
+        try (BlockingIo.Scope scope = blockingIo.open()) {
+            BlockingIo.Fork<String> threadName = scope.fork(BlockingIo.Resource.DATABASE, () -> Thread.currentThread().getName());
+            scope.join();
+
+            boolean virtual = mode == BlockingIoConfig.Mode.VIRTUAL && Runtime.version().feature() >= 21;
+            // Virtual threads are unnamed; the pool names its threads
+            assertEquals(!virtual, threadName.get().startsWith("blocking-io-"), threadName.get());
+        }
+    }
+
+    private static Void blockUntilInterrupted(CountDownLatch interrupted) throws InterruptedException {
+        try {
+            Thread.sleep(Duration.ofMinutes(1).toMillis());
+            return null;
+        } catch (InterruptedException e) {
+            interrupted.countDown();
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.DemoSession;
+import com.example.demo.entity.EmailOutbox;
+import com.example.demo.entity.UserManagement;
+import com.example.demo.repository.DemoSessionRepository;
+import com.example.demo.repository.EmailOutboxRepository;
+import com.example.demo.repository.UserManagementRepository;
+import com.example.demo.support.FakeSmtpServer;
+import com.example.demo.support.TestData;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Digest mode: a recipient's notifications queued inside one window go out as a single email
+ */
+@SpringBootTest(properties = {
+        "app.mail.outbox.dispatcher.enabled=true",
+        "app.mail.outbox.poll-interval=PT1H",
+        "app.mail.digest.enabled=true",
+        "app.mail.digest.window=PT10M"
+})
+@ActiveProfiles("test")
+class EmailOutboxDigestTest {
+
+    static final FakeSmtpServer smtp = new FakeSmtpServer().keepMessages(true);
+
+    @DynamicPropertySource
+    static void mailProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.mail.port", smtp::getPort);
+    }
+
+    @AfterAll
+    static void stopSmtp() {
+        smtp.close();
+    }
+
+    @Autowired
+    EmailOutboxDispatcher dispatcher;
+
+    @Autowired
+    EmailOutboxService outboxService;
+
+    @Autowired
+    EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    DemoSessionRepository sessionRepository;
+
+    @Autowired
+    UserManagementRepository userRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    UserManagement host;
+    UserManagement guest;
+    UserManagement other;
+
+    @BeforeEach
+    void seed() {
+        outboxRepository.deleteAll();
+        smtp.reset();
+        host = userRepository.save(TestData.user("Host"));
+        guest = userRepository.save(TestData.user("Guest"));
+        other = userRepository.save(TestData.user("Other"));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        outboxRepository.deleteAll();
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void notificationsInOneWindowAreSentAsOneDigest() {
+        create("First", guest);
+        create("Second", guest);
+        create("Third", guest, other);
+
+        List<EmailOutbox> guestNotifications = notifications(guest);
+        assertEquals(3, guestNotifications.size());
+        LocalDateTime windowClose = guestNotifications.get(0).getNextAttemptAt();
+        assertTrue(windowClose.isAfter(LocalDateTime.now().plusMinutes(9)));
+        guestNotifications.forEach(entry -> assertEquals(windowClose, entry.getNextAttemptAt(), "Joined the open window"));
+
+        // Only the creator's confirmations are due while the window is open
+        dispatcher.dispatch();
+        assertEquals(3, smtp.getAccepted());
+        assertEquals(0, messagesTo(guest).size());
+
+        jdbcTemplate.update("update email_outbox set next_attempt_at = ? where type = 'SESSION_CREATION_NOTIFICATION'",
+                LocalDateTime.now().minusSeconds(1));
+        dispatcher.dispatch();
+
+        List<FakeSmtpServer.Message> digests = messagesTo(guest);
+        assertEquals(1, digests.size());
+        assertTrue(digests.get(0).data().contains("You have 3 new demo session invitations"), digests.get(0).data());
+        for (String title : List.of("First", "Second", "Third")) {
+            assertTrue(digests.get(0).data().contains(title), title);
+        }
+        notifications(guest).forEach(entry -> assertEquals(EmailOutbox.OutboxStatus.SENT, entry.getStatus()));
+
+        // A single notification is sent as it is
+        assertEquals(1, messagesTo(other).size());
+        assertEquals(EmailOutbox.OutboxStatus.SENT, notifications(other).get(0).getStatus());
+        assertEquals(5, smtp.getAccepted());
+    }
+
+    private void create(String title, UserManagement... participants) {
+        DemoSession session = sessionRepository.save(TestData.session(title, LocalDate.now().plusDays(1), host,
+                List.of(participants)));
+        transactionTemplate.executeWithoutResult(status ->
+                outboxService.enqueueSessionCreated(session, host, List.of(participants)));
+    }
+
+    private List<EmailOutbox> notifications(UserManagement recipient) {
+        return outboxRepository.findAll().stream()
+                .filter(entry -> entry.getType() == EmailOutbox.EmailType.SESSION_CREATION_NOTIFICATION)
+                .filter(entry -> entry.getRecipientId().equals(recipient.getId()))
+                .toList();
+    }
+
+    private List<FakeSmtpServer.Message> messagesTo(UserManagement recipient) {
+        return smtp.getMessages().stream()
+                .filter(message -> message.recipients().stream().anyMatch(to -> to.contains(recipient.getEmail())))
+                .toList();
+    }
+}
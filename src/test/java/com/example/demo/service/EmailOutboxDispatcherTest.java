@@ -0,0 +1,238 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.DemoSession;
+import com.example.demo.entity.EmailOutbox;
+import com.example.demo.entity.NotificationSettings;
+import com.example.demo.entity.UserManagement;
+import com.example.demo.repository.DemoSessionRepository;
+import com.example.demo.repository.EmailOutboxRepository;
+import com.example.demo.repository.NotificationSettingsRepository;
+import com.example.demo.repository.UserManagementRepository;
+import com.example.demo.support.FakeSmtpServer;
+import com.example.demo.support.TestData;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+
+/**
+ * Outbox delivery with the dispatcher driven by hand: outcomes, backoff, dead-lettering,
+ * expired leases and suppressed notifications. app.mail.outbox.max-attempts is 3 and digest
+ * mode is off here.
+ */
+@SpringBootTest(properties = {
+        "app.mail.outbox.dispatcher.enabled=true",
+        "app.mail.outbox.poll-interval=PT1H",
+        "app.mail.outbox.max-attempts=3",
+        "app.mail.outbox.initial-backoff=PT1M"
+})
+@ActiveProfiles("test")
+class EmailOutboxDispatcherTest {
+
+    static final FakeSmtpServer smtp = new FakeSmtpServer().keepMessages(true);
+
+    @DynamicPropertySource
+    static void mailProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.mail.port", smtp::getPort);
+    }
+
+    @AfterAll
+    static void stopSmtp() {
+        smtp.close();
+    }
+
+    @Autowired
+    EmailOutboxDispatcher dispatcher;
+
+    @Autowired
+    EmailOutboxService outboxService;
+
+    @Autowired
+    EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    DemoSessionRepository sessionRepository;
+
+    @Autowired
+    UserManagementRepository userRepository;
+
+    @Autowired
+    NotificationSettingsRepository notificationSettingsRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @MockitoSpyBean
+    EmailService emailService;
+
+    UserManagement host;
+    UserManagement guest;
+
+    @BeforeEach
+    void seed() {
+        outboxRepository.deleteAll();
+        smtp.reset();
+        smtp.withPermanentFailureRate(0);
+        host = userRepository.save(TestData.user("Host"));
+        guest = userRepository.save(TestData.user("Guest"));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        notificationSettingsRepository.deleteAll();
+        outboxRepository.deleteAll();
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void failingGroupKeepsTheOtherGroupsOutcomes() {
+        DemoSession working = session("Working");
+        DemoSession broken = session("Broken");
+        EmailOutbox delivered = remind(working, host);
+        EmailOutbox failed = remind(broken, guest);
+        doThrow(new IllegalStateException("Template blew up"))
+                .when(emailService).buildSessionReminders(argThat(s -> s != null && s.getId().equals(broken.getId())), any());
+
+        dispatcher.dispatch();
+
+        EmailOutbox sent = reload(delivered);
+        assertEquals(EmailOutbox.OutboxStatus.SENT, sent.getStatus());
+        assertEquals(1, smtp.getAccepted());
+
+        EmailOutbox retried = reload(failed);
+        assertEquals(EmailOutbox.OutboxStatus.PENDING, retried.getStatus());
+        assertEquals(1, retried.getAttempts());
+        assertTrue(retried.getLastError().contains("Template blew up"), retried.getLastError());
+        assertTrue(retried.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(50)));
+
+        // Nothing is due, so a second poll sends nothing again
+        dispatcher.dispatch();
+        assertEquals(1, smtp.getAccepted());
+        assertEquals(EmailOutbox.OutboxStatus.SENT, reload(delivered).getStatus());
+    }
+
+    @Test
+    void failuresBackOffUntilTheyAreDeadLettered() {
+        smtp.withPermanentFailureRate(1.0);
+        EmailOutbox entry = remind(session("Rejected"), guest);
+
+        dispatcher.dispatch();
+        EmailOutbox first = reload(entry);
+        assertEquals(EmailOutbox.OutboxStatus.PENDING, first.getStatus());
+        assertEquals(1, first.getAttempts());
+        LocalDateTime now = LocalDateTime.now();
+        assertTrue(first.getNextAttemptAt().isAfter(now.plusSeconds(50)), "initial backoff is a minute");
+        assertTrue(first.getNextAttemptAt().isBefore(now.plusSeconds(80)), "with at most 20% jitter");
+
+        makeDue(entry);
+        dispatcher.dispatch();
+        EmailOutbox second = reload(entry);
+        assertEquals(2, second.getAttempts());
+        assertTrue(second.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(110)), "backoff doubles");
+
+        makeDue(entry);
+        dispatcher.dispatch();
+        EmailOutbox dead = reload(entry);
+        assertEquals(EmailOutbox.OutboxStatus.DEAD, dead.getStatus());
+        assertEquals(3, dead.getAttempts());
+        assertEquals(3, smtp.getPermanentFailures());
+
+        makeDue(entry);
+        dispatcher.dispatch();
+        assertEquals(3, smtp.getPermanentFailures());
+    }
+
+    @Test
+    void expiredLeasesUseUpAnAttempt() {
+        DemoSession session = session("Interrupted");
+        EmailOutbox retried = remind(session, host);
+        EmailOutbox lastTry = remind(session, guest);
+        expireLease(retried, 0);
+        expireLease(lastTry, 2);
+
+        dispatcher.dispatch();
+
+        EmailOutbox sent = reload(retried);
+        assertEquals(EmailOutbox.OutboxStatus.SENT, sent.getStatus());
+        assertEquals(2, sent.getAttempts());  // The lost delivery and this one
+        assertEquals(1, smtp.getAccepted());
+
+        EmailOutbox dead = reload(lastTry);
+        assertEquals(EmailOutbox.OutboxStatus.DEAD, dead.getStatus());
+        assertEquals(3, dead.getAttempts());
+        assertEquals("Delivery lease expired", dead.getLastError());
+    }
+
+    @Test
+    void notificationsAreSuppressedWhileSwitchedOff() {
+        notificationSettingsRepository.save(new NotificationSettings(UUID.randomUUID().toString(),
+                false, true, true, true, false));
+        DemoSession session = session("Quiet");
+        transactionTemplate.executeWithoutResult(status ->
+                outboxService.enqueueSessionCreated(session, host, List.of(guest)));
+
+        dispatcher.dispatch();
+
+        List<EmailOutbox> entries = outboxRepository.findAll();
+        assertEquals(2, entries.size());
+        for (EmailOutbox entry : entries) {
+            EmailOutbox.OutboxStatus expected = entry.getType() == EmailOutbox.EmailType.SESSION_CREATION_NOTIFICATION
+                    ? EmailOutbox.OutboxStatus.SUPPRESSED
+                    : EmailOutbox.OutboxStatus.SENT;  // The creator's confirmation is not a notification
+            assertEquals(expected, entry.getStatus(), entry.getType().name());
+        }
+        assertEquals(1, smtp.getAccepted());
+    }
+
+    private DemoSession session(String title) {
+        return sessionRepository.save(TestData.session(title, LocalDate.now().plusDays(1), host, List.of(host, guest)));
+    }
+
+    private EmailOutbox remind(DemoSession session, UserManagement recipient) {
+        transactionTemplate.executeWithoutResult(status -> outboxService.enqueueSessionReminder(session, List.of(recipient)));
+        return outboxRepository.findAll().stream()
+                .filter(entry -> entry.getSessionId().equals(session.getId()) && entry.getRecipientId().equals(recipient.getId()))
+                .findFirst()
+                .orElseThrow();
+    }
+
+    private EmailOutbox reload(EmailOutbox entry) {
+        return outboxRepository.findById(entry.getId()).orElseThrow();
+    }
+
+    private void makeDue(EmailOutbox entry) {
+        jdbcTemplate.update("update email_outbox set next_attempt_at = ? where id = ?",
+                LocalDateTime.now().minusSeconds(1), entry.getId());
+    }
+
+    /**
+     * As if a dispatcher claimed the entry an hour ago and never reported back
+     */
+    private void expireLease(EmailOutbox entry, int attempts) {
+        jdbcTemplate.update("update email_outbox set status = 'SENDING', claim_token = 'lost', attempts = ?, " +
+                "updated_at = ? where id = ?", attempts, LocalDateTime.now().minusHours(1), entry.getId());
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.EmailBatchResult;
+import com.example.demo.dto.OutgoingEmail;
+import com.example.demo.support.FakeSmtpServer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class EmailServiceSmtpTest {
+
+    static final FakeSmtpServer smtp = new FakeSmtpServer().keepMessages(true);
+
+    @DynamicPropertySource
+    static void mailProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.mail.port", smtp::getPort);
+    }
+
+    @AfterAll
+    static void stopSmtp() {
+        smtp.close();
+    }
+
+    @Autowired
+    EmailService emailService;
+
+    @BeforeEach
+    void resetSmtp() {
+        smtp.reset();
+        smtp.withTransientFailureRate(0).withPermanentFailureRate(0);
+    }
+
+    @Test
+    void sendsBatchInChunksOverOneConnectionEach() {
+        EmailBatchResult result = emailService.sendBatch(emails(120));
+
+        assertEquals(120, result.getSentCount());
+        assertEquals(3, result.getChunks().size());
+        assertEquals(120, smtp.getAccepted());
+        assertEquals(3, smtp.getTotalConnections());
+        assertTrue(smtp.getMessages().get(0).data().contains("Body 0"));
+    }
+
+    @Test
+    void reportsPermanentFailuresPerRecipient() {
+        smtp.withPermanentFailureRate(1.0);
+
+        EmailBatchResult result = emailService.sendBatch(emails(5));
+
+        assertEquals(0, result.getSentCount());
+        assertEquals(5, result.getFailedCount());
+        assertEquals(5, smtp.getPermanentFailures());
+    }
+
+    @Test
+    void retriesTransientFailures() {
+        smtp.withTransientFailureRate(1.0);
+
+        EmailBatchResult result = emailService.sendBatch(emails(2));
+
+        assertEquals(2, result.getFailedCount());
+        assertEquals(2 * 4, smtp.getTransientFailures());  // app.mail.rate-limit.retry.max-attempts
+    }
+
+    private static List<OutgoingEmail> emails(int count) {
+        List<OutgoingEmail> emails = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            emails.add(new OutgoingEmail("key-" + i, "user" + i + "@example.com", "Subject " + i, "Body " + i, null));
+        }
+        return emails;
+    }
+}
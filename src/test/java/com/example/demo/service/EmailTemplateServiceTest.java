@@ -0,0 +1,73 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.WeeklyReport;
+import com.example.demo.entity.DemoSession;
+import com.example.demo.entity.UserManagement;
+import com.example.demo.support.TestData;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * User-supplied values are escaped in HTML bodies and left as they are in plain-text ones
+ */
+class EmailTemplateServiceTest {
+
+    static final String SCRIPT = "<script>alert('x')</script>";
+    static final String ESCAPED = "&lt;script&gt;alert(&#39;x&#39;)&lt;/script&gt;";
+
+    final EmailTemplateService templates = new EmailTemplateService();
+
+    final UserManagement creator = TestData.user("Creator");
+    final UserManagement recipient = TestData.user("Recipient");
+    final DemoSession session = TestData.session("Title", LocalDate.of(2030, 1, 1), creator, List.of(recipient));
+
+    {
+        session.setTitle(SCRIPT);
+        session.setDescription("<a href=\"https://evil.example\">Click</a>");
+        session.setLocation("Room <b>1</b>");
+        creator.setName("<img src=x onerror=alert(1)>");
+        recipient.setName("R&D <team>");
+    }
+
+    @Test
+    void sessionHtmlEscapesEveryField() {
+        for (String html : List.of(
+                templates.prepareSessionCreationFanOut(session, creator).html(recipient),
+                templates.prepareSessionReminderFanOut(session).html(recipient),
+                templates.createSessionCreationHtmlEmail(session, creator, recipient),
+                templates.createSessionConfirmationHtmlEmail(session, creator),
+                templates.createSessionDigestHtmlEmail(recipient, List.of(session)))) {
+            assertFalse(html.contains("<script>"), html);
+            assertFalse(html.contains("<img"), html);
+            assertFalse(html.contains("<a href"), html);
+            assertFalse(html.contains("<b>1</b>"), html);
+            assertTrue(html.contains(ESCAPED), html);
+        }
+        assertTrue(templates.prepareSessionCreationFanOut(session, creator).html(recipient).contains("R&amp;D &lt;team&gt;"));
+    }
+
+    @Test
+    void textIsNotEscaped() {
+        assertTrue(templates.prepareSessionCreationFanOut(session, creator).text(recipient).contains(SCRIPT));
+        assertTrue(templates.createSessionDigestTextEmail(recipient, List.of(session)).contains(SCRIPT));
+    }
+
+    @Test
+    void weeklyReportHtmlEscapesTheName() {
+        WeeklyReport report = new WeeklyReport();
+        report.setUserName(SCRIPT);
+        report.setWeekStart(LocalDate.of(2030, 1, 7));
+        report.setWeekEnd(LocalDate.of(2030, 1, 14));
+
+        String html = templates.createWeeklyReportHtmlEmail(report);
+
+        assertFalse(html.contains("<script>"), html);
+        assertTrue(html.contains(ESCAPED), html);
+        assertTrue(templates.createWeeklyReportTextEmail(report).contains(SCRIPT));
+    }
+}
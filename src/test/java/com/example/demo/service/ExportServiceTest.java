@@ -0,0 +1,133 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.SessionImportResult;
+import com.example.demo.entity.DemoSession;
+import com.example.demo.entity.UserManagement;
+import com.example.demo.repository.DemoSessionRepository;
+import com.example.demo.repository.UserManagementRepository;
+import com.example.demo.support.TestData;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ExportServiceTest {
+
+    static final int USERS = ExportService.BLOCK_SIZE + 5;
+    static final int SESSIONS = ExportService.BLOCK_SIZE + 3;
+
+    @Autowired
+    ExportService exportService;
+
+    @Autowired
+    SessionImportService importService;
+
+    @Autowired
+    DemoSessionRepository sessionRepository;
+
+    @Autowired
+    UserManagementRepository userRepository;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    List<UserManagement> users;
+
+    @BeforeEach
+    void seed() {
+        users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            users.add(TestData.user("User " + i));
+        }
+        userRepository.saveAll(users);
+
+        List<DemoSession> sessions = new ArrayList<>();
+        for (int i = 0; i < SESSIONS; i++) {
+            DemoSession session = TestData.session("Session " + i, LocalDate.of(2030, 1, 1).plusDays(i % 100),
+                    users.get(i % 10), new ArrayList<>(List.of(users.get(10 + i % 7), users.get(20 + i % 5))));
+            sessions.add(session);
+        }
+        sessions.get(0).setDescription("Quotes \"and\", commas\nand line breaks");
+        sessionRepository.saveAll(sessions);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void streamsSessionsAsNdjson() throws Exception {
+        String body = export("/api/sessions/export", "application/x-ndjson");
+
+        String[] lines = body.split("\n");
+        assertEquals(SESSIONS, lines.length);
+        for (String line : lines) {
+            JsonNode session = objectMapper.readTree(line);
+            assertEquals(2, session.get("userIds").size());
+            assertTrue(session.get("createdBy").isTextual());
+        }
+    }
+
+    @Test
+    void streamsUsersAsCsv() throws Exception {
+        String body = export("/api/users/export?format=CSV", "text/csv");
+
+        String[] lines = body.split("\r\n");
+        assertEquals(USERS + 1, lines.length);
+        assertEquals(String.join(",", ExportService.USER_COLUMNS), lines[0]);
+    }
+
+    @Test
+    void csvExportImportsAgain() {
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        assertEquals(SESSIONS, exportService.exportSessions(ExportService.Format.CSV, csv));
+        sessionRepository.deleteAll();
+
+        SessionImportResult result = importService.importCsv(new ByteArrayInputStream(csv.toByteArray()), StandardCharsets.UTF_8);
+
+        assertEquals(SESSIONS, result.getImported());
+        assertEquals(0, result.getFailed());
+        assertTrue(sessionRepository.findAll().stream()
+                .anyMatch(s -> s.getDescription().equals("Quotes \"and\", commas\nand line breaks")));
+    }
+
+    private String export(String uri, String contentType) throws Exception {
+        MvcResult started = mockMvc.perform(get(uri))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        return mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(contentType))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+    }
+}
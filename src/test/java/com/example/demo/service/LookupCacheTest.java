@@ -0,0 +1,137 @@
+package com.example.demo.service;
+
+import com.example.demo.config.CacheConfig;
+import com.example.demo.dto.DemoSessionPatchDTO;
+import com.example.demo.dto.UserManagementDTO;
+import com.example.demo.entity.DemoSession;
+import com.example.demo.entity.UserManagement;
+import com.example.demo.repository.DemoSessionRepository;
+import com.example.demo.repository.UserManagementRepository;
+import com.example.demo.support.SqlStatementCounter;
+import com.example.demo.support.TestData;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class LookupCacheTest {
+
+    static final int THREADS = 32;
+
+    @Autowired
+    DemoSessionService sessionService;
+
+    @Autowired
+    UserManagementService userService;
+
+    @Autowired
+    DemoSessionRepository sessionRepository;
+
+    @Autowired
+    UserManagementRepository userRepository;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    UserManagement host;
+    DemoSession session;
+
+    @BeforeEach
+    void seed() {
+        host = userRepository.save(TestData.user("Host"));
+        session = sessionRepository.save(TestData.session("Cached", LocalDate.of(2030, 1, 1), host, List.of(host)));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+        List.of(CacheConfig.SESSIONS, CacheConfig.USERS, CacheConfig.USERS_BY_EMAIL)
+                .forEach(name -> cacheManager.getCache(name).clear());
+    }
+
+    @Test
+    void burstOnAColdKeyRunsOneQuery() throws Exception {
+        ExecutorService threads = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<DemoSession>> lookups = new ArrayList<>();
+        SqlStatementCounter.reset();
+        for (int i = 0; i < THREADS; i++) {
+            lookups.add(threads.submit(() -> {
+                start.await();
+                return sessionService.getSession(session.getId());
+            }));
+        }
+        start.countDown();
+        for (Future<DemoSession> lookup : lookups) {
+            assertEquals(1, lookup.get(1, TimeUnit.MINUTES).getUsers().size());
+        }
+        threads.shutdown();
+
+        assertEquals(1, SqlStatementCounter.count(), () -> String.join("\n", SqlStatementCounter.statements()));
+        assertTrue(meterRegistry.get("cache.gets").tag("cache", CacheConfig.SESSIONS).tag("result", "hit")
+                .functionCounter().count() >= THREADS - 1);
+    }
+
+    @Test
+    void writesEvictTheCachedSession() {
+        sessionService.getSession(session.getId());
+
+        DemoSessionPatchDTO patch = new DemoSessionPatchDTO();
+        patch.setTitle("Renamed");
+        sessionService.patchSession(session.getId(), patch, null);
+        assertEquals("Renamed", sessionService.getSession(session.getId()).getTitle());
+
+        sessionService.registerSeat(session.getId());
+        assertEquals(1, sessionService.getSession(session.getId()).getAttendees());
+
+        sessionService.deleteSession(session.getId());
+        assertThrows(EntityNotFoundException.class, () -> sessionService.getSession(session.getId()));
+    }
+
+    @Test
+    void userUpdatesEvictUsersAndTheSessionsTheyCreated() {
+        String oldEmail = host.getEmail();
+        assertEquals("Host", userService.getUserByEmail(oldEmail).getName());
+        sessionService.getSession(session.getId());
+        SqlStatementCounter.reset();
+        userService.getUser(host.getId());
+        userService.getUser(host.getId());
+        assertEquals(1, SqlStatementCounter.count());
+
+        UserManagementDTO dto = new UserManagementDTO();
+        BeanUtils.copyProperties(host, dto);
+        dto.setName("Renamed Host");
+        dto.setEmail("renamed.host@example.com");
+        userService.updateUser(host.getId(), dto);
+
+        assertEquals("Renamed Host", userService.getUser(host.getId()).getName());
+        assertEquals("Renamed Host", userService.getUserByEmail("renamed.host@example.com").getName());
+        assertThrows(EntityNotFoundException.class, () -> userService.getUserByEmail(oldEmail));
+        assertEquals("Renamed Host", sessionService.getSession(session.getId()).getCreatedBy().getName());
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.DemoSessionDTO;
+import com.example.demo.entity.DemoSession;
+import com.example.demo.entity.UserManagement;
+import com.example.demo.repository.DemoSessionRepository;
+import com.example.demo.repository.UserManagementRepository;
+import com.example.demo.support.TestData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SeatRegistrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeatRegistrationTest.class);
+
+    static final int THREADS = 300;
+    static final int FREE_SEATS = 20;
+
+    @Autowired
+    DemoSessionService sessionService;
+
+    @Autowired
+    DemoSessionRepository sessionRepository;
+
+    @Autowired
+    UserManagementRepository userRepository;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    DemoSession session;
+
+    @BeforeEach
+    void seed() {
+        UserManagement host = userRepository.save(TestData.user("Host"));
+        session = TestData.session("Popular", LocalDate.of(2030, 1, 1), host, List.of());
+        session.setMaxAttendees(100);
+        session.setAttendees(100 - FREE_SEATS);
+        sessionRepository.save(session);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void racingRegistrationsNeverOverbook() throws Exception {
+        ExecutorService threads = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            attempts.add(threads.submit(() -> {
+                start.await();
+                try {
+                    sessionService.registerSeat(session.getId());
+                    return true;
+                } catch (IllegalStateException e) {
+                    return false;  // Full
+                }
+            }));
+        }
+        start.countDown();
+
+        int registered = 0;
+        for (Future<Boolean> attempt : attempts) {
+            registered += attempt.get(1, TimeUnit.MINUTES) ? 1 : 0;
+        }
+        threads.shutdown();
+
+        assertEquals(FREE_SEATS, registered);
+        assertEquals(100, sessionRepository.findById(session.getId()).orElseThrow().getAttendees());
+    }
+
+    @Test
+    void racingRegistrationsAndCancellationsKeepTheCount() throws Exception {
+        ExecutorService threads = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> attempts = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            boolean register = i % 2 == 0;
+            attempts.add(threads.submit(() -> {
+                start.await();
+                try {
+                    int attendees = register
+                            ? sessionService.registerSeat(session.getId()).getAttendees()
+                            : sessionService.unregisterSeat(session.getId()).getAttendees();
+                    assertTrue(attendees >= 0 && attendees <= 100);
+                    return register ? 1 : -1;
+                } catch (IllegalStateException e) {
+                    return 0;
+                }
+            }));
+        }
+        long started = System.nanoTime();
+        start.countDown();
+
+        int delta = 0;
+        for (Future<Integer> attempt : attempts) {
+            delta += attempt.get(1, TimeUnit.MINUTES);
+        }
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        threads.shutdown();
+        logger.info("{} racing seat changes, one per thread, took {} ms ({} per second)",
+                THREADS, elapsedMillis, THREADS * 1000L / elapsedMillis);
+
+        assertEquals(100 - FREE_SEATS + delta, sessionRepository.findById(session.getId()).orElseThrow().getAttendees());
+    }
+
+    @Test
+    void updatesLeaveTheSeatsAlone() {
+        sessionService.registerSeat(session.getId());
+
+        // An editor still holding the count from before the registration
+        DemoSessionDTO stale = new DemoSessionDTO();
+        stale.setAttendees(100 - FREE_SEATS);
+        stale.setTitle("Renamed");
+        stale.setUserIds(List.of());
+        stale.setRole(DemoSessionDTO.ParticipantRole.HOST);
+        sessionService.updateSession(session.getId(), stale);
+
+        DemoSession updated = sessionRepository.findById(session.getId()).orElseThrow();
+        assertEquals("Renamed", updated.getTitle());
+        assertEquals(100 - FREE_SEATS + 1, updated.getAttendees());
+    }
+
+    @Test
+    void endpointsReportFullAndMissingSessions() throws Exception {
+        for (int i = 0; i < FREE_SEATS; i++) {
+            sessionService.registerSeat(session.getId());
+        }
+
+        mockMvc.perform(post("/api/sessions/{id}/register", session.getId()))
+                .andExpect(status().isConflict());
+        mockMvc.perform(post("/api/sessions/{id}/unregister", session.getId()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.attendees").value(99))
+                .andExpect(jsonPath("$.available").value(1));
+        mockMvc.perform(post("/api/sessions/{id}/register", "no-such-session"))
+                .andExpect(status().isNotFound());
+        assertThrows(IllegalStateException.class, () -> {
+            sessionService.registerSeat(session.getId());
+            sessionService.registerSeat(session.getId());
+        });
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.DemoSessionDTO;
+import com.example.demo.dto.SessionFacetsDTO;
+import com.example.demo.entity.DemoSession;
+import com.example.demo.entity.UserManagement;
+import com.example.demo.repository.DemoSessionRepository;
+import com.example.demo.repository.UserManagementRepository;
+import com.example.demo.support.TestData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SessionFacetCounterTest {
+
+    @Autowired
+    SessionFacetCounter facetCounter;
+
+    @Autowired
+    DemoSessionService sessionService;
+
+    @Autowired
+    DemoSessionRepository sessionRepository;
+
+    @Autowired
+    UserManagementRepository userRepository;
+
+    UserManagement host;
+
+    @BeforeEach
+    void seed() {
+        host = userRepository.save(TestData.user("Host"));
+        sessionRepository.save(TestData.session("Seeded", LocalDate.of(2030, 1, 15), host, List.of()));
+        facetCounter.reconcile();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void seedsFromTheDatabase() {
+        SessionFacetsDTO facets = facetCounter.facets();
+
+        assertEquals(1, facets.getTotal());
+        assertEquals(Map.of("Intermediate", 1L), facets.getDifficulty());
+        assertEquals(Map.of("Spring Boot", 1L), facets.getTechnology());
+        assertEquals(Map.of("2030-01", 1L), facets.getMonth());
+    }
+
+    @Test
+    void followsCreateUpdateAndDelete() {
+        DemoSession created = sessionService.createSession(dto("Kafka", LocalDate.of(2030, 2, 1)));
+        assertEquals(Map.of("Spring Boot", 1L, "Kafka", 1L), facetCounter.facets().getTechnology());
+
+        DemoSessionDTO update = dto("Go", LocalDate.of(2030, 1, 20));
+        update.setDifficulty(DemoSession.DifficultyLevel.Advanced);
+        sessionService.updateSession(created.getId(), update);
+        SessionFacetsDTO updated = facetCounter.facets();
+        assertEquals(2, updated.getTotal());
+        assertEquals(Map.of("Spring Boot", 1L, "Go", 1L), updated.getTechnology());
+        assertEquals(Map.of("Intermediate", 1L, "Advanced", 1L), updated.getDifficulty());
+        assertEquals(Map.of("2030-01", 2L), updated.getMonth());
+
+        sessionService.deleteSession(created.getId());
+        SessionFacetsDTO deleted = facetCounter.facets();
+        assertEquals(1, deleted.getTotal());
+        assertEquals(Map.of("Spring Boot", 1L), deleted.getTechnology());
+
+        facetCounter.reconcile();
+        assertEquals(deleted.getDifficulty(), facetCounter.facets().getDifficulty());
+        assertEquals(deleted.getMonth(), facetCounter.facets().getMonth());
+    }
+
+    @Test
+    void reconcileCorrectsWritesThatBypassTheService() {
+        sessionRepository.save(TestData.session("Direct", LocalDate.of(2030, 3, 1), host, List.of()));
+        assertEquals(1, facetCounter.facets().getTotal());
+
+        facetCounter.reconcile();
+
+        assertEquals(2, facetCounter.facets().getTotal());
+        assertEquals(Map.of("2030-01", 1L, "2030-03", 1L), facetCounter.facets().getMonth());
+    }
+
+    private DemoSessionDTO dto(String technology, LocalDate date) {
+        DemoSessionDTO dto = new DemoSessionDTO();
+        dto.setTitle(technology + " session");
+        dto.setTechnology(technology);
+        dto.setDate(date);
+        dto.setTime(LocalTime.of(10, 0));
+        dto.setDescription("About " + technology);
+        dto.setCreatedBy(host.getId());
+        dto.setMaxAttendees(10);
+        dto.setStatus(DemoSession.SessionStatus.upcoming);
+        dto.setLocation("Room 1");
+        dto.setDifficulty(DemoSession.DifficultyLevel.Intermediate);
+        dto.setDuration(60);
+        dto.setType(DemoSession.SessionType.PRODUCT_BASED);
+        dto.setUserIds(List.of());
+        dto.setRole(DemoSessionDTO.ParticipantRole.HOST);
+        return dto;
+    }
+}
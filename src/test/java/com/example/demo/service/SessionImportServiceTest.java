@@ -0,0 +1,173 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.SessionImportResult;
+import com.example.demo.entity.DemoSession;
+import com.example.demo.entity.UserManagement;
+import com.example.demo.repository.DemoSessionRepository;
+import com.example.demo.repository.UserManagementRepository;
+import com.example.demo.support.SqlStatementCounter;
+import com.example.demo.support.TestData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = "app.sessions.import.chunk-size=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SessionImportServiceTest {
+
+    @Autowired
+    SessionImportService importService;
+
+    @Autowired
+    DemoSessionRepository sessionRepository;
+
+    @Autowired
+    UserManagementRepository userRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    @Autowired
+    MockMvc mockMvc;
+
+    UserManagement host;
+    UserManagement guest;
+
+    @BeforeEach
+    void seed() {
+        host = TestData.user("Host");
+        guest = TestData.user("Guest");
+        userRepository.saveAll(List.of(host, guest));
+        SqlStatementCounter.reset();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void importsNdjsonInChunksAndReportsBadRows() {
+        String ndjson = String.join("\n",
+                ndjsonRow("First", guest.getId()),
+                "",
+                ndjsonRow("Second"),
+                "{not json",
+                ndjsonRow("Unknown user", "no-such-user"),
+                ndjsonRow("Third", guest.getId()),
+                "{\"title\": \"Missing fields\", \"role\": \"HOST\"}");
+
+        SessionImportResult result = importService.importNdjson(stream(ndjson), StandardCharsets.UTF_8);
+
+        assertEquals(3, result.getImported());
+        assertEquals(3, result.getFailed());
+        assertEquals(2, result.getChunks());
+        assertEquals(List.of(4L, 5L, 7L), result.getErrors().stream().map(SessionImportResult.RowError::getLine).toList());
+        assertTrue(result.getErrors().get(1).getMessage().contains("no-such-user"));
+
+        assertEquals(3, sessionRepository.count());
+        transactionTemplate.executeWithoutResult(status -> {
+            DemoSession first = titled("First");
+            assertEquals(host.getId(), first.getCreatedBy().getId());
+            assertEquals(List.of(guest.getId()), first.getUsers().stream().map(UserManagement::getId).toList());
+            assertEquals(DemoSession.DifficultyLevel.Advanced, first.getDifficulty());
+        });
+    }
+
+    @Test
+    void checksReferencedUsersOncePerImport() {
+        StringBuilder ndjson = new StringBuilder();
+        for (int i = 0; i < 6; i++) {
+            ndjson.append(ndjsonRow("Session " + i, guest.getId())).append('\n');
+        }
+
+        SessionImportResult result = importService.importNdjson(stream(ndjson.toString()), StandardCharsets.UTF_8);
+
+        assertEquals(6, result.getImported());
+        assertEquals(3, result.getChunks());
+        // Only the first chunk has users to look up; later chunks go straight to the inserts
+        assertEquals(1, SqlStatementCounter.statements().stream().filter(sql -> sql.startsWith("select")).count());
+    }
+
+    @Test
+    void importsCsvWithQuotedFields() throws Exception {
+        String csv = "title,technology,date,time,description,createdBy,maxAttendees,status,location,difficulty,type,role,userIds\n"
+                + "\"Kafka, in depth\",Kafka,2030-01-02,10:00,\"Line one\nline two\"," + host.getId() + ",20,upcoming,Room 1,Advanced,PRODUCT_BASED,HOST," + guest.getId() + "\n"
+                + "Bad date,Kafka,tomorrow,10:00,Text," + host.getId() + ",20,upcoming,Room 1,Advanced,PRODUCT_BASED,HOST,\n";
+
+        mockMvc.perform(post("/api/sessions/import").contentType("text/csv").content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(4));
+
+        transactionTemplate.executeWithoutResult(status -> {
+            DemoSession session = titled("Kafka, in depth");
+            assertEquals("Line one\nline two", session.getDescription());
+            assertEquals(1, session.getUsers().size());
+        });
+    }
+
+    @Test
+    void unterminatedQuoteIsReportedAfterTheCommittedRows() throws Exception {
+        String row = "Java,2030-01-02,10:00,Text," + host.getId() + ",20,upcoming,Room 1,Advanced,PRODUCT_BASED,HOST\n";
+        String csv = "title,technology,date,time,description,createdBy,maxAttendees,status,location,difficulty,type,role\n"
+                + "First," + row + "Second," + row + "Third," + row
+                + "\"Never closed," + row + "Fourth," + row;
+
+        mockMvc.perform(post("/api/sessions/import").contentType("text/csv").content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(3))
+                .andExpect(jsonPath("$.chunks").value(2))
+                .andExpect(jsonPath("$.failed").value(1))
+                .andExpect(jsonPath("$.errors[0].line").value(5))
+                .andExpect(jsonPath("$.errors[0].message").value("Unterminated quoted field; nothing after it was read"));
+
+        assertEquals(3, sessionRepository.count());
+    }
+
+    @Test
+    void rejectsUnknownCsvColumns() throws Exception {
+        mockMvc.perform(post("/api/sessions/import").contentType("text/csv").content("title,colour\nA,red\n"))
+                .andExpect(status().isBadRequest());
+    }
+
+    private DemoSession titled(String title) {
+        return sessionRepository.findAll().stream().filter(s -> s.getTitle().equals(title)).findFirst().orElseThrow();
+    }
+
+    private String ndjsonRow(String title, String... userIds) {
+        return "{\"title\": \"" + title + "\", \"technology\": \"Java\", \"date\": \"2030-01-01\", \"time\": \"09:30\", "
+                + "\"description\": \"About " + title + "\", \"createdBy\": \"" + host.getId() + "\", \"maxAttendees\": 30, "
+                + "\"status\": \"upcoming\", \"location\": \"Room 2\", \"difficulty\": \"Advanced\", \"duration\": 45, "
+                + "\"type\": \"PRODUCT_BASED\", \"role\": \"HOST\", \"userIds\": [" + quoted(userIds) + "]}";
+    }
+
+    private static String quoted(String... values) {
+        return String.join(", ", Arrays.stream(values).map(v -> "\"" + v + "\"").toList());
+    }
+
+    private static InputStream stream(String text) {
+        return new ByteArrayInputStream(text.getBytes(StandardCharsets.UTF_8));
+    }
+}
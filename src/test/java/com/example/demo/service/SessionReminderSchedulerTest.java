@@ -0,0 +1,204 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.DemoSessionDTO;
+import com.example.demo.entity.DemoSession;
+import com.example.demo.entity.EmailOutbox;
+import com.example.demo.entity.UserManagement;
+import com.example.demo.repository.DemoSessionRepository;
+import com.example.demo.repository.EmailOutboxRepository;
+import com.example.demo.repository.UserManagementRepository;
+import com.example.demo.support.TestData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Reminders queued by the scheduler, driven by hand: due sessions, and sessions that were
+ * rescheduled, cancelled, deleted or already reminded after they were indexed
+ */
+@SpringBootTest(properties = {
+        "app.reminders.enabled=true",
+        "app.reminders.poll-interval=PT1H",
+        "app.reminders.window=PT6H"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class SessionReminderSchedulerTest {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    SessionReminderScheduler scheduler;
+
+    @Autowired
+    SessionReminderService reminderService;
+
+    @Autowired
+    SettingsTeamService settingsTeamService;
+
+    @Autowired
+    DemoSessionService sessionService;
+
+    @Autowired
+    DemoSessionRepository sessionRepository;
+
+    @Autowired
+    UserManagementRepository userRepository;
+
+    @Autowired
+    EmailOutboxRepository outboxRepository;
+
+    UserManagement host;
+    UserManagement guest;
+    int reminderHours;
+
+    @BeforeEach
+    void seed() {
+        host = userRepository.save(TestData.user("Host"));
+        guest = userRepository.save(TestData.user("Guest"));
+        reminderHours = settingsTeamService.getSessionReminderHours();
+        scheduler.tick();  // Index the window, so later sessions arrive through change events
+    }
+
+    @AfterEach
+    void cleanUp() {
+        outboxRepository.deleteAll();
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void dueReminderIsQueuedOnce() {
+        DemoSession session = create(startingIn(-5));
+
+        scheduler.tick();
+
+        assertEquals(2, reminders(session), "The creator and the participant");
+        assertNotNull(sessionRepository.findById(session.getId()).orElseThrow().getReminderSentAt());
+
+        // Neither the next tick, a change event nor a direct call sends it again
+        scheduler.tick();
+        DemoSessionDTO renamed = changes();
+        renamed.setTitle("Renamed");
+        sessionService.updateSession(session.getId(), renamed);
+        scheduler.tick();
+        assertEquals(0, reminderService.queueReminders(List.of(session.getId()), LocalDateTime.now(), reminderHours));
+        assertEquals(2, reminders(session));
+    }
+
+    @Test
+    void remindedSessionIsServedWithItsNewVersion() throws Exception {
+        DemoSession session = create(startingIn(-5));
+        String before = mockMvc.perform(get("/api/sessions/{id}", session.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        scheduler.tick();
+
+        // The cached copy is gone, so the ETag carries the version the reminder wrote
+        String after = mockMvc.perform(get("/api/sessions/{id}", session.getId()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotEquals(before, after);
+        mockMvc.perform(patch("/api/sessions/{id}", session.getId())
+                        .header(HttpHeaders.IF_MATCH, after)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"rating\": 4}"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void rescheduledOutOfTheWindowIsNotReminded() {
+        DemoSession session = create(startingIn(-5));
+
+        DemoSessionDTO later = changes();
+        later.setDate(session.getDate().plusDays(30));
+        sessionService.updateSession(session.getId(), later);
+        scheduler.tick();
+
+        assertEquals(0, reminders(session));
+
+        // Moved back, it is indexed again and reminded
+        DemoSessionDTO back = changes();
+        back.setDate(session.getDate());
+        sessionService.updateSession(session.getId(), back);
+        scheduler.tick();
+
+        assertEquals(2, reminders(session));
+    }
+
+    @Test
+    void cancelledOrDeletedSessionIsNotReminded() {
+        DemoSession cancelled = create(startingIn(-5));
+        DemoSession deleted = create(startingIn(-5));
+
+        DemoSessionDTO cancel = changes();
+        cancel.setStatus(DemoSession.SessionStatus.cancelled);
+        sessionService.updateSession(cancelled.getId(), cancel);
+        sessionService.deleteSession(deleted.getId());
+        scheduler.tick();
+
+        assertEquals(0, reminders(cancelled));
+        assertEquals(0, reminders(deleted));
+    }
+
+    /**
+     * Start time whose reminder is due the given number of minutes from now
+     */
+    private LocalDateTime startingIn(int minutes) {
+        return LocalDateTime.now().plusHours(reminderHours).plusMinutes(minutes).truncatedTo(ChronoUnit.SECONDS);
+    }
+
+    private DemoSession create(LocalDateTime start) {
+        DemoSessionDTO dto = new DemoSessionDTO();
+        dto.setTitle("Reminded session");
+        dto.setTechnology("Spring Boot");
+        dto.setDate(start.toLocalDate());
+        dto.setTime(start.toLocalTime());
+        dto.setDescription("About reminders");
+        dto.setCreatedBy(host.getId());
+        dto.setMaxAttendees(10);
+        dto.setStatus(DemoSession.SessionStatus.upcoming);
+        dto.setLocation("Room 1");
+        dto.setDifficulty(DemoSession.DifficultyLevel.Intermediate);
+        dto.setDuration(60);
+        dto.setType(DemoSession.SessionType.PRODUCT_BASED);
+        dto.setUserIds(List.of(guest.getId()));
+        dto.setRole(DemoSessionDTO.ParticipantRole.HOST);
+        return sessionService.createSession(dto);
+    }
+
+    /**
+     * Update that keeps the participants and changes only the fields the caller sets
+     */
+    private DemoSessionDTO changes() {
+        DemoSessionDTO dto = new DemoSessionDTO();
+        dto.setUserIds(List.of(guest.getId()));
+        dto.setRole(DemoSessionDTO.ParticipantRole.HOST);
+        return dto;
+    }
+
+    private long reminders(DemoSession session) {
+        return outboxRepository.findAll().stream()
+                .filter(entry -> entry.getType() == EmailOutbox.EmailType.SESSION_REMINDER)
+                .filter(entry -> entry.getSessionId().equals(session.getId()))
+                .count();
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.SessionSearchDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SessionSearchIndexTest {
+
+    SessionSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SessionSearchIndex(null, null, null);
+        index.rebuild(Stream.of(
+                new SessionSearchDocument("k8s", "Kubernetes in Production", "Kubernetes", "Operators and upgrades", null),
+                new SessionSearchDocument("boot", "Spring Boot Testing", "Spring Boot", "Slices, mocks and Testcontainers", "Java basics"),
+                new SessionSearchDocument("reactive", "Reactive Spring", "Spring WebFlux", "Deploying to Kubernetes", null),
+                new SessionSearchDocument("cpp", "Modern C++", "C++", "Ranges and modules", null)));
+    }
+
+    @Test
+    void matchesPrefixesAndRanksTitleAboveDescription() {
+        SessionSearchIndex.Hits hits = index.search("kube", 0, 10);
+
+        assertEquals(List.of("k8s", "reactive"), hits.sessionIds());
+        assertEquals(2, hits.total());
+    }
+
+    @Test
+    void requiresEveryWord() {
+        assertEquals(List.of("reactive"), index.search("Spring kubernetes", 0, 10).sessionIds());
+        assertEquals(0, index.search("spring rust", 0, 10).total());
+    }
+
+    @Test
+    void keepsSymbolsThatBelongToTheWord() {
+        assertEquals(List.of("cpp"), index.search("c++", 0, 10).sessionIds());
+        assertEquals(List.of("c", "c++"), SessionSearchIndex.tokenize("C + C++"));
+    }
+
+    @Test
+    void pagesThroughRankedResults() {
+        SessionSearchIndex.Hits second = index.search("spring", 1, 1);
+
+        assertEquals(2, second.total());
+        assertEquals(1, second.sessionIds().size());
+        assertEquals(0, index.search("spring", 5, 10).sessionIds().size());
+    }
+
+    @Test
+    void appliesUpdatesAndDeletes() {
+        index.put(new SessionSearchDocument("k8s", "Nomad in Production", "Nomad", "Schedulers", null));
+        index.remove("reactive");
+
+        assertEquals(0, index.search("kubernetes", 0, 10).total());
+        assertEquals(List.of("k8s"), index.search("nomad", 0, 10).sessionIds());
+    }
+
+    @Test
+    void cappedPrefixExpansionKeepsTheMostFrequentTermsAndSaysSo() {
+        // One rare "dbNN" term per session, then "dbzz" shared by three; alphabetically it comes last
+        List<SessionSearchDocument> documents = new ArrayList<>();
+        for (int i = 0; i < SessionSearchIndex.MAX_PREFIX_EXPANSION + 10; i++) {
+            documents.add(new SessionSearchDocument("rare" + i, "db%03d".formatted(i), "Databases", null, null));
+        }
+        for (int i = 0; i < 3; i++) {
+            documents.add(new SessionSearchDocument("common" + i, "dbzz", "Databases", null, null));
+        }
+        index.rebuild(documents.stream());
+
+        SessionSearchIndex.Hits prefix = index.search("db", 0, 100);
+        assertTrue(prefix.approximate());
+        assertTrue(prefix.sessionIds().containsAll(List.of("common0", "common1", "common2")), prefix.sessionIds().toString());
+        assertEquals(SessionSearchIndex.MAX_PREFIX_EXPANSION + 2, prefix.total());
+
+        assertFalse(index.search("dbzz", 0, 10).approximate());
+        assertFalse(index.search("databases", 0, 10).approximate());
+    }
+
+    @Test
+    void refusesSearchesBeforeTheFirstBuild() {
+        SessionSearchIndex empty = new SessionSearchIndex(null, null, null);
+
+        assertThrows(IllegalStateException.class, () -> empty.search("spring", 0, 10));
+    }
+}
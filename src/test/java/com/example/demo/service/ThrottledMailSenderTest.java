@@ -0,0 +1,197 @@
+package com.example.demo.service;
+
+import com.example.demo.service.ThrottledMailSender.RejectionPolicy;
+import com.example.demo.support.FakeSmtpServer;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.springframework.mail.javamail.MimeMessageHelper;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Rate limit, queue rejection policies and 4xx retries against a fake SMTP server
+ */
+class ThrottledMailSenderTest {
+
+    static final FakeSmtpServer smtp = new FakeSmtpServer();
+
+    final JavaMailSenderImpl mailSender = new JavaMailSenderImpl();
+    final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    final List<ThrottledMailSender> senders = new ArrayList<>();
+
+    @AfterAll
+    static void stopSmtp() {
+        smtp.close();
+    }
+
+    @BeforeEach
+    void resetSmtp() {
+        smtp.reset();
+        smtp.withLatency(Duration.ZERO).withTransientFailureRate(0).withPermanentFailureRate(0);
+        mailSender.setHost("localhost");
+        mailSender.setPort(smtp.getPort());
+    }
+
+    @AfterEach
+    void stopSenders() throws InterruptedException {
+        for (ThrottledMailSender sender : senders) {
+            sender.shutdown();
+        }
+    }
+
+    @Test
+    void connectionsNeverCarryMoreThanTheBurst() {
+        ThrottledMailSender sender = sender(600, 5, 1, 10, RejectionPolicy.ABORT, 3);  // 10 per second
+
+        long started = System.nanoTime();
+        sender.send(messages(12));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        assertEquals(12, smtp.getAccepted());
+        assertEquals(3, smtp.getTotalConnections());
+        assertTrue(elapsedMillis >= 600, "7 messages beyond the burst at 10/s took " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void retriesTransientFailuresWithBackoff() {
+        ThrottledMailSender sender = sender(600_000, 100, 1, 10, RejectionPolicy.ABORT, 3);
+        smtp.withTransientFailures(2);
+
+        long started = System.nanoTime();
+        sender.send(messages(2));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+
+        assertEquals(2, smtp.getAccepted());
+        assertEquals(2, smtp.getTransientFailures());
+        assertEquals(2, meterRegistry.counter("mail.outbound.retries").count());
+        assertTrue(elapsedMillis >= 50, "Retried after " + elapsedMillis + " ms");
+    }
+
+    @Test
+    void givesUpAfterMaxAttemptsAndDoesNotRetryPermanentFailures() {
+        ThrottledMailSender sender = sender(600_000, 100, 1, 10, RejectionPolicy.ABORT, 3);
+
+        smtp.withTransientFailureRate(1.0);
+        long started = System.nanoTime();
+        MailSendException transientFailure = assertThrows(MailSendException.class, () -> sender.send(messages(1)));
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        assertEquals(1, transientFailure.getFailedMessages().size());
+        assertEquals(3, smtp.getTransientFailures());
+        assertTrue(elapsedMillis >= 50 + 100, "Backoff doubles: gave up after " + elapsedMillis + " ms");
+
+        smtp.withTransientFailureRate(0).withPermanentFailureRate(1.0);
+        assertThrows(MailSendException.class, () -> sender.send(messages(1)));
+        assertEquals(1, smtp.getPermanentFailures());
+        assertEquals(2, meterRegistry.counter("mail.outbound.retries").count());
+    }
+
+    @Test
+    void abortRejectsWhenTheQueueIsFull() throws Exception {
+        ThrottledMailSender sender = sender(600_000, 100, 1, 1, RejectionPolicy.ABORT, 1);
+        List<CompletableFuture<Void>> busy = fillQueue(sender, meterRegistry);
+
+        MailSendException e = assertThrows(MailSendException.class, () -> sender.send(messages(1)));
+
+        assertTrue(e.getMessage().contains("queue is full"), e.getMessage());
+        assertEquals(1, meterRegistry.counter("mail.outbound.rejected").count());
+        CompletableFuture.allOf(busy.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+        assertEquals(2, smtp.getAccepted());
+    }
+
+    @Test
+    void callerRunsSendsOnTheCallingThread() throws Exception {
+        ThrottledMailSender sender = sender(600_000, 100, 1, 1, RejectionPolicy.CALLER_RUNS, 1);
+        List<CompletableFuture<Void>> busy = fillQueue(sender, meterRegistry);
+
+        sender.send(messages(1));
+
+        assertEquals(1, meterRegistry.counter("mail.outbound.rejected").count());
+        assertTrue(smtp.getAccepted() >= 1);
+        CompletableFuture.allOf(busy.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+        assertEquals(3, smtp.getAccepted());
+    }
+
+    @Test
+    void blockWaitsForQueueSpaceUntilTheTimeout() throws Exception {
+        ThrottledMailSender patient = sender(600_000, 100, 1, 1, RejectionPolicy.BLOCK, 1);
+        List<CompletableFuture<Void>> busy = fillQueue(patient, meterRegistry);
+
+        patient.send(messages(1));  // Waits for the queued request to start, well within the default timeout
+
+        CompletableFuture.allOf(busy.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+        assertEquals(3, smtp.getAccepted());
+
+        SimpleMeterRegistry impatientRegistry = new SimpleMeterRegistry();
+        ThrottledMailSender impatient = new ThrottledMailSender(mailSender, impatientRegistry, true,
+                600_000, 100, 1, 1, RejectionPolicy.BLOCK, Duration.ofMillis(50), 1, Duration.ofMillis(50));
+        senders.add(impatient);
+        busy = fillQueue(impatient, impatientRegistry);
+
+        MailSendException e = assertThrows(MailSendException.class, () -> impatient.send(messages(1)));
+
+        assertTrue(e.getMessage().contains("queue is full"), e.getMessage());
+        CompletableFuture.allOf(busy.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Occupy the only sender thread and the only queue slot with slow sends
+     */
+    private List<CompletableFuture<Void>> fillQueue(ThrottledMailSender sender, MeterRegistry registry)
+            throws InterruptedException {
+        smtp.withLatency(Duration.ofMillis(500));
+        List<CompletableFuture<Void>> busy = new ArrayList<>();
+        busy.add(CompletableFuture.runAsync(() -> sender.send(messages(1))));
+        busy.add(CompletableFuture.runAsync(() -> sender.send(messages(1))));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (queueDepth(registry) < 1 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, queueDepth(registry), "One request running, one queued");
+        return busy;
+    }
+
+    private static double queueDepth(MeterRegistry registry) {
+        return registry.get("mail.outbound.queue.depth").gauge().value();
+    }
+
+    private ThrottledMailSender sender(int permitsPerMinute, int burst, int threads, int queueCapacity,
+                                       RejectionPolicy policy, int maxAttempts) {
+        ThrottledMailSender sender = new ThrottledMailSender(mailSender, meterRegistry, true, permitsPerMinute, burst,
+                threads, queueCapacity, policy, Duration.ofSeconds(10), maxAttempts, Duration.ofMillis(50));
+        senders.add(sender);
+        return sender;
+    }
+
+    private MimeMessage[] messages(int count) {
+        MimeMessage[] messages = new MimeMessage[count];
+        try {
+            for (int i = 0; i < count; i++) {
+                messages[i] = mailSender.createMimeMessage();
+                MimeMessageHelper helper = new MimeMessageHelper(messages[i], "UTF-8");
+                helper.setFrom("noreply@example.com");
+                helper.setTo("user" + i + "@example.com");
+                helper.setSubject("Subject " + i);
+                helper.setText("Body " + i);
+            }
+        } catch (MessagingException e) {
+            throw new IllegalStateException(e);
+        }
+        return messages;
+    }
+}
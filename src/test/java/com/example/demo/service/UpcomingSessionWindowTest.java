@@ -0,0 +1,154 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.DemoSessionDTO;
+import com.example.demo.dto.DemoSessionSummaryDTO;
+import com.example.demo.dto.PaginatedResponse;
+import com.example.demo.dto.UserManagementDTO;
+import com.example.demo.entity.DemoSession;
+import com.example.demo.entity.UserManagement;
+import com.example.demo.repository.DemoSessionRepository;
+import com.example.demo.repository.UserManagementRepository;
+import com.example.demo.support.TestData;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UpcomingSessionWindowTest {
+
+    static final PageRequest FIRST_PAGE = PageRequest.of(0, 10, UpcomingSessionWindow.ORDER);
+
+    @Autowired
+    UpcomingSessionWindow upcomingWindow;
+
+    @Autowired
+    DemoSessionService sessionService;
+
+    @Autowired
+    UserManagementService userService;
+
+    @Autowired
+    DemoSessionRepository sessionRepository;
+
+    @Autowired
+    UserManagementRepository userRepository;
+
+    UserManagement host;
+    LocalDate today;
+
+    @BeforeEach
+    void seed() {
+        today = LocalDate.now();
+        host = userRepository.save(TestData.user("Host"));
+        sessionRepository.save(TestData.session("Seeded", today.plusDays(2), host, List.of()));
+        sessionRepository.save(TestData.session("Past", today.minusDays(1), host, List.of()));
+        sessionRepository.save(TestData.session("Later", today.plusDays(60), host, List.of()));
+        upcomingWindow.reload();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+        upcomingWindow.reload();
+    }
+
+    @Test
+    void loadsTheWindowAndCountsLaterSessions() {
+        Page<DemoSessionSummaryDTO> page = upcomingWindow.page(today, PageRequest.of(0, 1, UpcomingSessionWindow.ORDER));
+
+        assertNotNull(page);
+        assertEquals(List.of("Seeded"), titles(page));
+        assertEquals("Host", page.getContent().get(0).getCreatedByName());
+        assertEquals(2, page.getTotalElements());
+
+        // Past the window, in another order, or on another day the repository answers
+        assertNull(upcomingWindow.page(today, FIRST_PAGE));
+        assertNull(upcomingWindow.page(today, PageRequest.of(0, 1, Sort.by("date").ascending())));
+        assertNull(upcomingWindow.page(today.plusDays(1), PageRequest.of(0, 1, UpcomingSessionWindow.ORDER)));
+    }
+
+    @Test
+    void followsCreateUpdateSeatsAndDelete() {
+        DemoSession created = sessionService.createSession(dto("Kafka", today.plusDays(1), LocalTime.of(9, 0)));
+        assertEquals(List.of("Kafka session", "Seeded"), titles(windowPage(1)));
+
+        sessionService.registerSeat(created.getId());
+        assertEquals(1, windowPage(1).getContent().get(0).getAttendees());
+
+        // Moved past the window: only counted
+        sessionService.updateSession(created.getId(), dto("Kafka", today.plusDays(40), LocalTime.of(9, 0)));
+        Page<DemoSessionSummaryDTO> moved = upcomingWindow.page(today, PageRequest.of(0, 1, UpcomingSessionWindow.ORDER));
+        assertEquals(List.of("Seeded"), titles(moved));
+        assertEquals(3, moved.getTotalElements());
+
+        sessionService.updateSession(created.getId(), dto("Go", today, LocalTime.of(18, 0)));
+        assertEquals(List.of("Go session", "Seeded"), titles(windowPage(1)));
+
+        sessionService.deleteSession(created.getId());
+        assertEquals(List.of("Seeded"), titles(upcomingWindow.page(today, PageRequest.of(0, 1, UpcomingSessionWindow.ORDER))));
+    }
+
+    @Test
+    void userRenamesAreNeverServedStale() {
+        UserManagementDTO dto = new UserManagementDTO();
+        BeanUtils.copyProperties(userService.getUser(host.getId()), dto);
+        dto.setName("Renamed Host");
+        userService.updateUser(host.getId(), dto);
+
+        DemoSessionSummaryDTO first = sessionService
+                .getUpcomingSessions(FIRST_PAGE, PaginatedResponse.Totals.EXACT).getContent().get(0);
+        assertEquals("Renamed Host", first.getCreatedByName());
+
+        upcomingWindow.reload();
+        Page<DemoSessionSummaryDTO> page = upcomingWindow.page(today, PageRequest.of(0, 1, UpcomingSessionWindow.ORDER));
+        assertNotNull(page);
+        assertEquals("Renamed Host", page.getContent().get(0).getCreatedByName());
+    }
+
+    private Page<DemoSessionSummaryDTO> windowPage(int later) {
+        Page<DemoSessionSummaryDTO> page = upcomingWindow.page(today, PageRequest.of(0, 2, UpcomingSessionWindow.ORDER));
+        assertNotNull(page);
+        assertEquals(2 + later, page.getTotalElements());
+        return page;
+    }
+
+    private static List<String> titles(Page<DemoSessionSummaryDTO> page) {
+        return page.getContent().stream().map(DemoSessionSummaryDTO::getTitle).toList();
+    }
+
+    private DemoSessionDTO dto(String technology, LocalDate date, LocalTime time) {
+        DemoSessionDTO dto = new DemoSessionDTO();
+        dto.setTitle(technology + " session");
+        dto.setTechnology(technology);
+        dto.setDate(date);
+        dto.setTime(time);
+        dto.setDescription("About " + technology);
+        dto.setCreatedBy(host.getId());
+        dto.setMaxAttendees(10);
+        dto.setStatus(DemoSession.SessionStatus.upcoming);
+        dto.setLocation("Room 1");
+        dto.setDifficulty(DemoSession.DifficultyLevel.Intermediate);
+        dto.setDuration(60);
+        dto.setType(DemoSession.SessionType.PRODUCT_BASED);
+        dto.setUserIds(List.of());
+        dto.setRole(DemoSessionDTO.ParticipantRole.HOST);
+        return dto;
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.WeeklyReport;
+import com.example.demo.entity.DemoSession;
+import com.example.demo.entity.EmailOutbox;
+import com.example.demo.entity.UserManagement;
+import com.example.demo.repository.DemoSessionRepository;
+import com.example.demo.repository.EmailOutboxRepository;
+import com.example.demo.repository.UserManagementRepository;
+import com.example.demo.support.FakeSmtpServer;
+import com.example.demo.support.TestData;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Weekly reports are queued in the outbox while the report query streams, and only the
+ * dispatcher sends them. Batches of 2 here.
+ */
+@SpringBootTest(properties = {
+        "app.reports.weekly.enabled=true",
+        "app.reports.weekly.batch-size=2",
+        "app.mail.outbox.dispatcher.enabled=true",
+        "app.mail.outbox.poll-interval=PT1H"
+})
+@ActiveProfiles("test")
+class WeeklyReportJobTest {
+
+    static final LocalDate WEEK_START = LocalDate.of(2030, 1, 7);
+    static final LocalDate WEEK_END = WEEK_START.plusWeeks(1);
+
+    static final FakeSmtpServer smtp = new FakeSmtpServer().keepMessages(true);
+
+    @DynamicPropertySource
+    static void mailProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.mail.port", smtp::getPort);
+    }
+
+    @AfterAll
+    static void stopSmtp() {
+        smtp.close();
+    }
+
+    @Autowired
+    WeeklyReportJob job;
+
+    @Autowired
+    EmailOutboxDispatcher dispatcher;
+
+    @Autowired
+    EmailOutboxService outboxService;
+
+    @Autowired
+    EmailOutboxRepository outboxRepository;
+
+    @Autowired
+    DemoSessionRepository sessionRepository;
+
+    @Autowired
+    UserManagementRepository userRepository;
+
+    List<UserManagement> attendees;
+
+    @BeforeEach
+    void seed() {
+        outboxRepository.deleteAll();
+        smtp.reset();
+        UserManagement host = userRepository.save(TestData.user("Host"));
+        attendees = userRepository.saveAll(List.of(TestData.user("Ann"), TestData.user("Bob"), TestData.user("Cid")));
+
+        DemoSession monday = TestData.session("Monday", WEEK_START, host, attendees);
+        monday.setRating(4);
+        DemoSession friday = TestData.session("Friday", WEEK_START.plusDays(4), host, attendees.subList(0, 1));
+        friday.setDuration(30);
+        DemoSession cancelled = TestData.session("Cancelled", WEEK_START.plusDays(2), host, attendees);
+        cancelled.setStatus(DemoSession.SessionStatus.cancelled);
+        DemoSession nextWeek = TestData.session("Next week", WEEK_END, host, attendees);
+        sessionRepository.saveAll(List.of(monday, friday, cancelled, nextWeek));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        outboxRepository.deleteAll();
+        sessionRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void queuesReportsWithoutSending() {
+        job.sendReports(WEEK_START, WEEK_END);
+
+        assertEquals(0, smtp.getTotalConnections());
+        List<EmailOutbox> entries = outboxRepository.findAll();
+        assertEquals(3, entries.size());
+        for (EmailOutbox entry : entries) {
+            assertEquals(EmailOutbox.EmailType.WEEKLY_REPORT, entry.getType());
+            assertEquals(EmailOutbox.OutboxStatus.PENDING, entry.getStatus());
+            assertNull(entry.getSessionId());
+        }
+
+        WeeklyReport ann = entries.stream()
+                .filter(entry -> entry.getRecipientId().equals(attendees.get(0).getId()))
+                .map(outboxService::weeklyReport)
+                .findFirst()
+                .orElseThrow();
+        assertEquals(2, ann.getSessionsAttended());
+        assertEquals(90, ann.getTotalMinutes());
+        assertEquals(1, ann.getRatedSessions());
+        assertEquals(4, ann.getRatingSum());
+        assertEquals(WEEK_START, ann.getWeekStart());
+    }
+
+    @Test
+    void dispatcherSendsTheQueuedReports() throws Exception {
+        job.sendReports(WEEK_START, WEEK_END);
+
+        dispatcher.dispatch();
+
+        assertEquals(3, smtp.getAccepted());
+        List<String> recipients = smtp.getMessages().stream()
+                .map(message -> message.recipients().get(0))
+                .sorted(Comparator.naturalOrder())
+                .toList();
+        assertEquals(List.of("<ann@example.com>", "<bob@example.com>", "<cid@example.com>"), recipients);
+        assertTrue(smtp.getMessages().get(0).data().contains("Subject: Your weekly demo session report"));
+        assertTrue(outboxRepository.findAll().stream()
+                .allMatch(entry -> entry.getStatus() == EmailOutbox.OutboxStatus.SENT));
+    }
+}
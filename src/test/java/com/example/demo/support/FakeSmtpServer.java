@@ -0,0 +1,279 @@
+package com.example.demo.support;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process SMTP server for tests and benchmarks. Speaks just enough SMTP for JavaMail
+ * without AUTH or STARTTLS (EHLO/HELO, MAIL, RCPT, DATA, RSET, NOOP, QUIT) and can
+ * inject latency and failures:
+ * <ul>
+ *   <li>{@code latency}: delay before accepting each message, like a slow provider</li>
+ *   <li>{@code transientFailureRate}: share of messages rejected with 451 (retryable)</li>
+ *   <li>{@code permanentFailureRate}: share of messages rejected with 550</li>
+ *   <li>{@code transientFailures}: number of upcoming messages rejected with 451</li>
+ * </ul>
+ * Point the application at it with {@code spring.mail.host=localhost},
+ * {@code spring.mail.port=<getPort()>} and SMTP auth/STARTTLS disabled.
+ */
+public class FakeSmtpServer implements AutoCloseable {
+
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "fake-smtp");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Duration latency = Duration.ZERO;
+    private volatile double transientFailureRate;
+    private volatile double permanentFailureRate;
+    private volatile boolean keepMessages;
+    private final AtomicInteger failNext = new AtomicInteger();
+
+    private final AtomicLong accepted = new AtomicLong();
+    private final AtomicLong transientFailures = new AtomicLong();
+    private final AtomicLong permanentFailures = new AtomicLong();
+    private final AtomicLong totalConnections = new AtomicLong();
+    private final List<Message> messages = new ArrayList<>();
+
+    public record Message(String from, List<String> recipients, String data) {
+    }
+
+    public FakeSmtpServer() {
+        try {
+            serverSocket = new ServerSocket(0, 200, InetAddress.getLoopbackAddress());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        connections.execute(this::acceptLoop);
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    public FakeSmtpServer withLatency(Duration latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    public FakeSmtpServer withTransientFailureRate(double rate) {
+        this.transientFailureRate = rate;
+        return this;
+    }
+
+    public FakeSmtpServer withPermanentFailureRate(double rate) {
+        this.permanentFailureRate = rate;
+        return this;
+    }
+
+    /**
+     * Reject the next {@code count} messages with 451, then accept again
+     */
+    public FakeSmtpServer withTransientFailures(int count) {
+        this.failNext.set(count);
+        return this;
+    }
+
+    /**
+     * Keep accepted messages for inspection via {@link #getMessages()}; off by default
+     * so long benchmark runs do not accumulate them
+     */
+    public FakeSmtpServer keepMessages(boolean keep) {
+        this.keepMessages = keep;
+        return this;
+    }
+
+    public long getAccepted() {
+        return accepted.get();
+    }
+
+    public long getTransientFailures() {
+        return transientFailures.get();
+    }
+
+    public long getPermanentFailures() {
+        return permanentFailures.get();
+    }
+
+    public long getTotalConnections() {
+        return totalConnections.get();
+    }
+
+    public synchronized List<Message> getMessages() {
+        return List.copyOf(messages);
+    }
+
+    public synchronized void reset() {
+        accepted.set(0);
+        transientFailures.set(0);
+        permanentFailures.set(0);
+        totalConnections.set(0);
+        failNext.set(0);
+        messages.clear();
+    }
+
+    /**
+     * Wait until at least {@code count} messages have been accepted
+     *
+     * @return Whether the count was reached before the timeout
+     */
+    public boolean awaitAccepted(long count, Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        synchronized (accepted) {
+            while (accepted.get() < count) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return false;
+                }
+                TimeUnit.NANOSECONDS.timedWait(accepted, remaining);
+            }
+            return true;
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            serverSocket.close();
+        } catch (IOException ignored) {
+            // Closing anyway
+        }
+        connections.shutdownNow();
+    }
+
+    private void acceptLoop() {
+        while (!serverSocket.isClosed()) {
+            try {
+                Socket socket = serverSocket.accept();
+                totalConnections.incrementAndGet();
+                connections.execute(() -> handle(socket));
+            } catch (SocketException e) {
+                return;  // Server closed
+            } catch (IOException e) {
+                // Keep accepting
+            }
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+             OutputStream out = socket.getOutputStream()) {
+            reply(out, "220 localhost fake SMTP ready");
+
+            String from = null;
+            List<String> recipients = new ArrayList<>();
+            String line;
+            while ((line = in.readLine()) != null) {
+                String command = line.length() >= 4 ? line.substring(0, 4).toUpperCase() : line.toUpperCase();
+                switch (command) {
+                    case "EHLO" -> reply(out, "250-localhost\r\n250-8BITMIME\r\n250 SIZE 52428800");
+                    case "HELO" -> reply(out, "250 localhost");
+                    case "MAIL" -> {
+                        from = argument(line);
+                        recipients.clear();
+                        reply(out, "250 OK");
+                    }
+                    case "RCPT" -> {
+                        recipients.add(argument(line));
+                        reply(out, "250 OK");
+                    }
+                    case "DATA" -> {
+                        reply(out, "354 End data with <CR><LF>.<CR><LF>");
+                        String data = readData(in);
+                        reply(out, deliver(from, List.copyOf(recipients), data));
+                        from = null;
+                        recipients.clear();
+                    }
+                    case "RSET" -> {
+                        from = null;
+                        recipients.clear();
+                        reply(out, "250 OK");
+                    }
+                    case "NOOP" -> reply(out, "250 OK");
+                    case "QUIT" -> {
+                        reply(out, "221 Bye");
+                        return;
+                    }
+                    default -> reply(out, "502 Command not implemented");
+                }
+            }
+        } catch (IOException e) {
+            // Client went away
+        }
+    }
+
+    private String deliver(String from, List<String> recipients, String data) {
+        if (!latency.isZero()) {
+            try {
+                Thread.sleep(latency.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return "421 Shutting down";
+            }
+        }
+
+        if (failNext.getAndUpdate(remaining -> Math.max(0, remaining - 1)) > 0) {
+            transientFailures.incrementAndGet();
+            return "451 Try again later (injected failure)";
+        }
+        double roll = ThreadLocalRandom.current().nextDouble();
+        if (roll < permanentFailureRate) {
+            permanentFailures.incrementAndGet();
+            return "550 Mailbox unavailable (injected failure)";
+        }
+        if (roll < permanentFailureRate + transientFailureRate) {
+            transientFailures.incrementAndGet();
+            return "451 Try again later (injected failure)";
+        }
+
+        if (keepMessages) {
+            synchronized (this) {
+                messages.add(new Message(from, recipients, data));
+            }
+        }
+        synchronized (accepted) {
+            accepted.incrementAndGet();
+            accepted.notifyAll();
+        }
+        return "250 OK queued";
+    }
+
+    private static String readData(BufferedReader in) throws IOException {
+        StringBuilder data = new StringBuilder();
+        String line;
+        while ((line = in.readLine()) != null && !line.equals(".")) {
+            data.append(line.startsWith("..") ? line.substring(1) : line).append("\r\n");
+        }
+        return data.toString();
+    }
+
+    private static String argument(String line) {
+        int colon = line.indexOf(':');
+        return colon < 0 ? "" : line.substring(colon + 1).trim();
+    }
+
+    private static void reply(OutputStream out, String reply) throws IOException {
+        out.write((reply + "\r\n").getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+}
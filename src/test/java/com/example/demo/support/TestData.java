@@ -0,0 +1,54 @@
+package com.example.demo.support;
+
+import com.example.demo.entity.DemoSession;
+import com.example.demo.entity.UserManagement;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Valid sample entities for tests
+ */
+public final class TestData {
+
+    private TestData() {
+    }
+
+    public static UserManagement user(String name) {
+        UserManagement user = new UserManagement();
+        user.setId(UUID.randomUUID().toString());
+        user.setName(name);
+        user.setEmail(name.toLowerCase().replace(' ', '.') + "@example.com");
+        user.setRole(UserManagement.UserRole.employee);
+        user.setStatus(UserManagement.UserStatus.active);
+        user.setJoinDate(LocalDate.of(2024, 1, 1));
+        user.setLastLogin(LocalDateTime.of(2024, 1, 1, 9, 0));
+        user.setDepartment("Engineering");
+        user.setSkillLevel(UserManagement.SkillLevel.Intermediate);
+        return user;
+    }
+
+    public static DemoSession session(String title, LocalDate date, UserManagement createdBy, List<UserManagement> users) {
+        DemoSession session = new DemoSession();
+        session.setId(UUID.randomUUID().toString());
+        session.setTitle(title);
+        session.setTechnology("Spring Boot");
+        session.setDate(date);
+        session.setTime(LocalTime.of(14, 30));
+        session.setDescription("Description of " + title);
+        session.setCreatedBy(createdBy);
+        session.setUsers(new LinkedHashSet<>(users));
+        session.setMaxAttendees(50);
+        session.setStatus(DemoSession.SessionStatus.upcoming);
+        session.setLocation("Main Auditorium");
+        session.setDifficulty(DemoSession.DifficultyLevel.Intermediate);
+        session.setDuration(60);
+        session.setType(DemoSession.SessionType.PRODUCT_BASED);
+        session.setRole(DemoSession.ParticipantRole.HOST);
+        return session;
+    }
+}